@@ -0,0 +1,119 @@
+package com.project.ratelimiter.core;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * AIMD-adjusted refill rates driven by downstream latency/error reports.
+ *
+ * Each resource has one scale in Redis (0..1, 1 when nobody reported lately). An adaptive config
+ * on that resource refills at {@code ceiling * scale}, never below its floor. Congestion reports
+ * halve the scale (multiplicative decrease), healthy reports raise it by a fixed step (additive
+ * increase), so callers back off quickly when the backend degrades and probe back up slowly.
+ * The step is applied atomically in Redis and rate limited there, so every replica reads the
+ * same scale and duplicate reports from several replicas do not compound.
+ */
+public class AdaptiveRateEngine {
+
+    public static final String PREFIX = "rl_adapt:";
+
+    /**
+     * How far and how often one report may move the scale
+     */
+    @Value
+    @Builder
+    public static class Policy {
+        // Added to the scale by a healthy report
+        double increaseStep;
+        // Scale multiplied by it on congestion (0..1)
+        double decreaseFactor;
+        // Lowest scale, so a resource can always recover
+        double minScale;
+        // At most one decrease per cooldown; no increase within it after a decrease
+        long decreaseCooldownMillis;
+        // At most one increase per interval
+        long increaseIntervalMillis;
+        // Without reports for this long the scale is forgotten (back to 1)
+        long stateTtlMillis;
+    }
+
+    /**
+     * Scale after a report and which way it moved (-1, 0, 1)
+     */
+    @Value
+    public static class Step {
+        double scale;
+        int change;
+    }
+
+    private final RedisScriptExecutor executor;
+    private final Policy policy;
+    private final LongSupplier clock;
+
+    public AdaptiveRateEngine(RedisScriptExecutor executor, Policy policy) {
+        this(executor, policy, System::currentTimeMillis);
+    }
+
+    public AdaptiveRateEngine(RedisScriptExecutor executor, Policy policy, LongSupplier clock) {
+        if (policy.getDecreaseFactor() <= 0 || policy.getDecreaseFactor() >= 1) {
+            throw new IllegalArgumentException("Decrease factor must be between 0 and 1: " + policy.getDecreaseFactor());
+        }
+        if (policy.getMinScale() <= 0 || policy.getMinScale() > 1) {
+            throw new IllegalArgumentException("Minimum scale must be in (0, 1]: " + policy.getMinScale());
+        }
+        this.executor = executor;
+        this.policy = policy;
+        this.clock = clock;
+    }
+
+    public static String key(String resource) {
+        return PREFIX + resource;
+    }
+
+    /**
+     * Apply one report for {@code resource}: decrease on congestion, otherwise increase
+     */
+    public Step report(String resource, boolean congested) {
+        // KEYS = [adaptiveKey]
+        // ARGV = [now, congested, increaseStep, decreaseFactor, minScale, cooldown, increaseInterval, ttl]
+        List<Object> result = executor.execute(
+                LuaScripts.ADAPTIVE_RATE_FEEDBACK,
+                List.of(key(resource)),
+                List.of(String.valueOf(clock.getAsLong()),
+                        congested ? "1" : "0",
+                        String.valueOf(policy.getIncreaseStep()),
+                        String.valueOf(policy.getDecreaseFactor()),
+                        String.valueOf(policy.getMinScale()),
+                        String.valueOf(policy.getDecreaseCooldownMillis()),
+                        String.valueOf(policy.getIncreaseIntervalMillis()),
+                        String.valueOf(policy.getStateTtlMillis())));
+
+        if (result == null || result.size() < 2) {
+            throw new IllegalStateException("Lua script returned invalid result");
+        }
+        return new Step(Double.parseDouble(String.valueOf(result.get(0))),
+                (int) TokenBucketEngine.toLong(result.get(1)));
+    }
+
+    /**
+     * Current scale of {@code resource} (1 when it has no recent reports)
+     */
+    public double scale(String resource) {
+        List<Object> result = executor.executeReadOnly(LuaScripts.ADAPTIVE_RATE_PEEK, List.of(key(resource)), List.of());
+        if (result == null || result.isEmpty()) {
+            throw new IllegalStateException("Lua script returned invalid result");
+        }
+        return Double.parseDouble(String.valueOf(result.get(0)));
+    }
+
+    /**
+     * Refill rate of an adaptive config at {@code scale}: {@code ceiling * scale}, at least the floor
+     */
+    public static int effectiveRpm(int floor, int ceiling, double scale) {
+        long scaled = Math.round(ceiling * scale);
+        return (int) Math.max(Math.max(1, Math.min(floor, ceiling)), Math.min(ceiling, scaled));
+    }
+}
@@ -0,0 +1,27 @@
+package com.project.ratelimiter.core;
+
+import lombok.Value;
+
+/**
+ * Outcome of one script call that asked for several tokens at once (coalesced checks).
+ * The first {@code granted} callers are allowed, the rest denied.
+ */
+@Value
+public class BatchDecision {
+
+    int requested;
+    int granted;
+    long remainingTokens;
+    long resetTimeMillis;
+
+    /**
+     * Decision for the caller at {@code index} (0-based, in arrival order).
+     * Allowed callers see the tokens that were left right after their own token was taken.
+     */
+    public Decision forCaller(int index) {
+        if (index < granted) {
+            return new Decision(true, remainingTokens + (granted - index - 1), resetTimeMillis);
+        }
+        return new Decision(false, remainingTokens, resetTimeMillis);
+    }
+}
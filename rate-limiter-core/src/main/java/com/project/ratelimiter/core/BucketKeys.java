@@ -0,0 +1,71 @@
+package com.project.ratelimiter.core;
+
+/**
+ * Redis key layout for token buckets. Shared by the service and embedding
+ * applications so both read and write the same bucket state.
+ */
+public final class BucketKeys {
+
+    public static final String PREFIX = "rate_limit:";
+
+    private BucketKeys() {
+    }
+
+    //Helper Function to Generate Key from userId + resource
+    public static String bucket(String userId, String resource) {
+        return PREFIX + userId + ":" + resource;
+    }
+
+    //Key holding current token count (Lua path)
+    public static String tokens(String userId, String resource) {
+        return bucket(userId, resource) + ":tokens";
+    }
+
+    //Key holding last refill timestamp (Lua path)
+    public static String time(String userId, String resource) {
+        return bucket(userId, resource) + ":time";
+    }
+
+    //Fixed-point token units (Lua path with the Redis clock, rate-limiter.clock=redis)
+    public static String units(String userId, String resource) {
+        return bucket(userId, resource) + ":units";
+    }
+
+    //Last refill in Redis server microseconds (Lua path with the Redis clock)
+    public static String timeMicros(String userId, String resource) {
+        return bucket(userId, resource) + ":time_us";
+    }
+
+    //Sorted set of held permits for CONCURRENCY limits (member = permit id, score = lease expiry)
+    public static String permits(String userId, String resource) {
+        return bucket(userId, resource) + ":permits";
+    }
+
+    // Sub-bucket of a sharded bucket. The hash tag keeps a shard's tokens/time keys in one
+    // cluster slot (required by the script) while different shards land on different slots.
+    public static String shard(String userId, String resource, int shard) {
+        return PREFIX + "{" + userId + ":" + resource + ":s" + shard + "}";
+    }
+
+    public static String shardTokens(String userId, String resource, int shard) {
+        return shard(userId, resource, shard) + ":tokens";
+    }
+
+    public static String shardTime(String userId, String resource, int shard) {
+        return shard(userId, resource, shard) + ":time";
+    }
+
+    public static String shardUnits(String userId, String resource, int shard) {
+        return shard(userId, resource, shard) + ":units";
+    }
+
+    public static String shardTimeMicros(String userId, String resource, int shard) {
+        return shard(userId, resource, shard) + ":time_us";
+    }
+
+    // Count-Min Sketch of one window for approximate per-client limits on a resource. The hash tag
+    // keeps the current and previous windows in one cluster slot (the script reads both).
+    public static String sketch(String resource, long window) {
+        return PREFIX + "{sketch:" + resource + "}:" + window;
+    }
+}
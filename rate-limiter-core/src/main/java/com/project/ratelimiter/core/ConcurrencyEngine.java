@@ -0,0 +1,92 @@
+package com.project.ratelimiter.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * CONCURRENCY limits: a distributed semaphore bounding in-flight work per userId + resource.
+ *
+ * Each permit is a sorted set member scored by its lease expiry, so permits held by a crashed
+ * client are reclaimed once the lease runs out. Acquire and release are one script call each.
+ * The permit count is the spec's capacity (burstCapacity, else requestsPerMinute).
+ */
+public class ConcurrencyEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyEngine.class);
+
+    private final RedisScriptExecutor executor;
+    private final LongSupplier clock;
+
+    public ConcurrencyEngine(RedisScriptExecutor executor) {
+        this(executor, System::currentTimeMillis);
+    }
+
+    public ConcurrencyEngine(RedisScriptExecutor executor, LongSupplier clock) {
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    /**
+     * Take one permit for {@code leaseMillis}, or report that all permits are held.
+     * Throws if Redis is unreachable or the script reply is malformed.
+     */
+    public PermitDecision tryAcquire(LimitSpec spec, long leaseMillis) {
+        if (leaseMillis <= 0) {
+            throw new IllegalArgumentException("Lease must be positive: " + leaseMillis);
+        }
+        String key = BucketKeys.permits(spec.getUserId(), spec.getResource());
+        String permitId = UUID.randomUUID().toString();
+
+        // KEYS = [permitsKey]
+        // ARGV = [limit, leaseMs, now, permitId]
+        List<Object> result = executor.execute(
+                LuaScripts.SEMAPHORE_ACQUIRE,
+                List.of(key),
+                List.of(String.valueOf(spec.getCapacity()),
+                        String.valueOf(leaseMillis),
+                        String.valueOf(clock.getAsLong()),
+                        permitId)
+        );
+
+        if (result == null || result.size() < 3) {
+            throw new IllegalStateException("Lua semaphore script returned invalid result");
+        }
+
+        boolean acquired = TokenBucketEngine.toLong(result.get(0)) == 1;
+        long available = TokenBucketEngine.toLong(result.get(1));
+        long expiresAt = TokenBucketEngine.toLong(result.get(2));
+
+        logger.debug("Permit acquire: key={}, acquired={}, available={}, expiresAt={}",
+                key, acquired, available, expiresAt);
+
+        return new PermitDecision(acquired, acquired ? permitId : null, available, expiresAt);
+    }
+
+    /**
+     * Return a permit. False if it was unknown or its lease had already expired
+     * (the slot was reclaimed and may since have been handed to someone else).
+     */
+    public boolean release(LimitSpec spec, String permitId) {
+        String key = BucketKeys.permits(spec.getUserId(), spec.getResource());
+
+        List<Object> result = executor.execute(
+                LuaScripts.SEMAPHORE_RELEASE,
+                List.of(key),
+                List.of(String.valueOf(spec.getCapacity()),
+                        String.valueOf(clock.getAsLong()),
+                        permitId)
+        );
+
+        if (result == null || result.size() < 2) {
+            throw new IllegalStateException("Lua semaphore script returned invalid result");
+        }
+
+        boolean released = TokenBucketEngine.toLong(result.get(0)) == 1;
+        logger.debug("Permit release: key={}, permit={}, released={}", key, permitId, released);
+        return released;
+    }
+}
@@ -0,0 +1,37 @@
+package com.project.ratelimiter.core;
+
+/**
+ * Redis key layout for the config mirror read by redis/token-bucket-check-resolved.lua.
+ * Written by the service whenever configs change; the script resolves limits from it.
+ */
+public final class ConfigKeys {
+
+    public static final String PREFIX = "rl_cfg:";
+
+    // Hash per enabled user+resource config: id, rpm, burst, tier, shards, adaptive
+    public static final String LIMIT_PREFIX = PREFIX + "limit:";
+
+    // Hash "default:rpm" / "default:burst": the global default that checks without a
+    // user+resource config get, as in the JVM
+    public static final String TIERS = PREFIX + "tiers";
+
+    public static final String DEFAULT_TIER = "default";
+
+    public static final String FIELD_ID = "id";
+    public static final String FIELD_RPM = "rpm";
+    public static final String FIELD_BURST = "burst";
+    public static final String FIELD_TIER = "tier";
+    public static final String FIELD_SHARDS = "shards";
+    public static final String FIELD_ADAPTIVE = "adaptive";
+
+    private ConfigKeys() {
+    }
+
+    public static String limit(String userId, String resource) {
+        return LIMIT_PREFIX + userId + ":" + resource;
+    }
+
+    public static String tierField(String tier, String field) {
+        return tier + ":" + field;
+    }
+}
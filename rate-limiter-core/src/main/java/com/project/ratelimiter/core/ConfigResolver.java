@@ -0,0 +1,13 @@
+package com.project.ratelimiter.core;
+
+/**
+ * Resolves the limit that applies to a userId + resource.
+ * The service resolves from Postgres, embedding applications from tier defaults.
+ */
+public interface ConfigResolver {
+
+    /**
+     * Never returns null: implementations fall back to tier or global defaults.
+     */
+    LimitSpec resolve(String userId, String resource);
+}
@@ -0,0 +1,138 @@
+package com.project.ratelimiter.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Approximate per-client limits in fixed memory: a sliding-window Count-Min Sketch in Redis.
+ *
+ * Each window is one Redis string of {@code depth x width} u32 counters (4 x 65536 = 1 MiB by
+ * default), whatever the number of distinct clients; no key is created per client. The sliding
+ * count is the current window plus the previous window weighted by its overlap, so there is no
+ * burst at window boundaries.
+ *
+ * Error bounds (Cormode and Muthukrishnan): with {@code N} requests counted in a window,
+ * {@code epsilon = e / width} and {@code delta = e^-depth}, a client's estimate exceeds its true
+ * count by more than {@code epsilon * N} with probability at most {@code delta}. The estimate is
+ * never below the true count, so errors only ever deny early (false positives), never let a
+ * client past its limit. A client that sent {@code c < limit - epsilon * N} requests is wrongly
+ * denied with probability at most {@code delta}; size {@code width} so that {@code e * N / width}
+ * is small against the limit. Conservative update (see the script) makes real overestimates
+ * several times smaller than the bound.
+ */
+public class CountMinSketchEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(CountMinSketchEngine.class);
+
+    private final RedisScriptExecutor executor;
+    private final int depth;
+    private final int width;
+    private final long windowMillis;
+    private final long seed;
+    private final LongSupplier clock;
+
+    public CountMinSketchEngine(RedisScriptExecutor executor, int depth, int width, long windowMillis, long seed) {
+        this(executor, depth, width, windowMillis, seed, System::currentTimeMillis);
+    }
+
+    public CountMinSketchEngine(RedisScriptExecutor executor, int depth, int width, long windowMillis, long seed,
+                                LongSupplier clock) {
+        if (depth < 1 || width < 1 || (long) depth * width > Integer.MAX_VALUE / 32) {
+            throw new IllegalArgumentException("Invalid sketch size: depth=" + depth + ", width=" + width);
+        }
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("Window must be positive: " + windowMillis);
+        }
+        this.executor = executor;
+        this.depth = depth;
+        this.width = width;
+        this.windowMillis = windowMillis;
+        this.seed = seed;
+        this.clock = clock;
+    }
+
+    /**
+     * Count one request from {@code client} on {@code resource} unless its estimated count in the
+     * sliding window has reached {@code limit}. Denied requests are not counted.
+     * Throws if Redis is unreachable or the script reply is malformed.
+     */
+    public Decision tryAcquire(String resource, String client, long limit) {
+        long now = clock.getAsLong();
+        long window = now / windowMillis;
+        long windowEnd = (window + 1) * windowMillis;
+        // Share of the previous window still inside the sliding window ending now
+        double previousWeight = (double) (windowEnd - now) / windowMillis;
+
+        List<String> args = new ArrayList<>(3 + depth);
+        args.add(String.valueOf(limit));
+        args.add(String.valueOf(previousWeight));
+        args.add(String.valueOf(2 * windowMillis));
+        for (long index : counterIndexes(client)) {
+            args.add(String.valueOf(index));
+        }
+
+        // KEYS = [currentSketch, previousSketch]
+        // ARGV = [limit, previousWeight, ttlMs, index per row...]
+        List<Object> result = executor.execute(
+                LuaScripts.COUNT_MIN_SKETCH,
+                List.of(BucketKeys.sketch(resource, window), BucketKeys.sketch(resource, window - 1)),
+                args
+        );
+
+        if (result == null || result.size() < 3) {
+            throw new IllegalStateException("Lua sketch script returned invalid result");
+        }
+
+        boolean allowed = TokenBucketEngine.toLong(result.get(0)) == 1;
+        long remaining = TokenBucketEngine.toLong(result.get(1));
+        long estimate = TokenBucketEngine.toLong(result.get(2));
+
+        logger.debug("Sketch check: resource={}, client={}, allowed={}, estimate={}", resource, client, allowed, estimate);
+
+        // Sliding count only drops gradually; the window end is when the current window stops growing it
+        return new Decision(allowed, remaining, windowEnd);
+    }
+
+    /**
+     * Counter index ({@code row * width + column}) of {@code client} in each row.
+     * Rows use h1 + i * h2 from one 64-bit hash (Kirsch-Mitzenmacher), which keeps the CMS bounds.
+     */
+    long[] counterIndexes(String client) {
+        long h1 = mix(fnv1a(client.getBytes(StandardCharsets.UTF_8)) ^ seed);
+        long h2 = mix(h1 + 0x9E3779B97F4A7C15L) | 1;
+        long[] indexes = new long[depth];
+        for (int row = 0; row < depth; row++) {
+            long column = Math.floorMod(h1 + row * h2, (long) width);
+            indexes[row] = (long) row * width + column;
+        }
+        return indexes;
+    }
+
+    private static long fnv1a(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer: spreads FNV's weak low bits over the whole word
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Bytes of Redis memory per window sketch
+     */
+    public long sketchBytes() {
+        return (long) depth * width * 4;
+    }
+}
@@ -0,0 +1,14 @@
+package com.project.ratelimiter.core;
+
+import lombok.Value;
+
+/**
+ * Outcome of a single rate limit check
+ */
+@Value
+public class Decision {
+
+    boolean allowed;
+    long remainingTokens;
+    long resetTimeMillis;
+}
@@ -0,0 +1,166 @@
+package com.project.ratelimiter.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-key grow-only counters (G-counters) for the current and previous window, one slot per node.
+ *
+ * A node only ever increments its own slot; remote slots are merged with max(), so replaying,
+ * reordering or duplicating a message never changes the result. Windows are fixed
+ * ({@code timestamp / windowMillis}); the sliding count weights the previous window by its
+ * overlap, like the sketch limiter.
+ */
+final class GossipCounters {
+
+    private final int nodes;
+    private final int self;
+    private final ConcurrentHashMap<String, KeyState> keys = new ConcurrentHashMap<>();
+    // Keys with local increments not yet sent to peers
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    GossipCounters(int nodes, int self) {
+        this.nodes = nodes;
+        this.self = self;
+    }
+
+    /**
+     * One counter update as sent on the wire: {@code node}'s count for {@code key} in {@code window}
+     */
+    record Entry(String key, long window, long count) {
+    }
+
+    static final class KeyState {
+        long window;
+        long[] current;
+        long[] previous;
+        // Local admissions allowed per sync round and used in the current round
+        long budgetRound = -1;
+        long budget;
+        long usedInRound;
+        // Own counts changed since last sent, for the current / previous window
+        boolean currentUnsent;
+        boolean previousUnsent;
+
+        KeyState(int nodes, long window) {
+            this.window = window;
+            this.current = new long[nodes];
+            this.previous = new long[nodes];
+        }
+
+        void advanceTo(long target) {
+            if (target <= window) {
+                return;
+            }
+            if (target == window + 1) {
+                long[] recycled = previous;
+                previous = current;
+                current = recycled;
+                Arrays.fill(current, 0);
+                previousUnsent = currentUnsent;
+            } else {
+                Arrays.fill(current, 0);
+                Arrays.fill(previous, 0);
+                previousUnsent = false;
+            }
+            currentUnsent = false;
+            window = target;
+        }
+
+        double estimate(double previousWeight) {
+            long currentSum = 0;
+            long previousSum = 0;
+            for (int i = 0; i < current.length; i++) {
+                currentSum += current[i];
+                previousSum += previous[i];
+            }
+            return currentSum + previousSum * previousWeight;
+        }
+    }
+
+    KeyState state(String key, long window) {
+        return keys.computeIfAbsent(key, k -> new KeyState(nodes, window));
+    }
+
+    // False once evicted: the caller must fetch a fresh state instead of counting into a dropped one
+    boolean isLive(String key, KeyState state) {
+        return keys.get(key) == state;
+    }
+
+    void markDirty(String key) {
+        dirty.add(key);
+    }
+
+    int size() {
+        return keys.size();
+    }
+
+    /**
+     * Merge a peer's count. Counts for windows older than the previous one are dropped.
+     */
+    void merge(int node, String key, long window, long count) {
+        KeyState state = state(key, window);
+        synchronized (state) {
+            state.advanceTo(window);
+            if (window == state.window) {
+                state.current[node] = Math.max(state.current[node], count);
+            } else if (window == state.window - 1) {
+                state.previous[node] = Math.max(state.previous[node], count);
+            }
+        }
+    }
+
+    /**
+     * This node's counts to send: dirty keys only, or every key for a full (anti-entropy) round
+     */
+    List<Entry> drainLocal(boolean full, long nowWindow) {
+        List<Entry> entries = new ArrayList<>();
+        Iterable<String> source = full ? keys.keySet() : drainDirty();
+        for (String key : source) {
+            KeyState state = keys.get(key);
+            if (state == null) {
+                continue;
+            }
+            synchronized (state) {
+                state.advanceTo(nowWindow);
+                if (state.current[self] > 0 && (full || state.currentUnsent)) {
+                    entries.add(new Entry(key, state.window, state.current[self]));
+                }
+                // Last increments before a window boundary, and (full rounds) repair of lost packets
+                if (state.previous[self] > 0 && (full || state.previousUnsent)) {
+                    entries.add(new Entry(key, state.window - 1, state.previous[self]));
+                }
+                state.currentUnsent = false;
+                state.previousUnsent = false;
+            }
+        }
+        return entries;
+    }
+
+    private List<String> drainDirty() {
+        List<String> drained = new ArrayList<>(dirty.size());
+        for (String key : dirty) {
+            dirty.remove(key);
+            drained.add(key);
+        }
+        return drained;
+    }
+
+    /**
+     * Drop keys with no counts left in the sliding window
+     */
+    void evictBefore(long nowWindow) {
+        for (Map.Entry<String, KeyState> entry : keys.entrySet()) {
+            KeyState state = entry.getValue();
+            synchronized (state) {
+                if (state.window < nowWindow - 1) {
+                    keys.remove(entry.getKey(), state);
+                }
+            }
+        }
+    }
+}
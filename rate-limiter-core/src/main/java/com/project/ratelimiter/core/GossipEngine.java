@@ -0,0 +1,305 @@
+package com.project.ratelimiter.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Decentralised approximate limiter: no Redis, nodes exchange grow-only counters over UDP.
+ *
+ * Every node decides locally from its own view of the global count (its own admissions plus the
+ * latest counts received from each peer) over a sliding window of {@code windowMillis}; the
+ * limit is {@code requestsPerMinute} scaled to the window ({@link #limitPerWindow}). Every {@code syncIntervalMillis} each node
+ * sends its own counts for the keys it changed to every member (full state every
+ * {@link #FULL_SYNC_ROUNDS} rounds, which repairs lost datagrams).
+ *
+ * Overshoot: between syncs a node only admits a 1/N share of what it believes is left
+ * ({@code max(1, (limit - estimate) / N)} per key and round), so N nodes working from the same
+ * stale view together admit at most what was left. With message delay below one sync interval
+ * and no loss, a window is overshot by at most N - 1 requests (the minimum share of 1 per node).
+ * Each lost or late datagram lets up to one further round of that node's shares go unseen until
+ * the next full sync. The price is that a burst arriving at a single node is admitted over a
+ * few rounds instead of at once.
+ *
+ * Members are a static list (this node included, same order everywhere); the channel is not
+ * authenticated, keep it on a private network.
+ */
+public class GossipEngine implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(GossipEngine.class);
+
+    static final int FULL_SYNC_ROUNDS = 10;
+    private static final int MAGIC = 0x52474F53; // "RGOS"
+    private static final byte VERSION = 1;
+    // Fits a typical MTU without IP fragmentation
+    private static final int MAX_DATAGRAM = 1400;
+    private static final int HEADER_BYTES = 4 + 1 + 2 + 2;
+
+    private final int self;
+    private final List<InetSocketAddress> members;
+    private final long windowMillis;
+    private final long syncIntervalMillis;
+    private final LongSupplier clock;
+    private final GossipCounters counters;
+
+    private final AtomicLong round = new AtomicLong();
+    private final AtomicLong datagramsSent = new AtomicLong();
+    private final AtomicLong datagramsReceived = new AtomicLong();
+    private final AtomicLong datagramsRejected = new AtomicLong();
+
+    private DatagramSocket socket;
+    private Thread receiver;
+    private Thread syncer;
+    private volatile boolean running;
+
+    public GossipEngine(int self, List<InetSocketAddress> members, long windowMillis, long syncIntervalMillis) {
+        this(self, members, windowMillis, syncIntervalMillis, System::currentTimeMillis);
+    }
+
+    public GossipEngine(int self, List<InetSocketAddress> members, long windowMillis, long syncIntervalMillis,
+                        LongSupplier clock) {
+        if (self < 0 || self >= members.size()) {
+            throw new IllegalArgumentException("Node index " + self + " not in members " + members);
+        }
+        if (windowMillis <= 0 || syncIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Window and sync interval must be positive");
+        }
+        this.self = self;
+        this.members = List.copyOf(members);
+        this.windowMillis = windowMillis;
+        this.syncIntervalMillis = syncIntervalMillis;
+        this.clock = clock;
+        this.counters = new GossipCounters(members.size(), self);
+    }
+
+    /**
+     * Bind this node's member address and start the receive and sync threads
+     */
+    public synchronized void start() throws SocketException {
+        if (running) {
+            return;
+        }
+        socket = new DatagramSocket(members.get(self).getPort());
+        running = true;
+
+        receiver = new Thread(this::receiveLoop, "gossip-receiver");
+        receiver.setDaemon(true);
+        receiver.start();
+
+        syncer = new Thread(this::syncLoop, "gossip-sync");
+        syncer.setDaemon(true);
+        syncer.start();
+
+        logger.info("Gossip engine started: node {} of {}, window={}ms, sync every {}ms",
+                self, members.size(), windowMillis, syncIntervalMillis);
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (socket != null) {
+            socket.close();
+        }
+        if (syncer != null) {
+            syncer.interrupt();
+        }
+    }
+
+    /**
+     * Count one request unless the estimated global count has reached the limit or this node has
+     * used its share for the current sync round. Never blocks on the network.
+     */
+    public Decision tryConsume(LimitSpec spec) {
+        String key = BucketKeys.bucket(spec.getUserId(), spec.getResource());
+        long limit = limitPerWindow(spec);
+        long now = clock.getAsLong();
+        long window = now / windowMillis;
+        double previousWeight = previousWeight(now, window);
+        long currentRound = round.get();
+
+        while (true) {
+            GossipCounters.KeyState state = counters.state(key, window);
+            synchronized (state) {
+                if (!counters.isLive(key, state)) {
+                    continue; // evicted between lookup and lock
+                }
+                state.advanceTo(window);
+                double estimate = state.estimate(previousWeight);
+
+                if (state.budgetRound != currentRound) {
+                    state.budgetRound = currentRound;
+                    state.budget = Math.max(1, (long) ((limit - estimate) / members.size()));
+                    state.usedInRound = 0;
+                }
+
+                boolean allowed = estimate < limit && state.usedInRound < state.budget;
+                if (allowed) {
+                    state.current[self]++;
+                    state.currentUnsent = true;
+                    state.usedInRound++;
+                    estimate++;
+                    counters.markDirty(key);
+                }
+                return new Decision(allowed, Math.max(0, (long) Math.floor(limit - estimate)), (window + 1) * windowMillis);
+            }
+        }
+    }
+
+    /**
+     * Current estimate for a key without counting a request
+     */
+    public Decision peek(LimitSpec spec) {
+        String key = BucketKeys.bucket(spec.getUserId(), spec.getResource());
+        long now = clock.getAsLong();
+        long window = now / windowMillis;
+        GossipCounters.KeyState state = counters.state(key, window);
+        synchronized (state) {
+            state.advanceTo(window);
+            double estimate = state.estimate(previousWeight(now, window));
+            long remaining = Math.max(0, (long) Math.floor(limitPerWindow(spec) - estimate));
+            return new Decision(remaining > 0, remaining, (window + 1) * windowMillis);
+        }
+    }
+
+    /**
+     * Requests admitted per window: requestsPerMinute * windowMillis / 60s, at least 1
+     */
+    public long limitPerWindow(LimitSpec spec) {
+        return Math.max(1, Math.round(spec.getRequestsPerMinute() * (double) windowMillis / 60_000));
+    }
+
+    private double previousWeight(long now, long window) {
+        return (double) ((window + 1) * windowMillis - now) / windowMillis;
+    }
+
+    public int getKeyCount() {
+        return counters.size();
+    }
+
+    public long getDatagramsSent() {
+        return datagramsSent.get();
+    }
+
+    public long getDatagramsReceived() {
+        return datagramsReceived.get();
+    }
+
+    public long getDatagramsRejected() {
+        return datagramsRejected.get();
+    }
+
+    private void syncLoop() {
+        while (running) {
+            try {
+                Thread.sleep(syncIntervalMillis);
+                long currentRound = round.incrementAndGet();
+                long window = clock.getAsLong() / windowMillis;
+                boolean full = currentRound % FULL_SYNC_ROUNDS == 0;
+                send(counters.drainLocal(full, window));
+                if (full) {
+                    counters.evictBefore(window);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                if (running) {
+                    logger.warn("Gossip sync round failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Entries packed into as few datagrams as fit, each sent to every peer
+    private void send(List<GossipCounters.Entry> entries) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(MAX_DATAGRAM);
+        DataOutputStream out = new DataOutputStream(body);
+        int count = 0;
+        for (GossipCounters.Entry entry : entries) {
+            byte[] key = entry.key().getBytes(StandardCharsets.UTF_8);
+            int size = 2 + key.length + 8 + 8;
+            if (HEADER_BYTES + size > MAX_DATAGRAM) {
+                logger.warn("Gossip key too long to send ({} bytes), skipped", key.length);
+                continue;
+            }
+            if (HEADER_BYTES + body.size() + size > MAX_DATAGRAM) {
+                flush(body.toByteArray(), count);
+                body.reset();
+                count = 0;
+            }
+            out.writeShort(key.length);
+            out.write(key);
+            out.writeLong(entry.window());
+            out.writeLong(entry.count());
+            count++;
+        }
+        if (count > 0) {
+            flush(body.toByteArray(), count);
+        }
+    }
+
+    private void flush(byte[] body, int count) throws IOException {
+        ByteBuffer datagram = ByteBuffer.allocate(HEADER_BYTES + body.length);
+        datagram.putInt(MAGIC).put(VERSION).putShort((short) self).putShort((short) count).put(body);
+        byte[] bytes = datagram.array();
+        for (int node = 0; node < members.size(); node++) {
+            if (node != self) {
+                socket.send(new DatagramPacket(bytes, bytes.length, members.get(node)));
+                datagramsSent.incrementAndGet();
+            }
+        }
+    }
+
+    private void receiveLoop() {
+        byte[] buffer = new byte[65_536];
+        while (running) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+            } catch (IOException e) {
+                if (running) {
+                    logger.warn("Gossip receive failed: {}", e.getMessage());
+                }
+                continue;
+            }
+            try {
+                merge(ByteBuffer.wrap(packet.getData(), 0, packet.getLength()));
+                datagramsReceived.incrementAndGet();
+            } catch (RuntimeException e) {
+                datagramsRejected.incrementAndGet();
+                logger.debug("Rejected gossip datagram from {}: {}", packet.getSocketAddress(), e.getMessage());
+            }
+        }
+    }
+
+    private void merge(ByteBuffer in) {
+        if (in.getInt() != MAGIC || in.get() != VERSION) {
+            throw new IllegalArgumentException("not a gossip datagram");
+        }
+        int sender = in.getShort();
+        if (sender < 0 || sender >= members.size() || sender == self) {
+            throw new IllegalArgumentException("unknown sender " + sender);
+        }
+        int count = in.getShort();
+        for (int i = 0; i < count; i++) {
+            byte[] key = new byte[in.getShort()];
+            in.get(key);
+            long window = in.getLong();
+            long value = in.getLong();
+            counters.merge(sender, new String(key, StandardCharsets.UTF_8), window, value);
+        }
+    }
+}
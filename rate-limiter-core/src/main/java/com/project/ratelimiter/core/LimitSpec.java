@@ -0,0 +1,41 @@
+package com.project.ratelimiter.core;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Resolved rate limit for a single userId + resource.
+ *
+ * This is the engine's view of a config: the service maps its JPA entity onto it,
+ * embedding applications build it from annotation attributes and tier defaults.
+ */
+@Value
+@Builder(toBuilder = true)
+public class LimitSpec {
+
+    String userId;
+    String resource;
+    String tier;
+    int requestsPerMinute;
+    Integer burstCapacity;
+    String algorithm;
+    // Split the bucket across this many Redis keys (null/1 = single key)
+    Integer shardCount;
+
+    /**
+     * Bucket size: burstCapacity if set, otherwise requestsPerMinute
+     */
+    public long getCapacity() {
+        return burstCapacity != null ? burstCapacity : requestsPerMinute;
+    }
+
+    /**
+     * Effective sub-bucket count: every shard needs at least one token of capacity and refill
+     */
+    public int getShards() {
+        if (shardCount == null || shardCount <= 1) {
+            return 1;
+        }
+        return (int) Math.max(1, Math.min(shardCount, Math.min(requestsPerMinute, getCapacity())));
+    }
+}
@@ -0,0 +1,47 @@
+package com.project.ratelimiter.core;
+
+import java.util.List;
+
+/**
+ * All Lua scripts used by the engine
+ */
+public final class LuaScripts {
+
+    // Atomic refill + consume, see redis/token-bucket-check.lua
+    public static final LuaScript TOKEN_BUCKET_CHECK = LuaScript.fromClasspath("redis/token-bucket-check.lua");
+
+    // Same check on the Redis clock in integer units, see redis/token-bucket-check-server-time.lua
+    public static final LuaScript TOKEN_BUCKET_CHECK_SERVER_TIME = LuaScript.fromClasspath("redis/token-bucket-check-server-time.lua");
+
+    // Check that resolves the limit from the Redis config mirror, see redis/token-bucket-check-resolved.lua
+    public static final LuaScript TOKEN_BUCKET_CHECK_RESOLVED = LuaScript.fromClasspath("redis/token-bucket-check-resolved.lua");
+
+    // Read-only refill preview for status queries, see redis/token-bucket-peek.lua
+    public static final LuaScript TOKEN_BUCKET_PEEK = LuaScript.fromClasspath("redis/token-bucket-peek.lua");
+
+    // Read-only preview of a Redis-clock bucket, see redis/token-bucket-peek-server-time.lua
+    public static final LuaScript TOKEN_BUCKET_PEEK_SERVER_TIME = LuaScript.fromClasspath("redis/token-bucket-peek-server-time.lua");
+
+    // Expire + count + take one permit, see redis/semaphore-acquire.lua
+    public static final LuaScript SEMAPHORE_ACQUIRE = LuaScript.fromClasspath("redis/semaphore-acquire.lua");
+
+    // Give a permit back, see redis/semaphore-release.lua
+    public static final LuaScript SEMAPHORE_RELEASE = LuaScript.fromClasspath("redis/semaphore-release.lua");
+
+    // Sliding-window Count-Min Sketch check + conservative update, see redis/count-min-sketch.lua
+    public static final LuaScript COUNT_MIN_SKETCH = LuaScript.fromClasspath("redis/count-min-sketch.lua");
+
+    // AIMD step of a resource's shared adaptive rate scale, see redis/adaptive-rate-feedback.lua
+    public static final LuaScript ADAPTIVE_RATE_FEEDBACK = LuaScript.fromClasspath("redis/adaptive-rate-feedback.lua");
+
+    // Read-only adaptive rate scale, see redis/adaptive-rate-peek.lua
+    public static final LuaScript ADAPTIVE_RATE_PEEK = LuaScript.fromClasspath("redis/adaptive-rate-peek.lua");
+
+    // Every script above, e.g. to SCRIPT LOAD them all before the first check
+    public static final List<LuaScript> ALL = List.of(TOKEN_BUCKET_CHECK, TOKEN_BUCKET_CHECK_SERVER_TIME,
+            TOKEN_BUCKET_CHECK_RESOLVED, TOKEN_BUCKET_PEEK, TOKEN_BUCKET_PEEK_SERVER_TIME, SEMAPHORE_ACQUIRE, SEMAPHORE_RELEASE, COUNT_MIN_SKETCH,
+            ADAPTIVE_RATE_FEEDBACK, ADAPTIVE_RATE_PEEK);
+
+    private LuaScripts() {
+    }
+}
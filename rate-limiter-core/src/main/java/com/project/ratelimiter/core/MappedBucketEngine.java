@@ -0,0 +1,336 @@
+package com.project.ratelimiter.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Single-node token buckets without Redis, stored off-heap in a memory-mapped file.
+ *
+ * State is a fixed open-addressing hash table of primitive slots, so millions of buckets cost
+ * no Java objects and nothing for the GC to trace. The table is split into segments, each with
+ * its own lock and linear probing that stays inside it (striped locking; checks on different
+ * segments never contend). Writes land in the page cache, so buckets survive a process restart
+ * (not an OS crash unless {@link #flush()} ran). Same refill arithmetic as the Lua script.
+ *
+ * Keys are stored as two independent 64-bit hashes of the bucket key, not the key itself: two
+ * keys share a bucket only if both hashes collide (about n^2 / 2^129 for n keys).
+ *
+ * A bucket idle for longer than the TTL has refilled (the same 120s as the Redis keys with the
+ * defaults) and its slot is reused by the next insert that probes past it;
+ * {@link #evictExpired()} also clears such slots so probe chains stay short. If a key's probe
+ * window holds only live buckets, the least recently used one is overwritten and starts full
+ * again (counted in {@link #getForcedEvictions()}) - size {@code maxKeys} above the real count.
+ */
+public class MappedBucketEngine implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedBucketEngine.class);
+
+    private static final long MAGIC = 0x524C4255434B5431L; // "RLBUCKT1"
+    private static final int HEADER_BYTES = 64;
+    // h1, h2, tokens (double bits), lastRefillTime
+    private static final int SLOT_BYTES = 32;
+    private static final int MAX_PROBE = 32;
+    // Slots per key at most half used
+    private static final int LOAD_FACTOR_INVERSE = 2;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int segments;
+    private final int slotsPerSegment;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final Object[] locks;
+
+    private final AtomicLong occupied = new AtomicLong();
+    private final AtomicLong forcedEvictions = new AtomicLong();
+
+    public MappedBucketEngine(Path file, int maxKeys, int segments, long ttlMillis) throws IOException {
+        this(file, maxKeys, segments, ttlMillis, System::currentTimeMillis);
+    }
+
+    public MappedBucketEngine(Path file, int maxKeys, int segments, long ttlMillis, LongSupplier clock) throws IOException {
+        if (maxKeys < 1 || segments < 1 || ttlMillis <= 0) {
+            throw new IllegalArgumentException("Invalid table size: maxKeys=" + maxKeys + ", segments=" + segments);
+        }
+        long perSegment = Math.max(MAX_PROBE, ((long) maxKeys * LOAD_FACTOR_INVERSE + segments - 1) / segments);
+        this.slotsPerSegment = (int) Long.highestOneBit(perSegment - 1) << 1;
+        this.segments = segments;
+        long bytes = HEADER_BYTES + (long) segments * slotsPerSegment * SLOT_BYTES;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Table too large for one mapping: " + bytes + " bytes");
+        }
+
+        this.file = file;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.locks = new Object[segments];
+        for (int i = 0; i < segments; i++) {
+            locks[i] = new Object();
+        }
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long existing = channel.size();
+        if (existing > 0 && existing != bytes) {
+            channel.truncate(0);
+        }
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+        buffer.order(ByteOrder.nativeOrder());
+
+        if (existing == bytes && headerMatches()) {
+            occupied.set(countOccupied());
+            logger.info("Bucket table reopened: {} ({} slots, {} in use)", file, totalSlots(), occupied.get());
+        } else {
+            if (existing > 0) {
+                logger.warn("Bucket table {} has a different layout, starting empty", file);
+            }
+            if (existing == bytes) {
+                for (int offset = 0; offset < bytes; offset += 8) {
+                    buffer.putLong(offset, 0L);
+                }
+            }
+            buffer.putLong(0, MAGIC);
+            buffer.putInt(8, segments);
+            buffer.putInt(12, slotsPerSegment);
+            buffer.putInt(16, SLOT_BYTES);
+            logger.info("Bucket table created: {} ({} slots, {} MiB)", file, totalSlots(), bytes >> 20);
+        }
+    }
+
+    private boolean headerMatches() {
+        return buffer.getLong(0) == MAGIC
+                && buffer.getInt(8) == segments
+                && buffer.getInt(12) == slotsPerSegment
+                && buffer.getInt(16) == SLOT_BYTES;
+    }
+
+    /**
+     * Take one token from the bucket for {@code spec}, creating it full if absent
+     */
+    public Decision tryConsume(LimitSpec spec) {
+        String key = BucketKeys.bucket(spec.getUserId(), spec.getResource());
+        long h1 = hash1(key);
+        long h2 = hash2(key);
+        int segment = (int) Math.floorMod(h2, (long) segments);
+        long now = clock.getAsLong();
+
+        synchronized (locks[segment]) {
+            int slot = findOrClaim(segment, h1, h2, now, spec.getCapacity());
+            double tokens = TokenBucketMath.refill(tokensAt(slot), buffer.getLong(slot + 24), now, spec);
+            boolean allowed = tokens >= 1;
+            if (allowed) {
+                tokens -= 1;
+            }
+            buffer.putLong(slot + 16, Double.doubleToRawLongBits(tokens));
+            buffer.putLong(slot + 24, now);
+            return new Decision(allowed, (long) Math.floor(tokens), now + TokenBucketMath.msUntilFull(tokens, spec));
+        }
+    }
+
+    /**
+     * Remaining tokens without consuming (and without creating the bucket)
+     */
+    public Decision peek(LimitSpec spec) {
+        String key = BucketKeys.bucket(spec.getUserId(), spec.getResource());
+        long h1 = hash1(key);
+        long h2 = hash2(key);
+        int segment = (int) Math.floorMod(h2, (long) segments);
+        long now = clock.getAsLong();
+
+        double tokens = spec.getCapacity();
+        synchronized (locks[segment]) {
+            int slot = find(segment, h1, h2);
+            if (slot >= 0) {
+                tokens = TokenBucketMath.refill(tokensAt(slot), buffer.getLong(slot + 24), now, spec);
+            }
+        }
+        return new Decision(tokens >= 1, (long) Math.floor(tokens), now + TokenBucketMath.msUntilFull(tokens, spec));
+    }
+
+    // Caller holds the segment lock
+    private int find(int segment, long h1, long h2) {
+        int home = (int) (h1 & (slotsPerSegment - 1));
+        for (int probe = 0; probe < MAX_PROBE; probe++) {
+            int slot = slotOffset(segment, (home + probe) & (slotsPerSegment - 1));
+            long stored = buffer.getLong(slot);
+            if (stored == 0) {
+                return -1;
+            }
+            if (stored == h1 && buffer.getLong(slot + 8) == h2) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    // Caller holds the segment lock. Chains are never broken: a slot only goes back to empty in evictExpired
+    private int findOrClaim(int segment, long h1, long h2, long now, double capacity) {
+        int home = (int) (h1 & (slotsPerSegment - 1));
+        int reusable = -1;
+        int oldest = -1;
+        long oldestTime = Long.MAX_VALUE;
+        int empty = -1;
+
+        for (int probe = 0; probe < MAX_PROBE; probe++) {
+            int slot = slotOffset(segment, (home + probe) & (slotsPerSegment - 1));
+            long stored = buffer.getLong(slot);
+            if (stored == 0) {
+                empty = slot;
+                break; // end of the chain: the key isn't further on
+            }
+            if (stored == h1 && buffer.getLong(slot + 8) == h2) {
+                return slot;
+            }
+            long lastRefill = buffer.getLong(slot + 24);
+            if (reusable < 0 && now - lastRefill > ttlMillis) {
+                reusable = slot;
+            }
+            if (lastRefill < oldestTime) {
+                oldestTime = lastRefill;
+                oldest = slot;
+            }
+        }
+
+        int slot;
+        if (reusable >= 0) {
+            slot = reusable;
+        } else if (empty >= 0) {
+            slot = empty;
+            occupied.incrementAndGet();
+        } else {
+            slot = oldest;
+            forcedEvictions.incrementAndGet();
+        }
+        buffer.putLong(slot, h1);
+        buffer.putLong(slot + 8, h2);
+        buffer.putLong(slot + 16, Double.doubleToRawLongBits(capacity));
+        buffer.putLong(slot + 24, now);
+        return slot;
+    }
+
+    /**
+     * Clear expired slots that end a probe chain (those followed by an empty slot), one segment
+     * lock at a time. Expired slots in the middle of a chain stay until reused.
+     */
+    public long evictExpired() {
+        long now = clock.getAsLong();
+        long evicted = 0;
+        for (int segment = 0; segment < segments; segment++) {
+            synchronized (locks[segment]) {
+                for (int index = 0; index < slotsPerSegment; index++) {
+                    if (buffer.getLong(slotOffset(segment, index)) != 0) {
+                        continue;
+                    }
+                    // Walk back from the empty slot while the chain ends in expired slots
+                    int previous = (index - 1) & (slotsPerSegment - 1);
+                    while (previous != index) {
+                        int slot = slotOffset(segment, previous);
+                        if (buffer.getLong(slot) == 0 || now - buffer.getLong(slot + 24) <= ttlMillis) {
+                            break;
+                        }
+                        buffer.putLong(slot, 0L);
+                        buffer.putLong(slot + 8, 0L);
+                        occupied.decrementAndGet();
+                        evicted++;
+                        previous = (previous - 1) & (slotsPerSegment - 1);
+                    }
+                }
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Write dirty pages to disk (otherwise left to the OS)
+     */
+    public void flush() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        // The mapping itself is released when the buffer is collected
+        channel.close();
+    }
+
+    private int slotOffset(int segment, int index) {
+        return HEADER_BYTES + (segment * slotsPerSegment + index) * SLOT_BYTES;
+    }
+
+    private double tokensAt(int slot) {
+        return Double.longBitsToDouble(buffer.getLong(slot + 16));
+    }
+
+    private long countOccupied() {
+        long count = 0;
+        for (long index = 0; index < totalSlots(); index++) {
+            if (buffer.getLong((int) (HEADER_BYTES + index * SLOT_BYTES)) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public long totalSlots() {
+        return (long) segments * slotsPerSegment;
+    }
+
+    /**
+     * Slots holding a bucket, including expired ones not yet reused or cleared
+     */
+    public long getOccupiedSlots() {
+        return occupied.get();
+    }
+
+    public long getForcedEvictions() {
+        return forcedEvictions.get();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    // FNV-1a and a multiplicative hash over the same bytes, each finished with SplitMix64;
+    // 0 marks an empty slot, so h1 is never 0
+    private static long hash1(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        long mixed = mix(hash);
+        return mixed == 0 ? 1 : mixed;
+    }
+
+    private static long hash2(String key) {
+        long hash = 0x9E3779B97F4A7C15L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash + (b & 0xff)) * 0xC2B2AE3D27D4EB4FL;
+            hash ^= hash >>> 29;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
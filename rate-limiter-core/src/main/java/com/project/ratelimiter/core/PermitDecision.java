@@ -0,0 +1,17 @@
+package com.project.ratelimiter.core;
+
+import lombok.Value;
+
+/**
+ * Outcome of a permit acquire for a CONCURRENCY limit
+ */
+@Value
+public class PermitDecision {
+
+    boolean acquired;
+    // Permit to hand back on release; null when not acquired
+    String permitId;
+    long availablePermits;
+    // Lease expiry of the new permit, or when the oldest held permit expires if denied
+    long expiresAtMillis;
+}
@@ -0,0 +1,41 @@
+package com.project.ratelimiter.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal Redis access the engine needs: run a Lua script and hand back its multi-bulk reply.
+ * Keeps the core free of any Redis client; Spring applications plug in a RedisTemplate-backed one.
+ */
+public interface RedisScriptExecutor {
+
+    /**
+     * Execute {@code script} (EVALSHA, falling back to EVAL) with string KEYS and ARGV.
+     *
+     * @return the script's reply; integer replies come back as {@link Long}
+     */
+    List<Object> execute(LuaScript script, List<String> keys, List<String> args);
+
+    /**
+     * Execute a script that only reads. Implementations may route it to a replica
+     * (EVALSHA_RO / EVAL_RO); by default it runs on the primary like any other script.
+     */
+    default List<Object> executeReadOnly(LuaScript script, List<String> keys, List<String> args) {
+        return execute(script, keys, args);
+    }
+
+    /**
+     * Execute {@code script} once per entry of {@code keys} / {@code args} (same size).
+     * Implementations may pipeline the calls into one round trip; by default they run one by one.
+     * Throws if any call fails; the others may have run, and nothing is retried.
+     *
+     * @return the replies, in call order
+     */
+    default List<List<Object>> executeAll(LuaScript script, List<List<String>> keys, List<List<String>> args) {
+        List<List<Object>> replies = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            replies.add(execute(script, keys.get(i), args.get(i)));
+        }
+        return replies;
+    }
+}
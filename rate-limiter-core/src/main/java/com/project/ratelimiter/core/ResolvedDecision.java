@@ -0,0 +1,16 @@
+package com.project.ratelimiter.core;
+
+import lombok.Value;
+
+/**
+ * Outcome of a check whose limit was resolved inside Redis (config mirror).
+ * Carries the limit that was applied, since the caller never saw the config.
+ */
+@Value
+public class ResolvedDecision {
+
+    Decision decision;
+    int requestsPerMinute;
+    String tier;
+    long capacity;
+}
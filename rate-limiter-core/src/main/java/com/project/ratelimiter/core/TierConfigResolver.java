@@ -0,0 +1,47 @@
+package com.project.ratelimiter.core;
+
+import java.util.Map;
+
+/**
+ * Resolves limits from static tier definitions, falling back to a global default.
+ * Used when no database is available (embedding applications, DB outages).
+ */
+public class TierConfigResolver implements ConfigResolver {
+
+    public static final String DEFAULT_TIER = "default";
+
+    private final Map<String, TierLimit> tiers;
+    private final TierLimit defaultLimit;
+    private final String algorithm;
+
+    public TierConfigResolver(Map<String, TierLimit> tiers, TierLimit defaultLimit, String algorithm) {
+        this.tiers = Map.copyOf(tiers);
+        this.defaultLimit = defaultLimit;
+        this.algorithm = algorithm;
+    }
+
+    @Override
+    public LimitSpec resolve(String userId, String resource) {
+        return resolve(userId, resource, DEFAULT_TIER);
+    }
+
+    /**
+     * Resolve for a known tier; unknown tiers get the global default
+     */
+    public LimitSpec resolve(String userId, String resource, String tier) {
+        TierLimit limit = tier != null ? tiers.get(tier) : null;
+        if (limit == null) {
+            limit = defaultLimit;
+            tier = DEFAULT_TIER;
+        }
+
+        return LimitSpec.builder()
+                .userId(userId)
+                .resource(resource)
+                .tier(tier)
+                .requestsPerMinute(limit.getRequestsPerMinute())
+                .burstCapacity(limit.getBurstCapacity())
+                .algorithm(algorithm)
+                .build();
+    }
+}
@@ -0,0 +1,13 @@
+package com.project.ratelimiter.core;
+
+import lombok.Value;
+
+/**
+ * Requests per minute + burst capacity pair for a tier (or the global default)
+ */
+@Value
+public class TierLimit {
+
+    int requestsPerMinute;
+    Integer burstCapacity;
+}
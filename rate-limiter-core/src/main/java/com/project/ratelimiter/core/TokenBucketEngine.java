@@ -0,0 +1,302 @@
+package com.project.ratelimiter.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket decision engine: one atomic Lua script call per check.
+ *
+ * Spring-independent so the same decisions (and the same Redis state) can be made
+ * by the microservice and in-process by embedding applications.
+ *
+ * With {@link TimeSource#REDIS} the scripts read the Redis server clock instead of taking
+ * {@code now} from the JVM and keep the bucket in integer units (see
+ * token-bucket-check-server-time.lua), so pod clock skew cannot mint or lose tokens. The two
+ * modes keep separate keys; every instance sharing a Redis must use the same one.
+ */
+public class TokenBucketEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenBucketEngine.class);
+
+    /**
+     * Whose clock refills the buckets
+     */
+    public enum TimeSource {
+        // Milliseconds from the calling JVM (the clock supplier)
+        CLIENT,
+        // Redis TIME in microseconds, integer token units
+        REDIS
+    }
+
+    private final RedisScriptExecutor executor;
+    private final LongSupplier clock;
+    private final TimeSource timeSource;
+
+    public TokenBucketEngine(RedisScriptExecutor executor) {
+        this(executor, System::currentTimeMillis, TimeSource.CLIENT);
+    }
+
+    public TokenBucketEngine(RedisScriptExecutor executor, TimeSource timeSource) {
+        this(executor, System::currentTimeMillis, timeSource);
+    }
+
+    public TokenBucketEngine(RedisScriptExecutor executor, LongSupplier clock) {
+        this(executor, clock, TimeSource.CLIENT);
+    }
+
+    public TokenBucketEngine(RedisScriptExecutor executor, LongSupplier clock, TimeSource timeSource) {
+        this.executor = executor;
+        this.clock = clock;
+        this.timeSource = timeSource;
+    }
+
+    public TimeSource getTimeSource() {
+        return timeSource;
+    }
+
+    private boolean serverTime() {
+        return timeSource == TimeSource.REDIS;
+    }
+
+    /**
+     * Atomically refill and try to take one token.
+     * Throws if Redis is unreachable or the script reply is malformed, callers decide how to fall back.
+     */
+    public Decision tryConsume(LimitSpec spec) {
+        return tryConsume(spec, 1).forCaller(0);
+    }
+
+    /**
+     * Atomically refill and take up to {@code tokens} tokens in one script call.
+     * Used to answer several concurrent checks for the same key with one round trip.
+     */
+    public BatchDecision tryConsume(LimitSpec spec, int tokens) {
+        if (spec.getShards() > 1) {
+            return tryConsumeSharded(spec, tokens);
+        }
+        return consume(tokensKey(spec.getUserId(), spec.getResource()),
+                timeKey(spec.getUserId(), spec.getResource()),
+                spec.getCapacity(), spec.getRequestsPerMinute(), tokens);
+    }
+
+    /**
+     * Sharded bucket: capacity and refill are split across K sub-buckets on different slots.
+     * A random shard is tried first, then its neighbour, before denying - so a request is only
+     * denied when two shards are empty, and one key never bounds the whole limit.
+     */
+    private BatchDecision tryConsumeSharded(LimitSpec spec, int tokens) {
+        int shards = spec.getShards();
+        int first = ThreadLocalRandom.current().nextInt(shards);
+
+        BatchDecision primary = consumeShard(spec, first, shards, tokens);
+        if (primary.getGranted() == tokens) {
+            return estimateTotal(tokens, primary.getGranted(), primary, shards);
+        }
+
+        BatchDecision neighbour = consumeShard(spec, (first + 1) % shards, shards, tokens - primary.getGranted());
+        BatchDecision last = neighbour.getGranted() > 0 ? neighbour : primary;
+        return new BatchDecision(tokens,
+                primary.getGranted() + neighbour.getGranted(),
+                // Remaining is an estimate: the two shards seen, scaled to all shards
+                (primary.getRemainingTokens() + neighbour.getRemainingTokens()) * shards / 2,
+                Math.max(primary.getResetTimeMillis(), last.getResetTimeMillis()));
+    }
+
+    private BatchDecision consumeShard(LimitSpec spec, int shard, int shards, int tokens) {
+        return consume(shardTokensKey(spec.getUserId(), spec.getResource(), shard),
+                shardTimeKey(spec.getUserId(), spec.getResource(), shard),
+                shareOf(spec.getCapacity(), shard, shards),
+                shareOf(spec.getRequestsPerMinute(), shard, shards),
+                tokens);
+    }
+
+    private static BatchDecision estimateTotal(int requested, int granted, BatchDecision shard, int shards) {
+        return new BatchDecision(requested, granted, shard.getRemainingTokens() * shards, shard.getResetTimeMillis());
+    }
+
+    // Split total across shards so the shares add up exactly to total
+    static long shareOf(long total, int shard, int shards) {
+        return total / shards + (shard < total % shards ? 1 : 0);
+    }
+
+    // State keys of the current time source: float tokens + ms, or integer units + µs
+    private String tokensKey(String userId, String resource) {
+        return serverTime() ? BucketKeys.units(userId, resource) : BucketKeys.tokens(userId, resource);
+    }
+
+    private String timeKey(String userId, String resource) {
+        return serverTime() ? BucketKeys.timeMicros(userId, resource) : BucketKeys.time(userId, resource);
+    }
+
+    private String shardTokensKey(String userId, String resource, int shard) {
+        return serverTime() ? BucketKeys.shardUnits(userId, resource, shard)
+                : BucketKeys.shardTokens(userId, resource, shard);
+    }
+
+    private String shardTimeKey(String userId, String resource, int shard) {
+        return serverTime() ? BucketKeys.shardTimeMicros(userId, resource, shard)
+                : BucketKeys.shardTime(userId, resource, shard);
+    }
+
+    private BatchDecision consume(String tokensKey, String timeKey, long capacity, long requestsPerMinute, int tokens) {
+        List<Object> result = executor.execute(checkScript(), List.of(tokensKey, timeKey),
+                checkArgs(capacity, requestsPerMinute, tokens));
+        return toBatchDecision(tokensKey, tokens, result);
+    }
+
+    /**
+     * Take {@code tokens.get(i)} tokens from {@code specs.get(i)} for every i, pipelined into one
+     * round trip when the executor supports it. Single-key buckets only; used to write back
+     * consumption that was answered from a node-local copy of the bucket.
+     */
+    public List<BatchDecision> tryConsumeAll(List<LimitSpec> specs, List<Integer> tokens) {
+        List<List<String>> keys = new ArrayList<>(specs.size());
+        List<List<String>> args = new ArrayList<>(specs.size());
+        for (int i = 0; i < specs.size(); i++) {
+            LimitSpec spec = specs.get(i);
+            if (spec.getShards() > 1) {
+                throw new IllegalArgumentException("Sharded buckets cannot be consumed in a batch: " + spec.getResource());
+            }
+            keys.add(List.of(tokensKey(spec.getUserId(), spec.getResource()),
+                    timeKey(spec.getUserId(), spec.getResource())));
+            args.add(checkArgs(spec.getCapacity(), spec.getRequestsPerMinute(), tokens.get(i)));
+        }
+
+        List<List<Object>> results = executor.executeAll(checkScript(), keys, args);
+        List<BatchDecision> decisions = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            decisions.add(toBatchDecision(keys.get(i).get(0), tokens.get(i), results.get(i)));
+        }
+        return decisions;
+    }
+
+    private LuaScript checkScript() {
+        return serverTime() ? LuaScripts.TOKEN_BUCKET_CHECK_SERVER_TIME : LuaScripts.TOKEN_BUCKET_CHECK;
+    }
+
+    // ARGV = [capacity, requestsPerMinute, now, requested], without now on the Redis clock
+    private List<String> checkArgs(long capacity, long requestsPerMinute, int tokens) {
+        if (serverTime()) {
+            return List.of(String.valueOf(capacity),
+                    String.valueOf(requestsPerMinute),
+                    String.valueOf(tokens));
+        }
+        return List.of(String.valueOf(capacity),
+                String.valueOf(requestsPerMinute),
+                String.valueOf(clock.getAsLong()),
+                String.valueOf(tokens));
+    }
+
+    private static BatchDecision toBatchDecision(String tokensKey, int tokens, List<Object> result) {
+        if (result == null || result.size() < 3) {
+            throw new IllegalStateException("Lua script returned invalid result");
+        }
+
+        // result[0] = tokens granted (1 or 0 for a single check)
+        // result[1] = remaining tokens
+        // result[2] = reset time
+        int granted = (int) toLong(result.get(0));
+        long remainingTokens = toLong(result.get(1));
+        long resetTime = toLong(result.get(2));
+
+        logger.debug("Lua script result: key={}, requested={}, granted={}, remaining={}, resetTime={}",
+                tokensKey, tokens, granted, remainingTokens, resetTime);
+
+        return new BatchDecision(tokens, granted, remainingTokens, resetTime);
+    }
+
+    /**
+     * Check with the limit resolved inside Redis from the config mirror ({@link ConfigKeys}):
+     * one round trip, no config lookup in the JVM.
+     *
+     * @return the decision, or null if the mirror cannot answer (no limit mirrored, or the
+     *         config is sharded or adaptive) and the caller should resolve the config itself
+     */
+    public ResolvedDecision tryConsumeResolved(String userId, String resource) {
+        // KEYS = [keyTokens, keyTime, configKey, tiersKey]
+        // ARGV = [now, requested, serverTime]
+        List<Object> result = executor.execute(
+                LuaScripts.TOKEN_BUCKET_CHECK_RESOLVED,
+                List.of(tokensKey(userId, resource),
+                        timeKey(userId, resource),
+                        ConfigKeys.limit(userId, resource),
+                        ConfigKeys.TIERS),
+                List.of(String.valueOf(clock.getAsLong()), "1", serverTime() ? "1" : "0")
+        );
+
+        if (result == null || result.isEmpty()) {
+            throw new IllegalStateException("Lua script returned invalid result");
+        }
+        long granted = toLong(result.get(0));
+        if (granted < 0) {
+            logger.debug("Config mirror cannot resolve user={}, resource={} (code {})", userId, resource, granted);
+            return null;
+        }
+        if (result.size() < 6) {
+            throw new IllegalStateException("Lua script returned invalid result");
+        }
+
+        Decision decision = new Decision(granted == 1, toLong(result.get(1)), toLong(result.get(2)));
+        return new ResolvedDecision(decision, (int) toLong(result.get(3)), String.valueOf(result.get(4)),
+                toLong(result.get(5)));
+    }
+
+    /**
+     * Current bucket state without consuming a token: one read-only script call,
+     * eligible for replica routing. Sharded buckets read every shard and sum them.
+     */
+    public Decision peek(LimitSpec spec) {
+        int shards = spec.getShards();
+        if (shards == 1) {
+            return peek(tokensKey(spec.getUserId(), spec.getResource()),
+                    timeKey(spec.getUserId(), spec.getResource()),
+                    spec.getCapacity(), spec.getRequestsPerMinute());
+        }
+
+        long remaining = 0;
+        long resetTime = 0;
+        for (int shard = 0; shard < shards; shard++) {
+            Decision part = peek(shardTokensKey(spec.getUserId(), spec.getResource(), shard),
+                    shardTimeKey(spec.getUserId(), spec.getResource(), shard),
+                    shareOf(spec.getCapacity(), shard, shards),
+                    shareOf(spec.getRequestsPerMinute(), shard, shards));
+            remaining += part.getRemainingTokens();
+            resetTime = Math.max(resetTime, part.getResetTimeMillis());
+        }
+        return new Decision(remaining > 0, remaining, resetTime);
+    }
+
+    private Decision peek(String tokensKey, String timeKey, long capacity, long requestsPerMinute) {
+        List<Object> result = serverTime()
+                ? executor.executeReadOnly(
+                        LuaScripts.TOKEN_BUCKET_PEEK_SERVER_TIME,
+                        List.of(tokensKey, timeKey),
+                        List.of(String.valueOf(capacity),
+                                String.valueOf(requestsPerMinute)))
+                : executor.executeReadOnly(
+                        LuaScripts.TOKEN_BUCKET_PEEK,
+                        List.of(tokensKey, timeKey),
+                        List.of(String.valueOf(capacity),
+                                String.valueOf(requestsPerMinute),
+                                String.valueOf(clock.getAsLong())));
+
+        if (result == null || result.size() < 2) {
+            throw new IllegalStateException("Lua peek script returned invalid result");
+        }
+
+        long remainingTokens = toLong(result.get(0));
+        return new Decision(remainingTokens > 0, remainingTokens, toLong(result.get(1)));
+    }
+
+    static long toLong(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        return Long.parseLong(String.valueOf(value));
+    }
+}
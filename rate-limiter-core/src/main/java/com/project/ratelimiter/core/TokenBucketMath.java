@@ -0,0 +1,32 @@
+package com.project.ratelimiter.core;
+
+/**
+ * Token bucket refill arithmetic, identical to what token-bucket-check.lua does in Redis
+ */
+public final class TokenBucketMath {
+
+    private TokenBucketMath() {
+    }
+
+    //Refill rate: tokens per millisecond
+    public static double refillRatePerMs(LimitSpec spec) {
+        return spec.getRequestsPerMinute() / 60000.0;
+    }
+
+    /**
+     * Tokens available at {@code now}, capped at capacity
+     */
+    public static double refill(double tokens, long lastRefillTime, long now, LimitSpec spec) {
+        long elapsedMs = now - lastRefillTime;
+        double tokensToAdd = elapsedMs * refillRatePerMs(spec);
+        return Math.min(spec.getCapacity(), tokens + tokensToAdd);
+    }
+
+    /**
+     * Milliseconds until the bucket is full again
+     */
+    public static long msUntilFull(double tokens, LimitSpec spec) {
+        long tokensNeeded = spec.getCapacity() - (long) Math.floor(tokens);
+        return (long) (tokensNeeded / refillRatePerMs(spec));
+    }
+}
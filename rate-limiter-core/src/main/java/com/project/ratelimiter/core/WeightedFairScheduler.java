@@ -0,0 +1,245 @@
+package com.project.ratelimiter.core;
+
+import lombok.Value;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Weighted fair queuing of work across tiers in front of a saturable backend.
+ *
+ * At most {@code maxConcurrent} callers run at once. While a slot is free a caller runs
+ * immediately; once all slots are taken, callers wait in their tier's queue and every freed slot
+ * goes to the waiting tier with the lowest virtual pass (stride scheduling: a tier's pass grows
+ * by {@code 1 / weight} per grant, a tier that was idle starts at the current virtual time). Under
+ * saturation each backlogged tier therefore gets slots in proportion to its weight, and a tier
+ * that floods only lengthens its own queue.
+ *
+ * Each tier has a latency budget. A waiter is dropped once it can no longer finish within its
+ * budget (queue wait so far plus the recent average service time exceeds it): the slot goes to
+ * someone whose caller is still waiting for the answer. Each tier queue is bounded too.
+ *
+ * Unknown tier names share one default queue.
+ */
+public class WeightedFairScheduler {
+
+    /**
+     * Weight and latency budget of one tier
+     */
+    @Value
+    public static class TierClass {
+        double weight;
+        long budgetMillis;
+    }
+
+    public enum DropReason {
+        QUEUE_FULL,
+        DEADLINE
+    }
+
+    private static final int WAITING = 0;
+    private static final int GRANTED = 1;
+    private static final int DROPPED = 2;
+    private static final int CANCELLED = 3;
+
+    private final int maxConcurrent;
+    private final int queueCapacity;
+    private final LongSupplier nanoClock;
+    private final Map<String, Flow> flows = new HashMap<>();
+    private final Flow defaultFlow;
+    // Named tiers plus the default, the order dispatch scans them in
+    private final List<Flow> allFlows = new ArrayList<>();
+
+    // Guarded by this
+    private int running;
+    private int queued;
+    private double virtualTime;
+    private double serviceNanosAvg;
+
+    public WeightedFairScheduler(int maxConcurrent, int queueCapacity,
+                                 Map<String, TierClass> tiers, TierClass defaultTier) {
+        this(maxConcurrent, queueCapacity, tiers, defaultTier, System::nanoTime);
+    }
+
+    public WeightedFairScheduler(int maxConcurrent, int queueCapacity,
+                                 Map<String, TierClass> tiers, TierClass defaultTier, LongSupplier nanoClock) {
+        if (maxConcurrent <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Concurrency and queue capacity must be positive");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.queueCapacity = queueCapacity;
+        this.nanoClock = nanoClock;
+        tiers.forEach((name, tier) -> flows.put(name, new Flow(tier)));
+        this.defaultFlow = new Flow(defaultTier);
+        allFlows.addAll(flows.values());
+        allFlows.add(defaultFlow);
+    }
+
+    /**
+     * Wait for a slot for a caller of {@code tier}. The returned slot is either granted (run,
+     * then {@link Slot#release()} exactly once) or dropped.
+     */
+    public Slot acquire(String tier) throws InterruptedException {
+        long now = nanoClock.getAsLong();
+        Flow flow = flows.getOrDefault(tier, defaultFlow);
+        Waiter waiter;
+        synchronized (this) {
+            if (running < maxConcurrent) {
+                running++;
+                return new Slot(now, null);
+            }
+            if (flow.queue.size() >= queueCapacity) {
+                return new Slot(now, DropReason.QUEUE_FULL);
+            }
+            if (flow.queue.isEmpty()) {
+                flow.pass = Math.max(flow.pass, virtualTime);
+            }
+            waiter = new Waiter(now + flow.budgetNanos, Thread.currentThread());
+            flow.queue.add(waiter);
+            queued++;
+        }
+
+        boolean interrupted = false;
+        while (waiter.state == WAITING) {
+            // No point waiting past the moment the check could still finish in time
+            long left = waiter.deadline - estimatedServiceNanos() - nanoClock.getAsLong();
+            if (left <= 0) {
+                break;
+            }
+            LockSupport.parkNanos(this, left);
+            if (Thread.interrupted()) {
+                interrupted = true;
+                break;
+            }
+        }
+        synchronized (this) {
+            if (waiter.state == GRANTED) {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                return new Slot(nanoClock.getAsLong(), null);
+            }
+            if (waiter.state == WAITING) {
+                // Out of the queue now, so its size (capacity, idle check) only counts live waiters.
+                // Timed-out waiters are the oldest, near the head: the scan is short.
+                flow.queue.remove(waiter);
+                waiter.state = CANCELLED;
+                queued--;
+            }
+        }
+        if (interrupted) {
+            throw new InterruptedException();
+        }
+        return new Slot(now, DropReason.DEADLINE);
+    }
+
+    private synchronized long estimatedServiceNanos() {
+        return (long) serviceNanosAvg;
+    }
+
+    private synchronized void release(long serviceNanos) {
+        serviceNanosAvg = serviceNanosAvg == 0 ? serviceNanos : serviceNanosAvg * 0.9 + serviceNanos * 0.1;
+        dispatch();
+    }
+
+    // Hand the freed slot to the next waiter that can still make its deadline, or give it back
+    private void dispatch() {
+        long now = nanoClock.getAsLong();
+        Flow next = null;
+        for (Flow flow : allFlows) {
+            Waiter head;
+            while ((head = flow.queue.peek()) != null && head.deadline - now < serviceNanosAvg) {
+                flow.queue.poll();
+                head.state = DROPPED;
+                queued--;
+                LockSupport.unpark(head.thread);
+            }
+            if (head != null && (next == null || flow.pass < next.pass)) {
+                next = flow;
+            }
+        }
+        if (next == null) {
+            running--;
+            return;
+        }
+        Waiter waiter = next.queue.poll();
+        virtualTime = next.pass;
+        next.pass += 1 / next.weight;
+        waiter.state = GRANTED;
+        queued--;
+        LockSupport.unpark(waiter.thread);
+    }
+
+    public synchronized int getRunning() {
+        return running;
+    }
+
+    public synchronized int getQueued() {
+        return queued;
+    }
+
+    /**
+     * A granted or dropped turn at the backend
+     */
+    public final class Slot {
+
+        private final long startNanos;
+        private final DropReason dropReason;
+        private boolean released;
+
+        private Slot(long startNanos, DropReason dropReason) {
+            this.startNanos = startNanos;
+            this.dropReason = dropReason;
+        }
+
+        public boolean isGranted() {
+            return dropReason == null;
+        }
+
+        /**
+         * Why the caller was not given a slot, null when granted
+         */
+        public DropReason getDropReason() {
+            return dropReason;
+        }
+
+        public void release() {
+            if (!isGranted() || released) {
+                throw new IllegalStateException("Slot not held");
+            }
+            released = true;
+            WeightedFairScheduler.this.release(nanoClock.getAsLong() - startNanos);
+        }
+    }
+
+    private static final class Flow {
+        final double weight;
+        final long budgetNanos;
+        final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+        double pass;
+
+        Flow(TierClass tier) {
+            if (tier.getWeight() <= 0) {
+                throw new IllegalArgumentException("Tier weight must be positive");
+            }
+            this.weight = tier.getWeight();
+            this.budgetNanos = tier.getBudgetMillis() * 1_000_000L;
+        }
+    }
+
+    private static final class Waiter {
+        final long deadline;
+        final Thread thread;
+        volatile int state = WAITING;
+
+        Waiter(long deadline, Thread thread) {
+            this.deadline = deadline;
+            this.thread = thread;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+-- AIMD step of a resource's adaptive rate scale, shared by every replica.
+--
+-- The scale (0..1) multiplies the ceiling of every adaptive config on the resource, each clamped
+-- to its own floor. A congested report multiplies it by the decrease factor, a healthy report
+-- adds the increase step. Steps are rate limited here, so N replicas or reporters sending the
+-- same signal move the scale once, not N times: at most one decrease per cooldown, at most one
+-- increase per increase interval, and no increase within a cooldown after a decrease.
+--
+-- KEYS[1] = rl_adapt:resource   (hash: scale, decreased_at, increased_at)
+-- ARGV[1] = current timestamp (milliseconds)
+-- ARGV[2] = 1 if the report signals congestion, 0 if healthy
+-- ARGV[3] = increase step (added to the scale)
+-- ARGV[4] = decrease factor (scale multiplied by it)
+-- ARGV[5] = minimum scale
+-- ARGV[6] = decrease cooldown (milliseconds)
+-- ARGV[7] = increase interval (milliseconds)
+-- ARGV[8] = state ttl (milliseconds): without reports the resource goes back to its ceilings
+--
+-- RETURNS:
+-- [1] = scale after this report (string, keeps the fraction)
+-- [2] = -1 decreased, 1 increased, 0 unchanged
+
+local state = redis.call('hmget', KEYS[1], 'scale', 'decreased_at', 'increased_at')
+local scale = tonumber(state[1]) or 1
+local decreasedAt = tonumber(state[2]) or 0
+local increasedAt = tonumber(state[3]) or 0
+local now = tonumber(ARGV[1])
+local cooldown = tonumber(ARGV[6])
+local change = 0
+
+if ARGV[2] == '1' then
+    if now - decreasedAt >= cooldown then
+        scale = math.max(tonumber(ARGV[5]), scale * tonumber(ARGV[4]))
+        decreasedAt = now
+        change = -1
+    end
+elseif scale < 1 and now - increasedAt >= tonumber(ARGV[7]) and now - decreasedAt >= cooldown then
+    scale = math.min(1, scale + tonumber(ARGV[3]))
+    increasedAt = now
+    change = 1
+end
+
+redis.call('hset', KEYS[1], 'scale', tostring(scale), 'decreased_at', decreasedAt, 'increased_at', increasedAt)
+redis.call('pexpire', KEYS[1], ARGV[8])
+
+return {tostring(scale), change}
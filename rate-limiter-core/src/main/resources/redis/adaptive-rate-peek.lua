@@ -0,0 +1,8 @@
+-- Current adaptive rate scale of a resource (no writes, replica-safe).
+--
+-- KEYS[1] = rl_adapt:resource   (hash: scale, decreased_at, increased_at)
+--
+-- RETURNS:
+-- [1] = scale (string), "1" when the resource has no recent reports
+
+return {redis.call('hget', KEYS[1], 'scale') or '1'}
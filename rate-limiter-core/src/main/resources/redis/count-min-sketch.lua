@@ -0,0 +1,62 @@
+-- Sliding-window Count-Min Sketch check: estimate a client's count, and count it if allowed.
+-- Each window is one string of depth x width u32 counters accessed with BITFIELD; the
+-- counter offsets (row * width + column) are hashed by the caller, one per row.
+-- Conservative update: only counters at the current minimum are raised, which keeps the
+-- overestimate well below the plain CMS bound without changing the guarantee.
+--
+-- KEYS[1] = current window sketch
+-- KEYS[2] = previous window sketch
+-- ARGV[1] = limit per window
+-- ARGV[2] = weight of the previous window (share of it still inside the sliding window, 0..1)
+-- ARGV[3] = sketch TTL (milliseconds, two windows)
+-- ARGV[4..] = counter index for each row
+--
+-- RETURNS:
+-- [1] = 1 if allowed (and counted), 0 if over the limit
+-- [2] = remaining requests in the sliding window (estimate)
+-- [3] = estimated count in the sliding window, including this request if allowed
+
+local limit = tonumber(ARGV[1])
+local weight = tonumber(ARGV[2])
+local ttl = tonumber(ARGV[3])
+local depth = #ARGV - 3
+
+local get = {}
+for i = 1, depth do
+    get[#get + 1] = 'GET'
+    get[#get + 1] = 'u32'
+    get[#get + 1] = '#' .. ARGV[3 + i]
+end
+
+-- Missing keys read as zeros without being created
+local current = redis.call('bitfield', KEYS[1], unpack(get))
+local previous = redis.call('bitfield', KEYS[2], unpack(get))
+
+local currentMin = current[1]
+local previousMin = previous[1]
+for i = 2, depth do
+    currentMin = math.min(currentMin, current[i])
+    previousMin = math.min(previousMin, previous[i])
+end
+
+local estimate = currentMin + math.floor(previousMin * weight)
+if estimate >= limit then
+    return {0, 0, estimate}
+end
+
+local set = {'OVERFLOW', 'SAT'}
+for i = 1, depth do
+    if current[i] <= currentMin then
+        set[#set + 1] = 'SET'
+        set[#set + 1] = 'u32'
+        set[#set + 1] = '#' .. ARGV[3 + i]
+        set[#set + 1] = currentMin + 1
+    end
+end
+redis.call('bitfield', KEYS[1], unpack(set))
+
+if redis.call('pttl', KEYS[1]) < 0 then
+    redis.call('pexpire', KEYS[1], ttl)
+end
+
+return {1, limit - estimate - 1, estimate + 1}
@@ -0,0 +1,37 @@
+-- Distributed permit semaphore: atomic expire + count + acquire in one call.
+-- Permits are members of a sorted set scored by their lease expiry, so a client that
+-- crashes without releasing only holds its permit until the lease runs out.
+--
+-- KEYS[1] = rate_limit:userId:resource:permits
+-- ARGV[1] = max concurrent permits (e.g., 5)
+-- ARGV[2] = lease (milliseconds)
+-- ARGV[3] = current timestamp (milliseconds)
+-- ARGV[4] = permit id
+--
+-- RETURNS:
+-- [1] = 1 if acquired, 0 if all permits are held
+-- [2] = permits still available after this call
+-- [3] = lease expiry of the new permit if acquired, else expiry of the oldest held permit
+
+local limit = tonumber(ARGV[1])
+local lease = tonumber(ARGV[2])
+local now = tonumber(ARGV[3])
+
+-- Reclaim permits whose lease has run out
+redis.call('zremrangebyscore', KEYS[1], '-inf', now)
+
+local held = redis.call('zcard', KEYS[1])
+if held >= limit then
+    local oldest = redis.call('zrange', KEYS[1], 0, 0, 'withscores')
+    return {0, 0, tonumber(oldest[2])}
+end
+
+local expiresAt = now + lease
+redis.call('zadd', KEYS[1], expiresAt, ARGV[4])
+
+-- Key lives as long as its longest lease
+if redis.call('pttl', KEYS[1]) < lease then
+    redis.call('pexpire', KEYS[1], lease)
+end
+
+return {1, limit - held - 1, expiresAt}
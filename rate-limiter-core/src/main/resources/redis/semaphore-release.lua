@@ -0,0 +1,19 @@
+-- Release a permit taken by semaphore-acquire.lua.
+--
+-- KEYS[1] = rate_limit:userId:resource:permits
+-- ARGV[1] = max concurrent permits
+-- ARGV[2] = current timestamp (milliseconds)
+-- ARGV[3] = permit id
+--
+-- RETURNS:
+-- [1] = 1 if the permit was held, 0 if unknown or its lease had already expired
+-- [2] = permits available after the release
+
+local limit = tonumber(ARGV[1])
+local now = tonumber(ARGV[2])
+
+redis.call('zremrangebyscore', KEYS[1], '-inf', now)
+local released = redis.call('zrem', KEYS[1], ARGV[3])
+local held = redis.call('zcard', KEYS[1])
+
+return {released, math.max(0, limit - held)}
@@ -0,0 +1,120 @@
+-- Same refill + consume as token-bucket-check.lua, but the limit is looked up on the Redis side
+-- from the config mirror (see ConfigKeys), so a check is one round trip with no database access.
+--
+-- Resolution order: per user+resource config -> global default (tier "default"), the same rule as
+-- JpaConfigResolver, so a check resolves to the same limit here and in the JVM.
+--
+-- KEYS[1] = rate_limit:userId:resource:tokens  (:units with the Redis clock)
+-- KEYS[2] = rate_limit:userId:resource:time    (:time_us with the Redis clock)
+-- KEYS[3] = rl_cfg:limit:userId:resource   (hash: id, rpm, burst, tier, shards, adaptive)
+-- KEYS[4] = rl_cfg:tiers                   (hash: default:rpm, default:burst)
+-- ARGV[1] = current timestamp (milliseconds)
+-- ARGV[2] = tokens requested
+-- ARGV[3] = '1': Redis clock and integer units, as token-bucket-check-server-time.lua (ARGV[1] unused)
+--
+-- RETURNS:
+-- [1] = tokens granted, or -1 if the mirror has no limit at all, -2 if the config is sharded,
+--       -3 if it is adaptive (callers resolve those in the JVM)
+-- [2] = remaining tokens
+-- [3] = reset time
+-- [4] = requestsPerMinute applied
+-- [5] = tier applied
+-- [6] = bucket capacity applied
+
+local now = tonumber(ARGV[1])
+local requested = tonumber(ARGV[2])
+local serverTime = ARGV[3] == '1'
+
+-- TIME is non-deterministic: replicate the writes instead of the script (default since Redis 5)
+if serverTime and redis.replicate_commands then
+    redis.replicate_commands()
+end
+
+-- Resolve the limit
+local cfg = redis.call('hmget', KEYS[3], 'rpm', 'burst', 'tier', 'shards', 'adaptive')
+local requestsPerMinute = tonumber(cfg[1])
+local capacity = tonumber(cfg[2])
+local tier = cfg[3]
+
+if requestsPerMinute then
+    if tonumber(cfg[4]) and tonumber(cfg[4]) > 1 then
+        return {-2}
+    end
+    -- The refill rate follows the resource's AIMD scale, which the JVM applies
+    if cfg[5] == '1' then
+        return {-3}
+    end
+else
+    tier = 'default'
+    local tierLimit = redis.call('hmget', KEYS[4], 'default:rpm', 'default:burst')
+    requestsPerMinute = tonumber(tierLimit[1])
+    capacity = tonumber(tierLimit[2])
+    if not requestsPerMinute then
+        return {-1}
+    end
+end
+capacity = capacity or requestsPerMinute
+
+local granted, remaining, resetTime
+
+if serverTime then
+    -- Same refill as token-bucket-check-server-time.lua: microseconds, 1 token = 60,000,000 units
+    local UNITS = 60000000
+    local time = redis.call('TIME')
+    local nowMicros = tonumber(time[1]) * 1000000 + tonumber(time[2])
+    local capacityUnits = capacity * UNITS
+
+    local units = tonumber(redis.call('get', KEYS[1]))
+    local lastRefillTime = tonumber(redis.call('get', KEYS[2]))
+    if not units or not lastRefillTime then
+        units = capacityUnits
+        lastRefillTime = nowMicros
+    end
+    if nowMicros > lastRefillTime then
+        units = units + (nowMicros - lastRefillTime) * requestsPerMinute
+        lastRefillTime = nowMicros
+    end
+    units = math.min(capacityUnits, units)
+
+    granted = math.max(0, math.min(requested, math.floor(units / UNITS)))
+    units = units - granted * UNITS
+
+    redis.call('set', KEYS[1], string.format('%d', units), 'EX', 120)
+    redis.call('set', KEYS[2], string.format('%d', lastRefillTime), 'EX', 120)
+
+    remaining = math.floor(units / UNITS)
+    resetTime = math.floor((lastRefillTime + math.ceil((capacityUnits - units) / requestsPerMinute)) / 1000)
+else
+    -- Get current state from Redis
+    local tokens = redis.call('get', KEYS[1])
+    local lastRefillTime = redis.call('get', KEYS[2])
+
+    -- Initialize if first request
+    if not tokens then
+        tokens = capacity
+        lastRefillTime = now
+    else
+        tokens = tonumber(tokens)
+        lastRefillTime = tonumber(lastRefillTime)
+    end
+
+    -- Calculate token refill
+    local refillRate = requestsPerMinute / 60000.0  -- tokens per millisecond
+    tokens = math.min(capacity, tokens + (now - lastRefillTime) * refillRate)
+
+    -- Grant as many whole tokens as are available, up to the number requested
+    granted = math.min(requested, math.floor(tokens))
+    if granted < 0 then
+        granted = 0
+    end
+    tokens = tokens - granted
+
+    -- Save updated state: Auto-cleanup inactive users
+    redis.call('set', KEYS[1], tokens, 'EX', 120)
+    redis.call('set', KEYS[2], now, 'EX', 120)
+
+    remaining = math.floor(tokens)
+    resetTime = math.floor(now + (capacity - tokens) / refillRate)
+end
+
+return {granted, remaining, resetTime, requestsPerMinute, tier, capacity}
@@ -0,0 +1,62 @@
+-- Same check as token-bucket-check.lua, on the Redis server's clock and in integer units
+-- (rate-limiter.clock=redis). Every service replica refills against the same clock, so skew
+-- between pods can no longer produce negative elapsed times or count the same interval twice,
+-- and the integer math does not drift.
+--
+-- Fixed point: 1 token = 60,000,000 units, so a limit of R requests/minute refills exactly
+-- R units per elapsed microsecond. Kept under different keys than the millisecond/float state.
+--
+-- KEYS[1] = rate_limit:userId:resource:units
+-- KEYS[2] = rate_limit:userId:resource:time_us
+-- ARGV[1] = capacity (tokens)
+-- ARGV[2] = requestsPerMinute
+-- ARGV[3] = tokens requested (optional, default 1; >1 for coalesced checks)
+--
+-- RETURNS:
+-- [1] = tokens granted (0..requested; for a single check 1 = allowed, 0 = denied)
+-- [2] = remaining tokens
+-- [3] = reset time (milliseconds, Redis clock)
+
+-- TIME is non-deterministic: replicate the writes instead of the script (default since Redis 5)
+if redis.replicate_commands then
+    redis.replicate_commands()
+end
+
+local UNITS = 60000000
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+local capacity = tonumber(ARGV[1]) * UNITS
+local refillRate = tonumber(ARGV[2])  -- units per microsecond
+local requested = tonumber(ARGV[3]) or 1
+
+local units = tonumber(redis.call('get', KEYS[1]))
+local lastRefillTime = tonumber(redis.call('get', KEYS[2]))
+
+-- Initialize if first request
+if not units or not lastRefillTime then
+    units = capacity
+    lastRefillTime = now
+end
+
+-- Refill. A clock step back (failover to a node that is behind) adds nothing and keeps the
+-- later timestamp, so that interval is not counted again once the clock catches up.
+if now > lastRefillTime then
+    units = units + (now - lastRefillTime) * refillRate
+    lastRefillTime = now
+end
+units = math.min(capacity, units)
+
+-- Grant as many whole tokens as are available, up to the number requested
+local granted = math.min(requested, math.floor(units / UNITS))
+if granted < 0 then
+    granted = 0
+end
+units = units - granted * UNITS
+
+-- Save updated state: Auto-cleanup inactive users
+redis.call('set', KEYS[1], string.format('%d', units), 'EX', 120)
+redis.call('set', KEYS[2], string.format('%d', lastRefillTime), 'EX', 120)
+
+-- Reset time: microseconds until full, rounded up
+local resetTime = lastRefillTime + math.ceil((capacity - units) / refillRate)
+return {granted, math.floor(units / UNITS), math.floor(resetTime / 1000)}
@@ -3,9 +3,10 @@
 -- ARGV[1] = capacity (e.g., 10)
 -- ARGV[2] = requestsPerMinute (e.g., 10)
 -- ARGV[3] = current timestamp (milliseconds)
+-- ARGV[4] = tokens requested (optional, default 1; >1 for coalesced checks)
 --
 -- RETURNS:
--- [1] = allowed (1 = yes, 0 = no)
+-- [1] = tokens granted (0..requested; for a single check 1 = allowed, 0 = denied)
 -- [2] = remaining tokens
 -- [3] = reset time
 
@@ -15,6 +16,7 @@ local lastRefillTime = redis.call('get', KEYS[2])
 local now = tonumber(ARGV[3])
 local capacity = tonumber(ARGV[1])
 local requestsPerMinute = tonumber(ARGV[2])
+local requested = tonumber(ARGV[4]) or 1
 
 -- Initialize if first request
 if not tokens then
@@ -33,12 +35,12 @@ local tokensToAdd = elapsedMs * refillRate
 -- Update tokens (cap at capacity)
 tokens = math.min(capacity, tokens + tokensToAdd)
 
--- Check if request allowed
-local allowed = 0
-if tokens >= 1 then
-    tokens = tokens - 1
-    allowed = 1
+-- Grant as many whole tokens as are available, up to the number requested
+local granted = math.min(requested, math.floor(tokens))
+if granted < 0 then
+    granted = 0
 end
+tokens = tokens - granted
 
 -- Save updated state: Auto-cleanup inactive users
 redis.call('set', KEYS[1], tokens, 'EX', 120)  -- Expire in 120 seconds
@@ -50,4 +52,4 @@ local msUntilFull = tokensNeeded / refillRate
 local resetTime = now + msUntilFull
 
 -- Return results
-return {allowed, math.floor(tokens), math.floor(resetTime)}
\ No newline at end of file
+return {granted, math.floor(tokens), math.floor(resetTime)}
\ No newline at end of file
@@ -0,0 +1,35 @@
+-- Read-only view of a bucket written by token-bucket-check-server-time.lua (no token consumed,
+-- no writes). Safe for EVAL_RO / EVALSHA_RO, so it can be served by a replica.
+--
+-- KEYS[1] = rate_limit:userId:resource:units
+-- KEYS[2] = rate_limit:userId:resource:time_us
+-- ARGV[1] = capacity (tokens)
+-- ARGV[2] = requestsPerMinute
+--
+-- RETURNS:
+-- [1] = remaining tokens
+-- [2] = reset time (milliseconds, Redis clock)
+
+local UNITS = 60000000
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+local capacity = tonumber(ARGV[1]) * UNITS
+local refillRate = tonumber(ARGV[2])  -- units per microsecond
+
+local units = tonumber(redis.call('get', KEYS[1]))
+local lastRefillTime = tonumber(redis.call('get', KEYS[2]))
+
+-- Unknown bucket: the next check would start full
+if not units or not lastRefillTime then
+    return {tonumber(ARGV[1]), math.floor(now / 1000)}
+end
+
+-- Same refill as the check script
+if now > lastRefillTime then
+    units = units + (now - lastRefillTime) * refillRate
+    lastRefillTime = now
+end
+units = math.min(capacity, units)
+
+local resetTime = lastRefillTime + math.ceil((capacity - units) / refillRate)
+return {math.floor(units / UNITS), math.floor(resetTime / 1000)}
@@ -0,0 +1,33 @@
+-- Read-only view of a bucket written by token-bucket-check.lua (no token consumed, no writes).
+-- Safe for EVAL_RO / EVALSHA_RO, so it can be served by a replica.
+--
+-- KEYS[1] = rate_limit:userId:resource:tokens
+-- KEYS[2] = rate_limit:userId:resource:time
+-- ARGV[1] = capacity (e.g., 10)
+-- ARGV[2] = requestsPerMinute (e.g., 10)
+-- ARGV[3] = current timestamp (milliseconds)
+--
+-- RETURNS:
+-- [1] = remaining tokens
+-- [2] = reset time
+
+local tokens = redis.call('get', KEYS[1])
+local lastRefillTime = redis.call('get', KEYS[2])
+local now = tonumber(ARGV[3])
+local capacity = tonumber(ARGV[1])
+local requestsPerMinute = tonumber(ARGV[2])
+
+-- Unknown bucket: the next check would start full
+if not tokens then
+    return {capacity, now}
+end
+
+tokens = tonumber(tokens)
+lastRefillTime = tonumber(lastRefillTime) or now
+
+-- Same refill as the check script
+local refillRate = requestsPerMinute / 60000.0  -- tokens per millisecond
+tokens = math.min(capacity, tokens + (now - lastRefillTime) * refillRate)
+
+local msUntilFull = (capacity - tokens) / refillRate
+return {math.floor(tokens), math.floor(now + msUntilFull)}
@@ -0,0 +1,88 @@
+package com.project.ratelimiter.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Window rotation and max-merge of the gossip counters; this node is node 0 of three.
+ */
+class GossipCountersTest {
+
+    private static final String KEY = "rl:bucket:u:/r";
+
+    private final GossipCounters counters = new GossipCounters(3, 0);
+
+    @Test
+    void mergeKeepsMaxPerNode() {
+        counters.merge(1, KEY, 10, 5);
+        // Replayed or reordered older counts change nothing
+        counters.merge(1, KEY, 10, 3);
+        counters.merge(1, KEY, 10, 5);
+        counters.merge(2, KEY, 10, 2);
+        assertEquals(7, estimate(10, 0), 0);
+
+        counters.merge(1, KEY, 10, 8);
+        assertEquals(10, estimate(10, 0), 0);
+    }
+
+    @Test
+    void advanceMovesCurrentToPrevious() {
+        counters.merge(1, KEY, 10, 4);
+        counters.merge(1, KEY, 11, 6);
+        GossipCounters.KeyState state = counters.state(KEY, 11);
+        assertEquals(11, state.window);
+        assertEquals(6, state.current[1]);
+        assertEquals(4, state.previous[1]);
+        assertEquals(6 + 4 * 0.25, estimate(11, 0.25), 1e-9);
+
+        // A late count for the previous window still merges; one older is dropped
+        counters.merge(2, KEY, 10, 1);
+        counters.merge(2, KEY, 9, 100);
+        assertEquals(5, state.previous[1] + state.previous[2]);
+    }
+
+    @Test
+    void skippedWindowClearsBoth() {
+        counters.merge(1, KEY, 10, 4);
+        counters.merge(1, KEY, 11, 6);
+        counters.merge(2, KEY, 13, 1);
+        assertEquals(1, estimate(13, 1), 0);
+    }
+
+    @Test
+    void countsBeforeBoundaryAreStillSent() {
+        GossipCounters.KeyState state = counters.state(KEY, 10);
+        synchronized (state) {
+            state.current[0] = 3;
+            state.currentUnsent = true;
+        }
+        counters.markDirty(KEY);
+
+        List<GossipCounters.Entry> entries = counters.drainLocal(false, 11);
+        assertEquals(List.of(new GossipCounters.Entry(KEY, 10, 3)), entries);
+        assertTrue(counters.drainLocal(false, 11).isEmpty());
+        // Anti-entropy resends without new increments
+        assertEquals(entries, counters.drainLocal(true, 11));
+    }
+
+    @Test
+    void evictsKeysOutsideSlidingWindow() {
+        counters.merge(1, KEY, 10, 4);
+        counters.evictBefore(11);
+        assertEquals(1, counters.size());
+        counters.evictBefore(12);
+        assertEquals(0, counters.size());
+    }
+
+    private double estimate(long window, double previousWeight) {
+        GossipCounters.KeyState state = counters.state(KEY, window);
+        synchronized (state) {
+            state.advanceTo(window);
+            return state.estimate(previousWeight);
+        }
+    }
+}
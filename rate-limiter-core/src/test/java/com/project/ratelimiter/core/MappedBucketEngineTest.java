@@ -0,0 +1,130 @@
+package com.project.ratelimiter.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Slot lifecycle of the mapped bucket table under a hand-driven clock. With maxKeys 16 and one
+ * segment the table has 32 slots, all inside one probe window, so every key competes for them.
+ */
+class MappedBucketEngineTest {
+
+    private static final long TTL = 1000;
+    private static final int SLOTS = 32;
+
+    @TempDir
+    Path dir;
+
+    private long now = 1_000_000;
+
+    @Test
+    void reopenKeepsBuckets() throws IOException {
+        Path file = dir.resolve("buckets.dat");
+        try (MappedBucketEngine engine = engine(file, 16, 1)) {
+            assertTrue(engine.tryConsume(spec("a")).isAllowed());
+        }
+        try (MappedBucketEngine engine = engine(file, 16, 1)) {
+            assertEquals(1, engine.getOccupiedSlots());
+            assertFalse(engine.peek(spec("a")).isAllowed());
+        }
+    }
+
+    @Test
+    void layoutMismatchStartsEmpty() throws IOException {
+        Path file = dir.resolve("buckets.dat");
+        // One segment of 128 slots, then two of 64: same file size, different header
+        try (MappedBucketEngine engine = engine(file, 64, 1)) {
+            engine.tryConsume(spec("a"));
+        }
+        try (MappedBucketEngine engine = engine(file, 64, 2)) {
+            assertEquals(0, engine.getOccupiedSlots());
+            assertTrue(engine.peek(spec("a")).isAllowed());
+            engine.tryConsume(spec("a"));
+        }
+        // Different size
+        try (MappedBucketEngine engine = engine(file, 16, 1)) {
+            assertEquals(0, engine.getOccupiedSlots());
+            assertTrue(engine.peek(spec("a")).isAllowed());
+        }
+    }
+
+    @Test
+    void expiredSlotIsReused() throws IOException {
+        try (MappedBucketEngine engine = engine(dir.resolve("buckets.dat"), 16, 1)) {
+            fill(engine, "old", SLOTS);
+            now += TTL + 1;
+            assertTrue(engine.tryConsume(spec("new")).isAllowed());
+
+            assertEquals(SLOTS, engine.getOccupiedSlots());
+            assertEquals(0, engine.getForcedEvictions());
+            assertFalse(engine.peek(spec("new")).isAllowed());
+        }
+    }
+
+    @Test
+    void fullWindowEvictsLeastRecentlyUsed() throws IOException {
+        try (MappedBucketEngine engine = engine(dir.resolve("buckets.dat"), 16, 1)) {
+            fill(engine, "key", SLOTS);
+            // key0 is the oldest; touching it makes key1 the oldest
+            engine.tryConsume(spec("key0"));
+            now++;
+            engine.tryConsume(spec("new"));
+
+            assertEquals(1, engine.getForcedEvictions());
+            assertEquals(SLOTS, engine.getOccupiedSlots());
+            assertTrue(engine.peek(spec("key1")).isAllowed());
+            assertFalse(engine.peek(spec("key0")).isAllowed());
+            assertFalse(engine.peek(spec("new")).isAllowed());
+        }
+    }
+
+    @Test
+    void evictExpiredKeepsLiveChains() throws IOException {
+        try (MappedBucketEngine engine = engine(dir.resolve("buckets.dat"), 16, 1)) {
+            fill(engine, "old", 10);
+            now += TTL / 2;
+            fill(engine, "live", 10);
+            now += TTL / 2 + 1;
+
+            long evicted = engine.evictExpired();
+            assertEquals(20 - evicted, engine.getOccupiedSlots());
+            // A broken chain would end at an empty slot and show the bucket full again
+            for (int i = 0; i < 10; i++) {
+                assertFalse(engine.peek(spec("live" + i)).isAllowed());
+            }
+
+            now += TTL;
+            assertEquals(20 - evicted, engine.evictExpired());
+            assertEquals(0, engine.getOccupiedSlots());
+        }
+    }
+
+    private MappedBucketEngine engine(Path file, int maxKeys, int segments) throws IOException {
+        return new MappedBucketEngine(file, maxKeys, segments, TTL, () -> now);
+    }
+
+    // One token per bucket, spent on creation; one millisecond apart so the LRU order is known
+    private void fill(MappedBucketEngine engine, String prefix, int count) {
+        for (int i = 0; i < count; i++) {
+            assertTrue(engine.tryConsume(spec(prefix + i)).isAllowed());
+            now++;
+        }
+    }
+
+    // 1 rpm: refill over a test's few seconds stays below one token
+    private static LimitSpec spec(String userId) {
+        return LimitSpec.builder()
+                .userId(userId)
+                .resource("/r")
+                .requestsPerMinute(1)
+                .burstCapacity(1)
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.project.ratelimiter.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * POSTs to {@code /api/check-limit}: 200 allowed, 429 denied, 503 shed. The compact variant uses
+ * {@code /api/check-limit/compact} (headers only, 204 allowed).
+ */
+public class HttpTarget implements Target {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client;
+    private final URI uri;
+    private final Duration timeout;
+    private final boolean compact;
+
+    public HttpTarget(String baseUrl, Duration timeout, boolean compact) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        this.uri = URI.create(baseUrl.replaceAll("/+$", "") + (compact ? "/api/check-limit/compact" : "/api/check-limit"));
+        this.timeout = timeout;
+        this.compact = compact;
+    }
+
+    @Override
+    public Outcome check(String userId, String resource) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(
+                        MAPPER.writeValueAsBytes(Map.of("userId", userId, "resource", resource))))
+                .build();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        return switch (status) {
+            case 200, 204 -> Outcome.ALLOWED;
+            case 429 -> Outcome.DENIED;
+            case 503 -> Outcome.SHED;
+            default -> Outcome.ERROR;
+        };
+    }
+
+    @Override
+    public String name() {
+        return compact ? "compact" : "http";
+    }
+}
@@ -0,0 +1,153 @@
+package com.project.ratelimiter.loadgen;
+
+import com.project.ratelimiter.RatelimiterApplication;
+import com.project.ratelimiter.service.RateLimiterService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load generator and trace replay for the rate limiter.
+ *
+ * For every engine and target, boots the service in-process (prod profile, fresh Redis contents)
+ * against a local redis-server and embedded PostgreSQL, warms it up, then drives it open-model
+ * (see {@link OpenLoopDriver}) with the same workload and reports the runs side by side.
+ * Run from the project root after {@code mvn install -DskipTests}:
+ * <pre>
+ * mvn -pl rate-limiter-loadgen exec:java \
+ *     -Dexec.mainClass=com.project.ratelimiter.loadgen.LoadGenerator \
+ *     -Dexec.args="--engines=redis,standalone --rate=2000 --duration=30"
+ * </pre>
+ * See {@link LoadOptions#USAGE} for the options.
+ */
+public class LoadGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        Path out = Path.of(options.getOut());
+        Files.createDirectories(out);
+        OpenLoopDriver driver = new OpenLoopDriver(options.getWorkers(), TimeUnit.SECONDS.toMillis(30));
+        List<RunResult> results = new ArrayList<>();
+
+        if (options.getUrl() != null) {
+            try (Target target = new HttpTarget(options.getUrl(), Duration.ofMillis(options.getTimeoutMs()),
+                    options.getTargets().contains("compact"))) {
+                results.add(measure(driver, options, "external", target));
+            }
+        } else {
+            try (LocalStack stack = new LocalStack(options.getRedis(), options.getPostgres())) {
+                for (String engine : options.getEngines()) {
+                    for (String targetName : options.getTargets()) {
+                        results.add(runAgainstService(driver, options, stack, out, engine, targetName));
+                    }
+                }
+            }
+        }
+
+        System.out.println();
+        RunReport.print(results, System.out);
+        RunReport.write(out, options, results);
+        System.out.println("Report written to " + out.toAbsolutePath().resolve("report.json"));
+        System.exit(0);
+    }
+
+    private static RunResult runAgainstService(OpenLoopDriver driver, LoadOptions options, LocalStack stack,
+                                               Path out, String engine, String targetName) throws Exception {
+        Path bucketFile = out.resolve(engine + "-" + targetName + "-buckets.map");
+        Files.deleteIfExists(bucketFile);
+
+        Map<String, Object> properties = new LinkedHashMap<>(stack.springProperties());
+        properties.put("server.port", 0);
+        properties.put("rate-limiter.engine", engine);
+        properties.put("rate-limiter.standalone.file", bucketFile.toAbsolutePath());
+        properties.put("rate-limiter.gossip.members", "127.0.0.1:" + LocalStack.freePort());
+
+        logger.info("Starting service: engine={} target={}", engine, targetName);
+        try (ConfigurableApplicationContext context = startService(properties, options.getSpringArgs())) {
+            if (options.getRedis() == null) {
+                // Same starting point for every run (never flushes a Redis given with --redis)
+                try (RedisConnection connection = context.getBean(StringRedisTemplate.class)
+                        .getRequiredConnectionFactory().getConnection()) {
+                    connection.serverCommands().flushAll();
+                }
+            }
+
+            Target target = switch (targetName) {
+                case "service" -> new ServiceTarget(context.getBean(RateLimiterService.class));
+                case "http", "compact" -> new HttpTarget(
+                        "http://localhost:" + context.getEnvironment().getProperty("local.server.port"),
+                        Duration.ofMillis(options.getTimeoutMs()), targetName.equals("compact"));
+                default -> throw new IllegalArgumentException("Unknown target: " + targetName);
+            };
+            try (target) {
+                return measure(driver, options, engine, target);
+            }
+        } finally {
+            Files.deleteIfExists(bucketFile);
+        }
+    }
+
+    /**
+     * Boot the service in-process with the prod profile, {@code properties} and then {@code extraArgs}
+     * ({@code --name=value}) on top
+     */
+    static ConfigurableApplicationContext startService(Map<String, Object> properties, List<String> extraArgs) {
+        Map<String, Object> all = new LinkedHashMap<>();
+        // The driver warms up every run the same way instead
+        all.put("rate-limiter.warmup.enabled", false);
+        // A log line per check would measure the console
+        all.put("logging.level.com.project.ratelimiter", "WARN");
+        all.putAll(properties);
+
+        List<String> args = new ArrayList<>();
+        all.forEach((name, value) -> args.add("--" + name + "=" + value));
+        args.addAll(extraArgs);
+        return new SpringApplicationBuilder(RatelimiterApplication.class)
+                .profiles("prod")
+                .run(args.toArray(String[]::new));
+    }
+
+    private static RunResult measure(OpenLoopDriver driver, LoadOptions options, String engine, Target target) throws Exception {
+        if (options.getWarmup() > 0) {
+            logger.info("Warming up {} {} for {}s", engine, target.name(), options.getWarmup());
+            driver.run(engine, target, zipf(options, options.getSeed() + 1), TimeUnit.SECONDS.toNanos(options.getWarmup()));
+        }
+
+        Workload workload = options.getTrace() != null ?
+                new TraceWorkload(Path.of(options.getTrace()), options.getRate(), options.getSpeed()) :
+                zipf(options, options.getSeed());
+        logger.info("Measuring {} {}: {} for {}s", engine, target.name(), workload.describe(), options.getDuration());
+        RunResult result = driver.run(engine, target, workload, TimeUnit.SECONDS.toNanos(options.getDuration()));
+        logger.info("{} {}: {} completed, p99 {}ms", engine, target.name(), result.getCompleted(),
+                result.getLatency().getValueAtPercentile(99) / 1000.0);
+        return result;
+    }
+
+    private static Workload zipf(LoadOptions options, long seed) {
+        return new ZipfWorkload(options.getRate(), options.getUsers(), options.getUserSkew(),
+                options.getResources(), options.getResourceSkew(), seed);
+    }
+}
@@ -0,0 +1,104 @@
+package com.project.ratelimiter.loadgen;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Command line of {@link LoadGenerator}: {@code --name=value}. Arguments whose name contains a dot
+ * ({@code --rate-limiter.overload.enabled=true}, {@code --spring.datasource.password=...}) are
+ * handed to the service as Spring properties.
+ */
+@Data
+public class LoadOptions {
+
+    static final String USAGE = """
+            Options (--name=value):
+              --engines=redis,gossip,standalone  engines to compare (one service boot per engine and target)
+              --targets=service,http             call RateLimiterService directly and/or POST /api/check-limit
+                                                 (compact: POST /api/check-limit/compact, headers only)
+              --url=http://host:8080             measure an already running service instead (http or compact)
+              --trace=file.jsonl                 replay a JSON-lines trace instead of the Zipf mix
+              --rate=1000                        checks per second (trace: used when lines have no timestamps)
+              --speed=1                          trace replay speed factor
+              --duration=30 --warmup=5           seconds measured / seconds of unrecorded warm-up per run
+              --users=10000 --user-skew=1.1      Zipf mix: user count and exponent
+              --resources=20 --resource-skew=0.8 Zipf mix: resource count and exponent
+              --seed=42                          Zipf mix seed, identical for every run
+              --workers=64                       threads sending checks
+              --timeout-ms=2000                  HTTP request timeout
+              --redis=host:port                  use this Redis instead of starting redis-server
+              --postgres=jdbc:postgresql://...   use this database instead of an embedded PostgreSQL
+              --out=target/loadgen               report.json and one .hgrm latency distribution per run
+            """;
+
+    private List<String> engines = List.of("redis", "gossip", "standalone");
+    private List<String> targets = List.of("service", "http");
+    private String url;
+    private String trace;
+    private double rate = 1000;
+    private double speed = 1;
+    private int duration = 30;
+    private int warmup = 5;
+    private int users = 10_000;
+    private double userSkew = 1.1;
+    private int resources = 20;
+    private double resourceSkew = 0.8;
+    private long seed = 42;
+    private int workers = 64;
+    private long timeoutMs = 2000;
+    private String redis;
+    private String postgres;
+    private String out = "target/loadgen";
+    // --name=value arguments passed on to the service
+    private List<String> springArgs = new ArrayList<>();
+
+    public static LoadOptions parse(String[] args) {
+        LoadOptions options = new LoadOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            String name = eq < 0 ? arg.substring(2) : arg.substring(2, eq);
+            String value = eq < 0 ? "true" : arg.substring(eq + 1);
+            if (name.contains(".")) {
+                options.springArgs.add(arg);
+                continue;
+            }
+            switch (name) {
+                case "engines" -> options.engines = list(value);
+                case "targets" -> options.targets = list(value);
+                case "url" -> options.url = value;
+                case "trace" -> options.trace = value;
+                case "rate" -> options.rate = Double.parseDouble(value);
+                case "speed" -> options.speed = Double.parseDouble(value);
+                case "duration" -> options.duration = Integer.parseInt(value);
+                case "warmup" -> options.warmup = Integer.parseInt(value);
+                case "users" -> options.users = Integer.parseInt(value);
+                case "user-skew" -> options.userSkew = Double.parseDouble(value);
+                case "resources" -> options.resources = Integer.parseInt(value);
+                case "resource-skew" -> options.resourceSkew = Double.parseDouble(value);
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "workers" -> options.workers = Integer.parseInt(value);
+                case "timeout-ms" -> options.timeoutMs = Long.parseLong(value);
+                case "redis" -> options.redis = value;
+                case "postgres" -> options.postgres = value;
+                case "out" -> options.out = value;
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        if (options.url != null) {
+            // Engine and mode of a running service are whatever it was started with
+            options.engines = List.of("external");
+            options.targets = List.of(options.targets.contains("compact") ? "compact" : "http");
+        }
+        return options;
+    }
+
+    private static List<String> list(String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+}
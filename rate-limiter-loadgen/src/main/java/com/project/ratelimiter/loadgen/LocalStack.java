@@ -0,0 +1,85 @@
+package com.project.ratelimiter.loadgen;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Redis and PostgreSQL for the runs: a local redis-server and an embedded PostgreSQL on free ports,
+ * unless {@code --redis} / {@code --postgres} point at existing ones
+ */
+public class LocalStack implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalStack.class);
+
+    private final RedisServer redisServer;
+    private final EmbeddedPostgres postgres;
+    private final String redisHost;
+    private final int redisPort;
+    private final String jdbcUrl;
+
+    public LocalStack(String redisAddress, String postgresUrl) throws IOException {
+        if (redisAddress != null) {
+            String[] hostPort = redisAddress.split(":");
+            this.redisServer = null;
+            this.redisHost = hostPort[0];
+            this.redisPort = hostPort.length > 1 ? Integer.parseInt(hostPort[1]) : 6379;
+        } else {
+            this.redisHost = "localhost";
+            this.redisPort = freePort();
+            this.redisServer = new RedisServer(redisPort);
+            redisServer.start();
+            logger.info("Started redis-server on port {}", redisPort);
+        }
+
+        if (postgresUrl != null) {
+            this.postgres = null;
+            this.jdbcUrl = postgresUrl;
+        } else {
+            this.postgres = EmbeddedPostgres.start();
+            this.jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+            logger.info("Started embedded PostgreSQL on port {}", postgres.getPort());
+        }
+    }
+
+    public String getRedisHost() {
+        return redisHost;
+    }
+
+    public int getRedisPort() {
+        return redisPort;
+    }
+
+    /**
+     * Spring properties pointing the service at this stack
+     */
+    public Map<String, Object> springProperties() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.data.redis.host", redisHost);
+        properties.put("spring.data.redis.port", redisPort);
+        properties.put("spring.datasource.url", jdbcUrl);
+        return properties;
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+}
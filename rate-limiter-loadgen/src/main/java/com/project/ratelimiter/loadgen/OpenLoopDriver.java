@@ -0,0 +1,110 @@
+package com.project.ratelimiter.loadgen;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model driver: checks are dispatched at the workload's due times whatever the target's
+ * response time, and latency is measured from the due time, not from when a worker got to send.
+ *
+ * A closed loop (N threads, send-wait-send) slows down with the target and never sends the checks
+ * that would have hit a stall, so its percentiles hide the stall (coordinated omission). Here a
+ * stall leaves checks queued for a worker, and each of them is recorded with the time it waited.
+ */
+public class OpenLoopDriver {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenLoopDriver.class);
+
+    private final int workers;
+    private final long drainTimeoutMillis;
+
+    public OpenLoopDriver(int workers, long drainTimeoutMillis) {
+        this.workers = workers;
+        this.drainTimeoutMillis = drainTimeoutMillis;
+    }
+
+    /**
+     * Send {@code workload} to {@code target} until it is exhausted or {@code durationNanos} passed
+     */
+    public RunResult run(String engine, Target target, Workload workload, long durationNanos) throws InterruptedException {
+        Histogram latency = new ConcurrentHistogram(3);
+        Histogram serviceTime = new ConcurrentHistogram(3);
+        LongAdder allowed = new LongAdder();
+        LongAdder denied = new LongAdder();
+        LongAdder shed = new LongAdder();
+        LongAdder errors = new LongAdder();
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "loadgen-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long sent = 0;
+        long lastOffset = 0;
+        long start = System.nanoTime();
+        Workload.Request request;
+        while ((request = workload.next()) != null && request.getOffsetNanos() < durationNanos) {
+            long due = start + request.getOffsetNanos();
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            String userId = request.getUserId();
+            String resource = request.getResource();
+            pool.execute(() -> {
+                long begin = System.nanoTime();
+                Target.Outcome outcome;
+                try {
+                    outcome = target.check(userId, resource);
+                } catch (Exception e) {
+                    logger.debug("Check failed for user={} resource={}: {}", userId, resource, e.toString());
+                    outcome = Target.Outcome.ERROR;
+                }
+                long end = System.nanoTime();
+                latency.recordValue(Math.max(0, end - due) / 1000);
+                serviceTime.recordValue((end - begin) / 1000);
+                switch (outcome) {
+                    case ALLOWED -> allowed.increment();
+                    case DENIED -> denied.increment();
+                    case SHED -> shed.increment();
+                    default -> errors.increment();
+                }
+            });
+            sent++;
+            lastOffset = request.getOffsetNanos();
+        }
+
+        pool.shutdown();
+        if (!pool.awaitTermination(drainTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            // Unfinished checks are reported as sent but not completed
+            logger.warn("{} {}: checks still running after {}ms, abandoning them", engine, target.name(), drainTimeoutMillis);
+            pool.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return RunResult.builder()
+                .engine(engine)
+                .target(target.name())
+                .workload(workload.describe())
+                .offeredRate(sent > 1 && lastOffset > 0 ? (sent - 1) * 1e9 / lastOffset : 0)
+                .elapsedNanos(elapsed)
+                .sent(sent)
+                .allowed(allowed.sum())
+                .denied(denied.sum())
+                .shed(shed.sum())
+                .errors(errors.sum())
+                .latency(latency)
+                .serviceTime(serviceTime)
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.project.ratelimiter.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Side-by-side report of the runs: a console table, {@code report.json} and one HdrHistogram
+ * percentile distribution ({@code <engine>-<target>.hgrm}, milliseconds) per run, which plot
+ * together in the HdrHistogram plotter
+ */
+public final class RunReport {
+
+    private RunReport() {
+    }
+
+    public static void print(List<RunResult> results, PrintStream out) {
+        out.printf("%-11s %-8s %9s %9s %8s %6s %7s %8s %8s %8s %9s %8s %10s%n",
+                "engine", "target", "offered/s", "done/s", "allowed", "shed", "errors",
+                "p50_ms", "p90_ms", "p99_ms", "p99.9_ms", "max_ms", "svc_p99_ms");
+        for (RunResult result : results) {
+            long completed = Math.max(1, result.getCompleted());
+            out.printf("%-11s %-8s %9.0f %9.0f %7.1f%% %5.1f%% %7d %8.2f %8.2f %8.2f %9.2f %8.2f %10.2f%n",
+                    result.getEngine(), result.getTarget(), result.getOfferedRate(), result.getThroughput(),
+                    100.0 * result.getAllowed() / completed, 100.0 * result.getShed() / completed,
+                    result.getErrors() + (result.getSent() - result.getCompleted()),
+                    millis(result.getLatency().getValueAtPercentile(50)),
+                    millis(result.getLatency().getValueAtPercentile(90)),
+                    millis(result.getLatency().getValueAtPercentile(99)),
+                    millis(result.getLatency().getValueAtPercentile(99.9)),
+                    millis(result.getLatency().getMaxValue()),
+                    millis(result.getServiceTime().getValueAtPercentile(99)));
+        }
+    }
+
+    public static void write(Path directory, LoadOptions options, List<RunResult> results) throws IOException {
+        Files.createDirectories(directory);
+        for (RunResult result : results) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(result.getLabel() + ".hgrm")))) {
+                result.getLatency().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("durationSeconds", options.getDuration());
+        report.put("warmupSeconds", options.getWarmup());
+        report.put("workers", options.getWorkers());
+        report.put("springArgs", options.getSpringArgs());
+        report.put("runs", results.stream().map(RunResult::toMap).toList());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("report.json").toFile(), report);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
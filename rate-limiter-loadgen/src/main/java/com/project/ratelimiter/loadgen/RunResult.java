@@ -0,0 +1,73 @@
+package com.project.ratelimiter.loadgen;
+
+import lombok.Builder;
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Outcome of one run: counts and latency histograms (microseconds)
+ */
+@Value
+@Builder
+public class RunResult {
+
+    String engine;
+    String target;
+    String workload;
+    // Offered load, checks per second, from the due times of the checks sent
+    double offeredRate;
+    long elapsedNanos;
+    long sent;
+    long allowed;
+    long denied;
+    long shed;
+    long errors;
+    // Due time -> response: includes time spent queued behind slow checks
+    Histogram latency;
+    // Actual send -> response: what a closed-loop tool would report
+    Histogram serviceTime;
+
+    public long getCompleted() {
+        return allowed + denied + shed + errors;
+    }
+
+    public double getThroughput() {
+        return getCompleted() / (elapsedNanos / 1e9);
+    }
+
+    public String getLabel() {
+        return engine + "-" + target;
+    }
+
+    Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("engine", engine);
+        map.put("target", target);
+        map.put("workload", workload);
+        map.put("offeredRate", offeredRate);
+        map.put("elapsedSeconds", elapsedNanos / 1e9);
+        map.put("sent", sent);
+        map.put("completed", getCompleted());
+        map.put("allowed", allowed);
+        map.put("denied", denied);
+        map.put("shed", shed);
+        map.put("errors", errors);
+        map.put("throughput", getThroughput());
+        map.put("latencyMillis", percentiles(latency));
+        map.put("serviceTimeMillis", percentiles(serviceTime));
+        return map;
+    }
+
+    private static Map<String, Double> percentiles(Histogram histogram) {
+        Map<String, Double> map = new LinkedHashMap<>();
+        map.put("p50", histogram.getValueAtPercentile(50) / 1000.0);
+        map.put("p90", histogram.getValueAtPercentile(90) / 1000.0);
+        map.put("p99", histogram.getValueAtPercentile(99) / 1000.0);
+        map.put("p99.9", histogram.getValueAtPercentile(99.9) / 1000.0);
+        map.put("max", histogram.getMaxValue() / 1000.0);
+        return map;
+    }
+}
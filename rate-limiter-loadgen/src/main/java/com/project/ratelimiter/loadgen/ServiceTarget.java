@@ -0,0 +1,26 @@
+package com.project.ratelimiter.loadgen;
+
+import com.project.ratelimiter.service.RateLimiterService;
+
+/**
+ * Calls {@link RateLimiterService#allowRequest} directly: the engine alone, without HTTP, the
+ * overload limiter or the fair queue in front of it
+ */
+public class ServiceTarget implements Target {
+
+    private final RateLimiterService service;
+
+    public ServiceTarget(RateLimiterService service) {
+        this.service = service;
+    }
+
+    @Override
+    public Outcome check(String userId, String resource) {
+        return service.allowRequest(userId, resource).isAllowed() ? Outcome.ALLOWED : Outcome.DENIED;
+    }
+
+    @Override
+    public String name() {
+        return "service";
+    }
+}
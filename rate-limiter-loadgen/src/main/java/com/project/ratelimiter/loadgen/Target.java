@@ -0,0 +1,23 @@
+package com.project.ratelimiter.loadgen;
+
+/**
+ * Where checks are sent: the REST endpoint or the service bean
+ */
+public interface Target extends AutoCloseable {
+
+    enum Outcome {
+        ALLOWED,
+        DENIED,
+        // 503 from the overload limiter / fair queue (HTTP only)
+        SHED,
+        ERROR
+    }
+
+    Outcome check(String userId, String resource) throws Exception;
+
+    String name();
+
+    @Override
+    default void close() {
+    }
+}
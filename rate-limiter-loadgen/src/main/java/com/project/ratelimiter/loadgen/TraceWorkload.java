@@ -0,0 +1,93 @@
+package com.project.ratelimiter.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Replays a JSON-lines trace, one check per line:
+ * <pre>
+ * {"userId":"user-1","resource":"api/orders","timestampMillis":1718000000123}
+ * </pre>
+ * The decision stream's short names ({@code u}, {@code r}, {@code ts}) are accepted too, so a dump
+ * of {@code rl_events:decisions} replays as is. With timestamps, checks are sent at their recorded
+ * spacing divided by {@code speed}; without, at a constant {@code rate}.
+ */
+public class TraceWorkload implements Workload {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path path;
+    private final BufferedReader reader;
+    private final double rate;
+    private final double speed;
+    private long firstTimestamp = -1;
+    private long index;
+    private long lineNumber;
+
+    public TraceWorkload(Path path, double rate, double speed) throws IOException {
+        if (speed <= 0) {
+            throw new IllegalArgumentException("Replay speed must be positive: " + speed);
+        }
+        this.path = path;
+        this.reader = Files.newBufferedReader(path);
+        this.rate = rate;
+        this.speed = speed;
+    }
+
+    @Override
+    public Request next() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    return parse(line);
+                }
+            }
+            reader.close();
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read trace " + path, e);
+        }
+    }
+
+    private Request parse(String line) throws IOException {
+        JsonNode node = MAPPER.readTree(line);
+        String userId = text(node, "userId", "u");
+        String resource = text(node, "resource", "r");
+        if (resource == null) {
+            throw new IllegalArgumentException(path + ":" + lineNumber + ": resource is required");
+        }
+        String timestamp = text(node, "timestampMillis", "ts");
+
+        long offset;
+        if (timestamp != null) {
+            long millis = Long.parseLong(timestamp);
+            if (firstTimestamp < 0) {
+                firstTimestamp = millis;
+            }
+            offset = (long) (Math.max(0, millis - firstTimestamp) * 1_000_000.0 / speed);
+        } else {
+            offset = (long) (index * 1_000_000_000.0 / rate);
+        }
+        index++;
+        return new Request(offset, userId != null ? userId : "anonymous", resource);
+    }
+
+    private static String text(JsonNode node, String name, String shortName) {
+        JsonNode value = node.hasNonNull(name) ? node.get(name) : node.get(shortName);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    @Override
+    public String describe() {
+        return "trace(" + path.getFileName() + (speed != 1 ? ", x" + speed : "") + ")";
+    }
+}
@@ -0,0 +1,24 @@
+package com.project.ratelimiter.loadgen;
+
+import lombok.Value;
+
+/**
+ * Sequence of checks to send, each with the time it is due relative to the start of the run
+ */
+public interface Workload {
+
+    @Value
+    class Request {
+        // Due time, relative to the start of the run
+        long offsetNanos;
+        String userId;
+        String resource;
+    }
+
+    /**
+     * Next check, or null when the workload is exhausted
+     */
+    Request next();
+
+    String describe();
+}
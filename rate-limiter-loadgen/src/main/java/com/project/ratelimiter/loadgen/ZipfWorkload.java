@@ -0,0 +1,81 @@
+package com.project.ratelimiter.loadgen;
+
+import java.util.Random;
+
+/**
+ * Synthetic traffic at a constant arrival rate: users and resources are drawn from Zipf
+ * distributions, so a few hot users / resources get most checks, as in production.
+ *
+ * Seeded, so every engine and mode is measured against the same sequence of checks.
+ */
+public class ZipfWorkload implements Workload {
+
+    private final double rate;
+    private final Zipf users;
+    private final Zipf resources;
+    private final Random random;
+    private final String description;
+    private long index;
+
+    public ZipfWorkload(double rate, int userCount, double userSkew,
+                        int resourceCount, double resourceSkew, long seed) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + rate);
+        }
+        this.rate = rate;
+        this.users = new Zipf(userCount, userSkew);
+        this.resources = new Zipf(resourceCount, resourceSkew);
+        this.random = new Random(seed);
+        this.description = String.format("zipf(users=%d s=%.2f, resources=%d s=%.2f)",
+                userCount, userSkew, resourceCount, resourceSkew);
+    }
+
+    @Override
+    public Request next() {
+        long offset = (long) (index++ * 1_000_000_000.0 / rate);
+        return new Request(offset,
+                "user-" + users.sample(random.nextDouble()),
+                "api/resource-" + resources.sample(random.nextDouble()));
+    }
+
+    @Override
+    public String describe() {
+        return description;
+    }
+
+    /**
+     * Rank 1..n with P(k) proportional to 1/k^s, sampled by binary search over the CDF
+     */
+    static final class Zipf {
+        private final double[] cdf;
+
+        Zipf(int n, double s) {
+            if (n < 1) {
+                throw new IllegalArgumentException("Zipf needs at least one element: " + n);
+            }
+            cdf = new double[n];
+            double sum = 0;
+            for (int k = 1; k <= n; k++) {
+                sum += 1.0 / Math.pow(k, s);
+                cdf[k - 1] = sum;
+            }
+            for (int i = 0; i < n; i++) {
+                cdf[i] /= sum;
+            }
+        }
+
+        int sample(double u) {
+            int lo = 0;
+            int hi = cdf.length - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (cdf[mid] < u) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo + 1;
+        }
+    }
+}
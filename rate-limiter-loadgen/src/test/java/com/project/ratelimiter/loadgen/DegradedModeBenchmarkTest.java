@@ -0,0 +1,162 @@
+package com.project.ratelimiter.loadgen;
+
+import com.project.ratelimiter.health.DependencyHealthMonitor;
+import com.project.ratelimiter.service.RateLimiterService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency and error rate of {@code TokenBucketRateLimiter} while Redis misbehaves, through a
+ * {@link FaultProxy}: the Lua-failure fallback, the 2000ms command timeout, the prober switching
+ * to the local buckets, and recovery.
+ *
+ * Slow, so only in the degraded-bench profile:
+ * <pre>
+ * mvn install -DskipTests
+ * mvn -pl rate-limiter-loadgen -Pdegraded-bench test
+ * </pre>
+ * Each scenario drives the service open-model at -Dbench.rate checks/s for -Dbench.seconds and
+ * fails when its p99 (from the due time, ms) or error rate exceeds the budget. Budgets are
+ * -Dbench.&lt;scenario&gt;.p99Ms and -Dbench.maxErrorRate. The table and one .hgrm per scenario
+ * go to target/degraded-bench.
+ */
+@Tag("degraded")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class DegradedModeBenchmarkTest {
+
+    private static final int RATE = Integer.getInteger("bench.rate", 200);
+    private static final int SECONDS = Integer.getInteger("bench.seconds", 10);
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("bench.maxErrorRate", "0"));
+
+    private static LocalStack stack;
+    private static FaultProxy proxy;
+    private static ConfigurableApplicationContext context;
+    private static Target target;
+    private static OpenLoopDriver driver;
+    private static final List<RunResult> results = new ArrayList<>();
+
+    @BeforeAll
+    static void start() throws Exception {
+        stack = new LocalStack(null, null);
+        proxy = new FaultProxy(stack.getRedisHost(), stack.getRedisPort());
+
+        Map<String, Object> properties = new LinkedHashMap<>(stack.springProperties());
+        properties.put("spring.data.redis.host", "127.0.0.1");
+        properties.put("spring.data.redis.port", proxy.getPort());
+        properties.put("server.port", 0);
+        properties.put("rate-limiter.engine", "redis");
+        // Thousands of Zipf users: keep most checks allowed so the scenarios compare the same work
+        properties.put("rate-limiter.default.requests-per-minute", 600);
+        context = LoadGenerator.startService(properties, List.of());
+        target = new ServiceTarget(context.getBean(RateLimiterService.class));
+        driver = new OpenLoopDriver(64, TimeUnit.SECONDS.toMillis(30));
+
+        driver.run("redis", target, workload(1), TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @AfterAll
+    static void stop() throws Exception {
+        if (!results.isEmpty()) {
+            System.out.println();
+            RunReport.print(results, System.out);
+            LoadOptions options = new LoadOptions();
+            options.setDuration(SECONDS);
+            RunReport.write(Path.of("target/degraded-bench"), options, results);
+        }
+        if (context != null) {
+            context.close();
+        }
+        if (proxy != null) {
+            proxy.close();
+        }
+        if (stack != null) {
+            stack.close();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void baseline() throws Exception {
+        scenario("baseline", List.of(), 50);
+    }
+
+    @Test
+    @Order(2)
+    void latencyWithJitter() throws Exception {
+        scenario("latency", List.of(new FaultProxy.Phase(0, FaultProxy.Fault.builder()
+                .name("15-25ms each way").latencyMillis(15).jitterMillis(10).build())), 200);
+    }
+
+    @Test
+    @Order(3)
+    void slowerThanCommandTimeout() throws Exception {
+        // Every command times out (2000ms) until the prober marks Redis down, then local buckets answer
+        scenario("timeout", List.of(new FaultProxy.Phase(0, FaultProxy.Fault.builder()
+                .name("3000ms").latencyMillis(3000).build())), 5000);
+    }
+
+    @Test
+    @Order(4)
+    void connectionResets() throws Exception {
+        scenario("resets", List.of(new FaultProxy.Phase(0, FaultProxy.Fault.builder()
+                .name("reset 1%").resetProbability(0.01).build())), 500);
+    }
+
+    @Test
+    @Order(5)
+    void blackholeThenRecovery() throws Exception {
+        long third = TimeUnit.SECONDS.toMillis(SECONDS) / 3;
+        scenario("blackhole", List.of(
+                new FaultProxy.Phase(third, FaultProxy.Fault.builder().name("blackhole").blackhole(true).build()),
+                new FaultProxy.Phase(2 * third, FaultProxy.Fault.NONE)), 5000);
+    }
+
+    private void scenario(String name, List<FaultProxy.Phase> phases, long defaultP99Millis) throws Exception {
+        awaitRedisUp();
+        proxy.play(phases);
+        RunResult result;
+        try {
+            result = driver.run(name, target, workload(0), TimeUnit.SECONDS.toNanos(SECONDS));
+        } finally {
+            proxy.play(List.of());
+            proxy.setFault(FaultProxy.Fault.NONE);
+        }
+        results.add(result);
+
+        long p99Budget = Long.getLong("bench." + name + ".p99Ms", defaultP99Millis);
+        double p99 = result.getLatency().getValueAtPercentile(99) / 1000.0;
+        double errorRate = (double) (result.getErrors() + result.getSent() - result.getCompleted())
+                / Math.max(1, result.getSent());
+        assertThat(p99).as("%s p99 ms", name).isLessThanOrEqualTo(p99Budget);
+        assertThat(errorRate).as("%s error rate", name).isLessThanOrEqualTo(MAX_ERROR_RATE);
+    }
+
+    // The previous scenario may have left the prober in the down state
+    private static void awaitRedisUp() throws InterruptedException {
+        DependencyHealthMonitor monitor = context.getBean(DependencyHealthMonitor.class);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (monitor.isRedisDown() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(monitor.isRedisDown()).as("Redis back up before the next scenario").isFalse();
+    }
+
+    private static Workload workload(long seed) {
+        return new ZipfWorkload(RATE, 10_000, 1.1, 20, 0.8, 42 + seed);
+    }
+}
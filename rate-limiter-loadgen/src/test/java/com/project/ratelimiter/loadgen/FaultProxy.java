@@ -0,0 +1,223 @@
+package com.project.ratelimiter.loadgen;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * TCP proxy between the service and Redis that injects faults: latency with jitter, connection
+ * resets and blackholes, switched at runtime or played as a schedule of phases.
+ *
+ * Each direction of a connection has a reader, which stamps every chunk with the time it may be
+ * delivered, and a writer, which delivers chunks in order once due. Delays therefore apply per
+ * chunk rather than adding up for pipelined commands on Lettuce's shared connection. A blackhole
+ * holds data instead of dropping it, as TCP would keep retransmitting through a partition, so the
+ * held commands arrive (late) once it lifts.
+ */
+public class FaultProxy implements AutoCloseable {
+
+    @Value
+    @Builder(toBuilder = true)
+    public static class Fault {
+        public static final Fault NONE = Fault.builder().name("none").build();
+
+        String name;
+        // Added to every chunk, each direction
+        long latencyMillis;
+        // Uniform 0..jitter added on top of the latency
+        long jitterMillis;
+        // Chance per chunk that the connection is reset (RST both sides)
+        double resetProbability;
+        // Nothing is delivered while set
+        boolean blackhole;
+    }
+
+    @Value
+    public static class Phase {
+        // From the start of the schedule
+        long atMillis;
+        Fault fault;
+    }
+
+    private static final byte[] EOF = new byte[0];
+
+    private final String upstreamHost;
+    private final int upstreamPort;
+    private final ServerSocket server;
+    private final ExecutorService threads = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "fault-proxy");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fault-proxy-schedule");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+    private final List<ScheduledFuture<?>> scheduled = new ArrayList<>();
+    private final Object blackholeLock = new Object();
+    private volatile Fault fault = Fault.NONE;
+
+    public FaultProxy(String upstreamHost, int upstreamPort) throws IOException {
+        this.upstreamHost = upstreamHost;
+        this.upstreamPort = upstreamPort;
+        this.server = new ServerSocket(0, 128, InetAddress.getLoopbackAddress());
+        threads.execute(this::acceptLoop);
+    }
+
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    public Fault getFault() {
+        return fault;
+    }
+
+    public void setFault(Fault fault) {
+        this.fault = fault;
+        synchronized (blackholeLock) {
+            blackholeLock.notifyAll();
+        }
+    }
+
+    /**
+     * Apply each phase's fault at its offset from now, replacing any schedule still playing
+     */
+    public synchronized void play(List<Phase> phases) {
+        scheduled.forEach(future -> future.cancel(false));
+        scheduled.clear();
+        for (Phase phase : phases) {
+            scheduled.add(scheduler.schedule(() -> setFault(phase.getFault()), phase.getAtMillis(), TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private void acceptLoop() {
+        while (!server.isClosed()) {
+            try {
+                Socket client = server.accept();
+                Socket upstream = new Socket(upstreamHost, upstreamPort);
+                client.setTcpNoDelay(true);
+                upstream.setTcpNoDelay(true);
+                sockets.add(client);
+                sockets.add(upstream);
+                pipe(client, upstream);
+                pipe(upstream, client);
+            } catch (IOException e) {
+                // Closed, or upstream refused the connection: the client sees its socket closed
+            }
+        }
+    }
+
+    private void pipe(Socket from, Socket to) {
+        BlockingQueue<Chunk> queue = new LinkedBlockingQueue<>();
+        threads.execute(() -> read(from, to, queue));
+        threads.execute(() -> write(from, to, queue));
+    }
+
+    private record Chunk(long dueNanos, byte[] data) {
+    }
+
+    private void read(Socket from, Socket to, BlockingQueue<Chunk> queue) {
+        byte[] buffer = new byte[16 * 1024];
+        long lastDue = 0;
+        try (InputStream in = from.getInputStream()) {
+            int n;
+            while ((n = in.read(buffer)) >= 0) {
+                Fault current = fault;
+                if (current.getResetProbability() > 0 && ThreadLocalRandom.current().nextDouble() < current.getResetProbability()) {
+                    reset(from, to);
+                    break;
+                }
+                long delay = TimeUnit.MILLISECONDS.toNanos(current.getLatencyMillis()
+                        + (current.getJitterMillis() > 0 ? ThreadLocalRandom.current().nextLong(current.getJitterMillis() + 1) : 0));
+                // Jitter must not reorder a byte stream
+                lastDue = Math.max(lastDue, System.nanoTime() + delay);
+                queue.add(new Chunk(lastDue, Arrays.copyOf(buffer, n)));
+            }
+        } catch (IOException e) {
+            // Reset or closed: the writer side finishes with EOF
+        }
+        queue.add(new Chunk(0, EOF));
+    }
+
+    private void write(Socket from, Socket to, BlockingQueue<Chunk> queue) {
+        try {
+            OutputStream out = to.getOutputStream();
+            while (true) {
+                Chunk chunk = queue.take();
+                if (chunk.data() == EOF) {
+                    to.shutdownOutput();
+                    return;
+                }
+                long wait;
+                while ((wait = chunk.dueNanos() - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                synchronized (blackholeLock) {
+                    while (fault.isBlackhole()) {
+                        blackholeLock.wait();
+                    }
+                }
+                out.write(chunk.data());
+                out.flush();
+            }
+        } catch (IOException e) {
+            closeQuietly(from);
+            closeQuietly(to);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void reset(Socket a, Socket b) {
+        for (Socket socket : new Socket[]{a, b}) {
+            try {
+                // Linger 0: close sends RST instead of FIN
+                socket.setSoLinger(true, 0);
+            } catch (SocketException e) {
+                // Already closed
+            }
+            closeQuietly(socket);
+        }
+    }
+
+    private void closeQuietly(Socket socket) {
+        sockets.remove(socket);
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Nothing left to do
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdownNow();
+        server.close();
+        sockets.forEach(this::closeQuietly);
+        setFault(Fault.NONE);
+        threads.shutdownNow();
+    }
+}
@@ -0,0 +1,114 @@
+package com.project.ratelimiter.loadgen.bench;
+
+import com.project.ratelimiter.core.BucketKeys;
+import com.project.ratelimiter.core.CountMinSketchEngine;
+import com.project.ratelimiter.core.Decision;
+import com.project.ratelimiter.starter.StringRedisScriptExecutor;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accuracy and throughput of the per-IP Count-Min Sketch limiter against a local Redis.
+ *
+ * Not a unit test - run manually:
+ * <pre>
+ * mvn -pl rate-limiter-loadgen -am test-compile
+ * mvn -pl rate-limiter-loadgen exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.project.ratelimiter.loadgen.bench.CountMinSketchBenchmark
+ * </pre>
+ * Within one window, -Dbench.ips distinct IPs send -Dbench.requests requests each (below the
+ * limit, so every denial is a false positive), and -Dbench.heavy IPs send 10x the limit (each
+ * must be allowed exactly limit times). Prints the observed false-positive rate next to the
+ * epsilon * N / delta bound for the configured sketch.
+ */
+public class CountMinSketchBenchmark {
+
+    private static final int THREADS = Integer.getInteger("bench.threads", 16);
+    private static final int IPS = Integer.getInteger("bench.ips", 200_000);
+    private static final int REQUESTS = Integer.getInteger("bench.requests", 3);
+    private static final int HEAVY = Integer.getInteger("bench.heavy", 100);
+    private static final int LIMIT = Integer.getInteger("bench.limit", 5);
+    private static final int DEPTH = Integer.getInteger("bench.depth", 4);
+    private static final int WIDTH = Integer.getInteger("bench.width", 65536);
+    private static final long WINDOW_MS = 3_600_000;
+
+    public static void main(String[] args) throws Exception {
+        String redis = System.getProperty("bench.redis");
+
+        RedisServer embedded = null;
+        String host = "localhost";
+        int port = 6390;
+        if (redis == null) {
+            embedded = new RedisServer(port);
+            embedded.start();
+        } else {
+            host = redis.split(":")[0];
+            port = Integer.parseInt(redis.split(":")[1]);
+        }
+
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port));
+        connectionFactory.afterPropertiesSet();
+        try {
+            // Fixed clock at the start of a fresh window: no carry-over from a previous one
+            long windowStart = (System.currentTimeMillis() / WINDOW_MS + 1) * WINDOW_MS;
+            CountMinSketchEngine engine = new CountMinSketchEngine(
+                    new StringRedisScriptExecutor(new StringRedisTemplate(connectionFactory)),
+                    DEPTH, WIDTH, WINDOW_MS, System.nanoTime(), () -> windowStart);
+            String resource = "/bench/sketch-" + System.nanoTime();
+
+            AtomicLong falsePositives = new AtomicLong();
+            AtomicLong heavyAllowed = new AtomicLong();
+            AtomicLong calls = new AtomicLong();
+            CountDownLatch done = new CountDownLatch(THREADS);
+
+            long start = System.nanoTime();
+            for (int t = 0; t < THREADS; t++) {
+                final int thread = t;
+                new Thread(() -> {
+                    for (int ip = thread; ip < IPS + HEAVY; ip += THREADS) {
+                        boolean heavy = ip >= IPS;
+                        String client = (heavy ? "10.255." : "10.0.") + (ip >> 8) + "." + (ip & 0xff);
+                        int requests = heavy ? LIMIT * 10 : REQUESTS;
+                        for (int r = 0; r < requests; r++) {
+                            Decision decision = engine.tryAcquire(resource, client, LIMIT);
+                            calls.incrementAndGet();
+                            if (heavy && decision.isAllowed()) {
+                                heavyAllowed.incrementAndGet();
+                            } else if (!heavy && !decision.isAllowed()) {
+                                falsePositives.incrementAndGet();
+                            }
+                        }
+                    }
+                    done.countDown();
+                }, "bench-" + t).start();
+            }
+            done.await();
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            long counted = (long) IPS * REQUESTS + (long) HEAVY * LIMIT;
+            double epsilon = Math.E / WIDTH;
+            System.out.printf("sketch   depth=%d width=%d (%,d bytes per window), limit=%d%n",
+                    DEPTH, WIDTH, engine.sketchBytes(), LIMIT);
+            System.out.printf("bound    overcount <= e/width * N = %.1f with probability >= %.4f (N=%,d)%n",
+                    epsilon * counted, 1 - Math.exp(-DEPTH), counted);
+            System.out.printf("light    %,d IPs x %d requests: %,d wrongly denied (%.4f%% of requests)%n",
+                    IPS, REQUESTS, falsePositives.get(), falsePositives.get() * 100.0 / ((long) IPS * REQUESTS));
+            System.out.printf("heavy    %,d IPs x %d requests: %,d allowed (exact would be %,d)%n",
+                    HEAVY, LIMIT * 10, heavyAllowed.get(), (long) HEAVY * LIMIT);
+            System.out.printf("checks   %,10.0f ops/s  (%d threads)%n", calls.get() / seconds, THREADS);
+
+            new StringRedisTemplate(connectionFactory).delete(List.of(BucketKeys.sketch(resource, windowStart / WINDOW_MS)));
+        } finally {
+            connectionFactory.destroy();
+            if (embedded != null) {
+                embedded.stop();
+            }
+        }
+    }
+}
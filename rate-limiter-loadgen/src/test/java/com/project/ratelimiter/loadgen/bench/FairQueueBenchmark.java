@@ -0,0 +1,142 @@
+package com.project.ratelimiter.loadgen.bench;
+
+import com.project.ratelimiter.core.WeightedFairScheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-tier latency when the backend slows down, without and with the weighted fair queue.
+ *
+ * Not a unit test - run manually:
+ * <pre>
+ * mvn -pl rate-limiter-loadgen -am test-compile
+ * mvn -pl rate-limiter-loadgen exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.project.ratelimiter.loadgen.bench.FairQueueBenchmark
+ * </pre>
+ * The backend serves -Dbench.capacity checks at once (think Redis connections) and takes
+ * -Dbench.serviceMs per check; later callers wait for it. -Dbench.free closed-loop threads flood
+ * as the free tier, -Dbench.enterprise threads send one enterprise check every 20ms. Each run
+ * lasts -Dbench.seconds; the service time is multiplied by -Dbench.slowdown for the second half.
+ * Prints p50/p99 of completed checks and the share dropped, per tier and phase.
+ */
+public class FairQueueBenchmark {
+
+    private static final int CAPACITY = Integer.getInteger("bench.capacity", 8);
+    private static final int SERVICE_MS = Integer.getInteger("bench.serviceMs", 2);
+    private static final int SLOWDOWN = Integer.getInteger("bench.slowdown", 5);
+    private static final int FREE_THREADS = Integer.getInteger("bench.free", 100);
+    private static final int ENTERPRISE_THREADS = Integer.getInteger("bench.enterprise", 8);
+    private static final int SECONDS = Integer.getInteger("bench.seconds", 10);
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("capacity %d, service %dms (x%d when slow), %d free / %d enterprise threads%n",
+                CAPACITY, SERVICE_MS, SLOWDOWN, FREE_THREADS, ENTERPRISE_THREADS);
+        System.out.printf("%-6s %-10s %-6s %10s %10s %10s %9s%n",
+                "queue", "tier", "phase", "completed", "p50_ms", "p99_ms", "dropped");
+        run("none", null);
+        run("fair", new WeightedFairScheduler(CAPACITY, 200,
+                Map.of("free", new WeightedFairScheduler.TierClass(1, 100),
+                        "enterprise", new WeightedFairScheduler.TierClass(16, 1000)),
+                new WeightedFairScheduler.TierClass(1, 100)));
+    }
+
+    private static void run(String name, WeightedFairScheduler scheduler) throws InterruptedException {
+        Semaphore backend = new Semaphore(CAPACITY, true);
+        Tier free = new Tier("free");
+        Tier enterprise = new Tier("enterprise");
+        long started = System.nanoTime();
+        long slowFrom = started + SECONDS * 500_000_000L;
+        long endAt = started + SECONDS * 1_000_000_000L;
+
+        CountDownLatch done = new CountDownLatch(FREE_THREADS + ENTERPRISE_THREADS);
+        for (int t = 0; t < FREE_THREADS + ENTERPRISE_THREADS; t++) {
+            boolean isFree = t < FREE_THREADS;
+            new Thread(() -> {
+                Tier tier = isFree ? free : enterprise;
+                long next = System.nanoTime();
+                while (System.nanoTime() < endAt) {
+                    if (!isFree) {
+                        next += 20_000_000L;
+                        long sleep = next - System.nanoTime();
+                        if (sleep > 0) {
+                            sleepNanos(sleep);
+                        }
+                    }
+                    long begin = System.nanoTime();
+                    boolean slow = begin >= slowFrom;
+                    try {
+                        WeightedFairScheduler.Slot slot = scheduler == null ? null : scheduler.acquire(tier.name);
+                        if (slot != null && !slot.isGranted()) {
+                            tier.dropped[slow ? 1 : 0].increment();
+                            // A shed client backs off instead of retrying in a hot loop
+                            sleepNanos(1_000_000L);
+                            continue;
+                        }
+                        backend.acquireUninterruptibly();
+                        try {
+                            sleepNanos((slow ? SLOWDOWN : 1) * SERVICE_MS * 1_000_000L);
+                        } finally {
+                            backend.release();
+                            if (slot != null) {
+                                slot.release();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                    tier.latencies.get(slow ? 1 : 0).add(System.nanoTime() - begin);
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+
+        for (Tier tier : List.of(enterprise, free)) {
+            for (int phase = 0; phase < 2; phase++) {
+                List<Long> latencies = tier.latencies.get(phase);
+                long dropped = tier.dropped[phase].sum();
+                System.out.printf("%-6s %-10s %-6s %,10d %10.1f %10.1f %8.1f%%%n",
+                        name, tier.name, phase == 0 ? "normal" : "slow", latencies.size(),
+                        percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6,
+                        100.0 * dropped / Math.max(1, dropped + latencies.size()));
+            }
+        }
+    }
+
+    private static final class Tier {
+        final String name;
+        final List<List<Long>> latencies = List.of(
+                Collections.synchronizedList(new ArrayList<>()),
+                Collections.synchronizedList(new ArrayList<>()));
+        final LongAdder[] dropped = {new LongAdder(), new LongAdder()};
+
+        Tier(String name) {
+            this.name = name;
+        }
+    }
+
+    private static void sleepNanos(long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000L, (int) (nanos % 1_000_000L));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long percentile(List<Long> latencies, double p) {
+        if (latencies.isEmpty()) {
+            return 0;
+        }
+        long[] sorted;
+        synchronized (latencies) {
+            sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+}
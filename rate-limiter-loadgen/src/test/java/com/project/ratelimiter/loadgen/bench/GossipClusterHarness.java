@@ -0,0 +1,160 @@
+package com.project.ratelimiter.loadgen.bench;
+
+import com.project.ratelimiter.core.GossipEngine;
+import com.project.ratelimiter.core.LimitSpec;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accuracy vs throughput of the gossip engine with every node in its own JVM.
+ *
+ * Not a unit test - run manually:
+ * <pre>
+ * mvn -pl rate-limiter-loadgen -am test-compile
+ * mvn -pl rate-limiter-loadgen exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.project.ratelimiter.loadgen.bench.GossipClusterHarness
+ * </pre>
+ * For each sync interval in -Dbench.syncs, starts -Dbench.nodes child JVMs on localhost UDP
+ * ports that all hammer one key (limit -Dbench.limit per -Dbench.windowMs window) for
+ * -Dbench.seconds, then prints the cluster-wide admitted count per window against the limit
+ * (an exact limiter admits exactly the limit in every window once saturated) and the checks/s.
+ */
+public class GossipClusterHarness {
+
+    private static final int NODES = Integer.getInteger("bench.nodes", 4);
+    private static final int THREADS = Integer.getInteger("bench.threads", 2);
+    private static final int LIMIT = Integer.getInteger("bench.limit", 1000);
+    private static final long WINDOW_MS = Long.getLong("bench.windowMs", 2000);
+    private static final int SECONDS = Integer.getInteger("bench.seconds", 10);
+    private static final String SYNCS = System.getProperty("bench.syncs", "10,50,100,250");
+    private static final int BASE_PORT = Integer.getInteger("bench.port", 47_000);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("node")) {
+            runNode(Integer.parseInt(args[1]), Long.parseLong(args[2]), Long.parseLong(args[3]), Long.parseLong(args[4]));
+            return;
+        }
+
+        System.out.printf("%d nodes x %d threads, limit %d per %dms window, %ds per run%n",
+                NODES, THREADS, LIMIT, WINDOW_MS, SECONDS);
+        System.out.printf("%8s %10s %10s %10s %10s %14s%n",
+                "sync_ms", "windows", "avg", "max", "max_over", "checks/s");
+        for (String sync : SYNCS.split(",")) {
+            runCluster(Long.parseLong(sync.trim()));
+        }
+    }
+
+    private static void runCluster(long syncMs) throws Exception {
+        // Start on a window boundary, leaving time for the JVMs to come up
+        long startAt = (System.currentTimeMillis() / WINDOW_MS + 2) * WINDOW_MS;
+        long endAt = startAt + SECONDS * 1000L;
+
+        List<Process> processes = new ArrayList<>();
+        for (int node = 0; node < NODES; node++) {
+            processes.add(new ProcessBuilder(
+                    Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-cp", classpath(),
+                    "-Dbench.nodes=" + NODES, "-Dbench.threads=" + THREADS, "-Dbench.limit=" + LIMIT,
+                    "-Dbench.windowMs=" + WINDOW_MS, "-Dbench.port=" + BASE_PORT,
+                    GossipClusterHarness.class.getName(),
+                    "node", String.valueOf(node), String.valueOf(syncMs), String.valueOf(startAt), String.valueOf(endAt))
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start());
+        }
+
+        // Per window: admitted across the cluster
+        Map<Long, Long> admitted = new TreeMap<>();
+        long checks = 0;
+        for (Process process : processes) {
+            try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while ((line = out.readLine()) != null) {
+                    String[] parts = line.split(" ");
+                    if (parts[0].equals("W")) {
+                        admitted.merge(Long.parseLong(parts[1]), Long.parseLong(parts[2]), Long::sum);
+                    } else if (parts[0].equals("C")) {
+                        checks += Long.parseLong(parts[1]);
+                    }
+                }
+            }
+            process.waitFor();
+        }
+
+        // Whole windows only, skipping the first (nothing carried over yet)
+        long firstWindow = startAt / WINDOW_MS + 1;
+        long lastWindow = endAt / WINDOW_MS - 1;
+        long total = 0;
+        long max = 0;
+        int windows = 0;
+        for (long window = firstWindow; window <= lastWindow; window++) {
+            long count = admitted.getOrDefault(window, 0L);
+            total += count;
+            max = Math.max(max, count);
+            windows++;
+        }
+        System.out.printf("%8d %10d %10.1f %10d %9.1f%% %,14.0f%n",
+                syncMs, windows, (double) total / Math.max(1, windows), max,
+                (max - LIMIT) * 100.0 / LIMIT, checks / (SECONDS * 1.0));
+        Thread.sleep(500); // ports released before the next run
+    }
+
+    // Child JVM: one node hammering the shared key, prints "W <window> <admitted>" and "C <checks>"
+    private static void runNode(int self, long syncMs, long startAt, long endAt) throws Exception {
+        List<InetSocketAddress> members = new ArrayList<>();
+        for (int node = 0; node < NODES; node++) {
+            members.add(new InetSocketAddress("127.0.0.1", BASE_PORT + node));
+        }
+        LimitSpec spec = LimitSpec.builder()
+                .userId("bench")
+                .resource("/bench/gossip")
+                .tier("bench")
+                // The engine scales requestsPerMinute to the window
+                .requestsPerMinute((int) (LIMIT * 60_000L / WINDOW_MS))
+                .build();
+
+        Map<Long, LongAdder> admitted = new ConcurrentHashMap<>();
+        LongAdder checks = new LongAdder();
+        try (GossipEngine engine = new GossipEngine(self, members, WINDOW_MS, syncMs)) {
+            engine.start();
+            Thread.sleep(Math.max(0, startAt - System.currentTimeMillis()));
+
+            CountDownLatch done = new CountDownLatch(THREADS);
+            for (int t = 0; t < THREADS; t++) {
+                new Thread(() -> {
+                    long now;
+                    while ((now = System.currentTimeMillis()) < endAt) {
+                        if (engine.tryConsume(spec).isAllowed()) {
+                            admitted.computeIfAbsent(now / WINDOW_MS, w -> new LongAdder()).increment();
+                        }
+                        checks.increment();
+                    }
+                    done.countDown();
+                }, "bench-" + t).start();
+            }
+            done.await();
+        }
+
+        admitted.forEach((window, count) -> System.out.println("W " + window + " " + count.sum()));
+        System.out.println("C " + checks.sum());
+    }
+
+    // Test classes, core classes and slf4j: all a node needs
+    private static String classpath() throws Exception {
+        List<String> entries = new ArrayList<>();
+        for (Class<?> type : List.of(GossipClusterHarness.class, GossipEngine.class, org.slf4j.Logger.class)) {
+            entries.add(Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString());
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+}
@@ -0,0 +1,205 @@
+package com.project.ratelimiter.loadgen.bench;
+
+import com.project.ratelimiter.core.Decision;
+import com.project.ratelimiter.core.LimitSpec;
+import com.project.ratelimiter.core.MappedBucketEngine;
+import com.project.ratelimiter.core.TokenBucketEngine;
+import com.project.ratelimiter.core.TokenBucketMath;
+import com.project.ratelimiter.starter.StringRedisScriptExecutor;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Standalone engine (off-heap mapped table) vs the Redis Lua path vs an on-heap map of bucket
+ * objects, at -Dbench.keys distinct buckets.
+ *
+ * Not a unit test - run manually:
+ * <pre>
+ * mvn -pl rate-limiter-loadgen -am test-compile
+ * mvn -pl rate-limiter-loadgen exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.project.ratelimiter.loadgen.bench.MappedBucketBenchmark
+ * </pre>
+ * Each engine first creates every bucket once, then serves random keys for -Dbench.seconds.
+ * Prints ops/s, GC count, total and longest GC pause during the timed phase, and heap in use
+ * after a full GC with the buckets still referenced. Without -Dbench.redis an embedded
+ * redis-server is started; -Dbench.redis=skip leaves Redis out. Redis keys expire after 120s.
+ */
+public class MappedBucketBenchmark {
+
+    private static final int THREADS = Integer.getInteger("bench.threads", 16);
+    private static final int SECONDS = Integer.getInteger("bench.seconds", 10);
+    private static final int KEYS = Integer.getInteger("bench.keys", 1_000_000);
+
+    private static final AtomicLong maxPauseMs = new AtomicLong();
+    // JVM uptime when the timed phase started: notifications arrive late, earlier GCs are ignored
+    private static volatile long timedFromUptime = Long.MAX_VALUE;
+
+    public static void main(String[] args) throws Exception {
+        watchGcPauses();
+        String userPrefix = "bench-" + System.nanoTime() + "-";
+        System.out.printf("%d keys, %d threads, %ds timed%n", KEYS, THREADS, SECONDS);
+        System.out.printf("%-10s %14s %8s %10s %12s %10s%n",
+                "engine", "ops/s", "gcs", "gc_ms", "max_pause", "heap_mb");
+
+        Path file = Files.createTempFile("buckets", ".map");
+        try (MappedBucketEngine mapped = new MappedBucketEngine(file, KEYS, 256, 120_000)) {
+            run("mapped", userPrefix, mapped::tryConsume, mapped);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        HeapBuckets heap = new HeapBuckets();
+        run("heap-map", userPrefix, heap::tryConsume, heap);
+
+        String redis = System.getProperty("bench.redis");
+        if ("skip".equals(redis)) {
+            return;
+        }
+        RedisServer embedded = null;
+        String host = "localhost";
+        int port = 6390;
+        if (redis == null) {
+            embedded = new RedisServer(port);
+            embedded.start();
+        } else {
+            host = redis.split(":")[0];
+            port = Integer.parseInt(redis.split(":")[1]);
+        }
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port));
+        connectionFactory.afterPropertiesSet();
+        try {
+            TokenBucketEngine engine = new TokenBucketEngine(new StringRedisScriptExecutor(new StringRedisTemplate(connectionFactory)));
+            run("redis-lua", userPrefix, engine::tryConsume, engine);
+        } finally {
+            connectionFactory.destroy();
+            if (embedded != null) {
+                embedded.stop();
+            }
+        }
+    }
+
+    // keepAlive: the engine stays reachable through the heap measurement
+    private static void run(String name, String userPrefix, Function<LimitSpec, Decision> check, Object keepAlive)
+            throws InterruptedException {
+        LimitSpec[] specs = new LimitSpec[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            specs[i] = LimitSpec.builder()
+                    .userId(userPrefix + i)
+                    .resource("/bench/mapped")
+                    .tier("bench")
+                    .requestsPerMinute(600_000)
+                    .build();
+        }
+        parallel(thread -> {
+            for (int i = thread; i < KEYS; i += THREADS) {
+                check.apply(specs[i]);
+            }
+        });
+
+        long[] gcBefore = gcTotals();
+        maxPauseMs.set(0);
+        timedFromUptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        LongAdder ops = new LongAdder();
+        long endAt = System.nanoTime() + SECONDS * 1_000_000_000L;
+        long started = System.nanoTime();
+        parallel(thread -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < endAt) {
+                check.apply(specs[random.nextInt(KEYS)]);
+                ops.increment();
+            }
+        });
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        long[] gcAfter = gcTotals();
+        timedFromUptime = Long.MAX_VALUE;
+
+        System.gc();
+        long heapMb = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() >> 20;
+        System.out.printf("%-10s %,14.0f %8d %10d %10dms %10d%n",
+                name, ops.sum() / seconds, gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1],
+                maxPauseMs.get(), heapMb);
+        Reference.reachabilityFence(keepAlive);
+    }
+
+    private interface Worker {
+        void run(int thread);
+    }
+
+    private static void parallel(Worker worker) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            new Thread(() -> {
+                worker.run(thread);
+                done.countDown();
+            }, "bench-" + t).start();
+        }
+        done.await();
+    }
+
+    private static long[] gcTotals() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += gc.getCollectionCount();
+            millis += gc.getCollectionTime();
+        }
+        return new long[]{count, millis};
+    }
+
+    private static void watchGcPauses() {
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) gc).addNotificationListener((notification, handback) -> {
+                if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                    return;
+                }
+                GarbageCollectionNotificationInfo info =
+                        GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                // Concurrent cycles don't stop the application
+                if (info.getGcName().contains("Concurrent") || info.getGcName().contains("Cycles")
+                        || info.getGcInfo().getStartTime() < timedFromUptime) {
+                    return;
+                }
+                maxPauseMs.accumulateAndGet(info.getGcInfo().getDuration(), Math::max);
+            }, null, null);
+        }
+    }
+
+    // The ConcurrentHashMap-of-objects approach the mapped table replaces (same as the service's local fallback)
+    private static final class HeapBuckets {
+        private final ConcurrentHashMap<String, double[]> buckets = new ConcurrentHashMap<>();
+
+        Decision tryConsume(LimitSpec spec) {
+            long now = System.currentTimeMillis();
+            double[] bucket = buckets.computeIfAbsent(spec.getUserId() + ":" + spec.getResource(),
+                    k -> new double[]{spec.getCapacity(), now});
+            synchronized (bucket) {
+                double tokens = TokenBucketMath.refill(bucket[0], (long) bucket[1], now, spec);
+                boolean allowed = tokens >= 1;
+                if (allowed) {
+                    tokens -= 1;
+                }
+                bucket[0] = tokens;
+                bucket[1] = now;
+                return new Decision(allowed, (long) tokens, now);
+            }
+        }
+    }
+}
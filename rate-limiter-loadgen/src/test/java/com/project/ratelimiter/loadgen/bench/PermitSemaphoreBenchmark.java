@@ -0,0 +1,159 @@
+package com.project.ratelimiter.loadgen.bench;
+
+import com.project.ratelimiter.core.ConcurrencyEngine;
+import com.project.ratelimiter.core.LimitSpec;
+import com.project.ratelimiter.core.PermitDecision;
+import com.project.ratelimiter.starter.StringRedisScriptExecutor;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Acquire/release throughput of the CONCURRENCY permit semaphore against a local Redis.
+ *
+ * Not a unit test - run manually:
+ * <pre>
+ * mvn -pl rate-limiter-loadgen -am test-compile
+ * mvn -pl rate-limiter-loadgen exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.project.ratelimiter.loadgen.bench.PermitSemaphoreBenchmark
+ * </pre>
+ * Each thread loops acquire -> release over -Dbench.resources semaphores of -Dbench.permits
+ * permits, so threads contend for the same sorted sets. Without -Dbench.redis an embedded
+ * redis-server is started.
+ */
+public class PermitSemaphoreBenchmark {
+
+    private static final int THREADS = Integer.getInteger("bench.threads", 16);
+    private static final int SECONDS = Integer.getInteger("bench.seconds", 10);
+    private static final int RESOURCES = Integer.getInteger("bench.resources", 4);
+    private static final int PERMITS = Integer.getInteger("bench.permits", 8);
+    private static final long LEASE_MS = 30_000;
+
+    public static void main(String[] args) throws Exception {
+        String redis = System.getProperty("bench.redis");
+
+        RedisServer embedded = null;
+        String host = "localhost";
+        int port = 6390;
+        if (redis == null) {
+            embedded = new RedisServer(port);
+            embedded.start();
+        } else {
+            host = redis.split(":")[0];
+            port = Integer.parseInt(redis.split(":")[1]);
+        }
+
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port));
+        connectionFactory.afterPropertiesSet();
+        try {
+            ConcurrencyEngine engine = new ConcurrencyEngine(new StringRedisScriptExecutor(new StringRedisTemplate(connectionFactory)));
+            LimitSpec[] specs = new LimitSpec[RESOURCES];
+            for (int r = 0; r < RESOURCES; r++) {
+                specs[r] = LimitSpec.builder()
+                        .userId("bench-user")
+                        .resource("reports/bench-" + r)
+                        .tier("bench")
+                        .requestsPerMinute(PERMITS)
+                        .algorithm("CONCURRENCY")
+                        .build();
+            }
+
+            // Warm-up: JIT, connection, EVALSHA cache
+            for (int i = 0; i < 2000; i++) {
+                PermitDecision decision = engine.tryAcquire(specs[i % RESOURCES], LEASE_MS);
+                if (decision.isAcquired()) {
+                    engine.release(specs[i % RESOURCES], decision.getPermitId());
+                }
+            }
+
+            AtomicLong acquired = new AtomicLong();
+            AtomicLong denied = new AtomicLong();
+            AtomicLong errors = new AtomicLong();
+            long[][] acquireLatencies = new long[THREADS][];
+            long[][] releaseLatencies = new long[THREADS][];
+            int[] acquireCounts = new int[THREADS];
+            int[] releaseCounts = new int[THREADS];
+            CountDownLatch done = new CountDownLatch(THREADS);
+
+            long deadline = System.nanoTime() + SECONDS * 1_000_000_000L;
+            long start = System.nanoTime();
+            for (int t = 0; t < THREADS; t++) {
+                final int thread = t;
+                new Thread(() -> {
+                    long[] acquires = new long[1 << 20];
+                    long[] releases = new long[1 << 20];
+                    int a = 0;
+                    int r = 0;
+                    int i = thread;
+                    while (System.nanoTime() < deadline) {
+                        LimitSpec spec = specs[i++ % RESOURCES];
+                        try {
+                            long begin = System.nanoTime();
+                            PermitDecision decision = engine.tryAcquire(spec, LEASE_MS);
+                            acquires[a++ & (acquires.length - 1)] = System.nanoTime() - begin;
+                            if (!decision.isAcquired()) {
+                                denied.incrementAndGet();
+                                continue;
+                            }
+                            acquired.incrementAndGet();
+
+                            begin = System.nanoTime();
+                            engine.release(spec, decision.getPermitId());
+                            releases[r++ & (releases.length - 1)] = System.nanoTime() - begin;
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    acquireLatencies[thread] = acquires;
+                    releaseLatencies[thread] = releases;
+                    acquireCounts[thread] = a;
+                    releaseCounts[thread] = r;
+                    done.countDown();
+                }, "bench-" + t).start();
+            }
+            done.await();
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            long[] acquireSorted = merge(acquireLatencies, acquireCounts);
+            long[] releaseSorted = merge(releaseLatencies, releaseCounts);
+            System.out.printf("acquire  %,10.0f ops/s  p50=%,6dus  p99=%,7dus  (acquired=%d, denied=%d)%n",
+                    acquireSorted.length / seconds, percentileMicros(acquireSorted, 50),
+                    percentileMicros(acquireSorted, 99), acquired.get(), denied.get());
+            System.out.printf("release  %,10.0f ops/s  p50=%,6dus  p99=%,7dus%n",
+                    releaseSorted.length / seconds, percentileMicros(releaseSorted, 50),
+                    percentileMicros(releaseSorted, 99));
+            System.out.printf("cycles   %,10.0f acquire+release/s  errors=%d  (%d threads, %d semaphores x %d permits, %ds)%n",
+                    releaseSorted.length / seconds, errors.get(), THREADS, RESOURCES, PERMITS, SECONDS);
+        } finally {
+            connectionFactory.destroy();
+            if (embedded != null) {
+                embedded.stop();
+            }
+        }
+    }
+
+    private static long[] merge(long[][] latencies, int[] counts) {
+        long[] all = new long[Arrays.stream(counts).map(n -> Math.min(n, 1 << 20)).sum()];
+        int offset = 0;
+        for (int t = 0; t < latencies.length; t++) {
+            int n = Math.min(counts[t], latencies[t].length);
+            System.arraycopy(latencies[t], 0, all, offset, n);
+            offset += n;
+        }
+        Arrays.sort(all);
+        return all;
+    }
+
+    private static long percentileMicros(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile / 100 * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1000;
+    }
+}
@@ -0,0 +1,279 @@
+package com.project.ratelimiter.config;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties for rate limiter
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "rate-limiter")
+public class RateLimiterProperties {
+
+    private Default defaultConfig = new Default();
+    private String algorithm = "TOKEN_BUCKET";
+    // Decision engine behind RateLimiterService: redis (exact, shared buckets), gossip (no Redis,
+    // approximate across instances) or standalone (no Redis, one instance, buckets in a mapped file)
+    private String engine = "redis";
+    // Clock refilling Redis buckets: client (this JVM's milliseconds) or redis (Redis TIME in
+    // microseconds, integer tokens; immune to clock skew between replicas). Read by the starter.
+    private String clock = "client";
+    private Map<String, TierConfig> tiers = new HashMap<>();
+    private Coalescing coalescing = new Coalescing();
+    private WriteBehind writeBehind = new WriteBehind();
+    private Overload overload = new Overload();
+    private FairQueue fairQueue = new FairQueue();
+    private Concurrency concurrency = new Concurrency();
+    private ConfigMirror configMirror = new ConfigMirror();
+    private UsageLogs usageLogs = new UsageLogs();
+    private Snapshot snapshot = new Snapshot();
+    private Events events = new Events();
+    private RollingMetrics rollingMetrics = new RollingMetrics();
+    private HealthProbe healthProbe = new HealthProbe();
+    private LocalFallback localFallback = new LocalFallback();
+    private IpLimit ipLimit = new IpLimit();
+    private Gossip gossip = new Gossip();
+    private Standalone standalone = new Standalone();
+    private Warmup warmup = new Warmup();
+    private Adaptive adaptive = new Adaptive();
+
+    @Data
+    public static class Default {
+        private int requestsPerMinute = 10;
+        private int windowSeconds = 60;
+        private int burstCapacity = 20;
+    }
+
+    @Data
+    public static class Coalescing {
+        // Merge concurrent checks for the same key into one Redis call
+        private boolean enabled = false;
+        // Upper bound on checks answered by one script call
+        private int maxBatchSize = 64;
+    }
+
+    @Data
+    public static class WriteBehind {
+        // Answer low-risk checks from a node-local copy of the bucket, write the consumption back in batches
+        private boolean enabled = false;
+        // Checks are local only while this fraction of the capacity was left in Redis at the last sync;
+        // at least (1 - node-share) / (2 - node-share), checked at startup
+        private double minRemainingRatio = 0.5;
+        // Share of the tokens above that reserve one node may grant between syncs; at most 1 / replicas
+        private double nodeShare = 0.33;
+        // How often locally granted tokens are written to Redis (pipelined cost-N calls)
+        private long flushIntervalMs = 500;
+        // A local copy older than this is not trusted: the next check goes to Redis
+        private long maxStalenessMs = 10_000;
+        // Script calls per pipelined round trip
+        private int batchSize = 500;
+        // Bound on cached buckets; keys beyond it always take the synchronous path
+        private int maxBuckets = 100_000;
+    }
+
+    @Data
+    public static class Overload {
+        // Adaptive in-flight limit in front of /api/check-limit
+        private boolean enabled = false;
+        private int initialLimit = 50;
+        private int minLimit = 10;
+        private int maxLimit = 400;
+        // How fast the limit follows the gradient (0..1)
+        private double smoothing = 0.2;
+        // Latency increase tolerated before the limit shrinks (long RTT / short RTT)
+        private double rttTolerance = 1.5;
+        // Fraction of the limit each tier may occupy: lower tiers are shed first
+        private Map<String, Double> tierShares = new HashMap<>(Map.of(
+                "free", 0.6,
+                "premium", 0.85,
+                "enterprise", 1.0));
+        // Share for users whose tier is not known yet
+        private double defaultShare = 0.6;
+    }
+
+    @Data
+    public static class FairQueue {
+        // Weighted fair queuing of checks by tier once the backends saturate
+        private boolean enabled = false;
+        // Checks running against Redis/Postgres at once; beyond this they queue per tier
+        private int maxConcurrent = 64;
+        // Waiting checks per tier; a full queue drops new arrivals
+        private int queueCapacity = 200;
+        // Share of slots under saturation, relative to the other backlogged tiers
+        private Map<String, Double> weights = new HashMap<>(Map.of(
+                "free", 1.0,
+                "premium", 4.0,
+                "enterprise", 16.0));
+        // Latency budget per tier: a check that cannot finish within it is dropped from the queue
+        private Map<String, Long> budgetMs = new HashMap<>(Map.of(
+                "free", 100L,
+                "premium", 250L,
+                "enterprise", 1000L));
+        // For users whose tier is not known yet
+        private double defaultWeight = 1.0;
+        private long defaultBudgetMs = 100;
+    }
+
+    @Data
+    public static class Concurrency {
+        // Lease when the acquire request doesn't ask for one
+        private int defaultLeaseSeconds = 60;
+        // Longest lease a client may request: bounds how long a crashed client can hold a permit
+        private int maxLeaseSeconds = 3600;
+    }
+
+    @Data
+    public static class ConfigMirror {
+        // Mirror configs + the global default into Redis and resolve limits inside the check script
+        private boolean enabled = false;
+        // How often Postgres and the mirror are compared and drift repaired
+        private long reconcileIntervalMs = 60_000;
+        // Configs per keyset page (and mirrored keys per SCAN batch) during reconciliation
+        private int reconcilePageSize = 1000;
+    }
+
+    @Data
+    public static class UsageLogs {
+        // Daily partitions of rate_limit_usage_logs created ahead of today
+        private int partitionsAhead = 3;
+        // Partitions entirely older than this are dropped
+        private int retentionDays = 30;
+    }
+
+    @Data
+    public static class Snapshot {
+        // Where bucket snapshots are written and restored from
+        private String directory = "snapshots";
+        // Keys per SCAN page / pipelined round trip
+        private int batchSize = 1000;
+    }
+
+    @Data
+    public static class Events {
+        // Publish every decision to a Redis Stream for downstream consumers
+        private boolean enabled = false;
+        // Outside the rate_limit: prefix so bucket snapshots don't pick it up
+        private String streamKey = "rl_events:decisions";
+        // Approximate stream length cap (XADD MAXLEN ~)
+        private long maxLen = 1_000_000;
+        // Events buffered in the JVM; beyond this new events are dropped, checks never wait
+        private int queueCapacity = 10_000;
+        // Events per pipelined XADD round trip
+        private int batchSize = 500;
+    }
+
+    @Data
+    public static class RollingMetrics {
+        // How often /api/metrics/rolling/stream pushes a new summary
+        private long streamIntervalMs = 1000;
+        // Concurrent SSE streams; further subscribers get 503
+        private int maxStreamSubscribers = 50;
+        // Stream lifetime before the client has to reconnect (EventSource does so automatically)
+        private long streamTimeoutMs = 30 * 60 * 1000;
+    }
+
+    @Data
+    public static class HealthProbe {
+        // Delay between background probes of Postgres and Redis
+        private long intervalMs = 1000;
+        // A probe still running after this counts as a failure immediately
+        private long probeTimeoutMs = 1500;
+        // Consecutive failed probes before a dependency is marked DOWN
+        private int failureThreshold = 2;
+        // Consecutive successful probes before it is UP again
+        private int recoveryThreshold = 2;
+        // Probes the reported error rate is computed over
+        private int window = 20;
+    }
+
+    @Data
+    public static class LocalFallback {
+        // Per-instance in-memory buckets while the probe sees Redis down (limits become per instance)
+        private boolean enabled = true;
+        // Bound on buckets held in memory; idle ones are evicted first, then the least recently used tenth
+        private int maxBuckets = 100_000;
+    }
+
+    @Data
+    public static class IpLimit {
+        // Requests without a userId are limited per client IP (Count-Min Sketch) instead of sharing one bucket
+        private boolean enabled = false;
+        // Per IP and resource, over a sliding window
+        private long requestsPerWindow = 60;
+        private long windowSeconds = 60;
+        // Sketch rows: wrongly denied with probability <= e^-depth
+        private int sketchDepth = 4;
+        // Counters per row: overcount <= e / width * requests in the window
+        private int sketchWidth = 65536;
+        // Hash seed; set a private value so clients can't aim collisions at each other
+        private long seed = 0x5EEDL;
+        // Proxies in front of the service that append to X-Forwarded-For (nginx = 1)
+        private int trustedProxyHops = 1;
+    }
+
+    @Data
+    public static class Gossip {
+        // This instance's position in members
+        private int nodeIndex = 0;
+        // host:port of every instance, same order on all of them (UDP)
+        private List<String> members = new ArrayList<>(List.of("localhost:7946"));
+        // How often counts are sent to peers; overshoot grows with delay, so keep it well below the window
+        private long syncIntervalMs = 100;
+        // Sliding window; the requests-per-minute limit is scaled to it (rpm * window-ms / 60000)
+        private long windowMs = 60_000;
+    }
+
+    @Data
+    public static class Standalone {
+        // Memory-mapped bucket table; survives restarts, recreated if the sizing below changes
+        private String file = "data/buckets.map";
+        // Buckets the table is sized for (2 slots each, 32 bytes per slot)
+        private int maxKeys = 1_000_000;
+        // Lock stripes: checks on different segments never contend
+        private int segments = 256;
+        // Idle buckets are reusable after this (same as the Redis key TTL)
+        private long ttlSeconds = 120;
+        private long evictIntervalMs = 60_000;
+    }
+
+    @Data
+    public static class Warmup {
+        // Load scripts, fill the pools and run checks before /api/health/ready reports ready (prod profile)
+        private boolean enabled = false;
+        // Checks run through the service (user __warmup__), enough for the JIT to compile the hot path
+        private int iterations = 2000;
+        // Readiness is never held back longer than this by the checks
+        private long maxDurationMs = 10_000;
+    }
+
+    @Data
+    public static class Adaptive {
+        // A report is congestion when latency is above this (unless the report sets its own target)...
+        private double targetLatencyMs = 500;
+        // ...or the error rate above this
+        private double maxErrorRate = 0.05;
+        // AIMD on the per-resource scale (0..1) of the adaptive configs' ceilings
+        private double increaseStep = 0.05;
+        private double decreaseFactor = 0.5;
+        private double minScale = 0.05;
+        // At most one decrease per cooldown (however many replicas report), no increase right after
+        private long decreaseCooldownMs = 2000;
+        private long increaseIntervalMs = 1000;
+        // No reports for this long: the resource goes back to its ceilings
+        private long stateTtlSeconds = 600;
+        // How often each replica re-reads the shared scales
+        private long refreshIntervalMs = 1000;
+    }
+
+    @Data
+    public static class TierConfig {
+        private int requestsPerMinute;
+        private int burstCapacity;
+    }
+}
\ No newline at end of file
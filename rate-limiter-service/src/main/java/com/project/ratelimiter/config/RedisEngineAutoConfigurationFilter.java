@@ -0,0 +1,41 @@
+package com.project.ratelimiter.config;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+import java.util.Set;
+
+/**
+ * Skips the Redisson auto-configuration unless rate-limiter.engine is redis.
+ *
+ * Redisson connects while the context starts, so the gossip and standalone engines could not
+ * start without a Redis server. Without it Spring Data Redis runs on Lettuce, which connects on
+ * first use; the remaining Redis beans (config mirror, health probes) then just report Redis down.
+ */
+public class RedisEngineAutoConfigurationFilter implements AutoConfigurationImportFilter, EnvironmentAware {
+
+    private static final Set<String> REDISSON = Set.of(
+            "org.redisson.spring.starter.RedissonAutoConfigurationV2",
+            "org.redisson.spring.starter.RedissonAutoConfiguration");
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public boolean[] match(String[] autoConfigurationClasses, AutoConfigurationMetadata autoConfigurationMetadata) {
+        boolean redisEngine = "redis".equals(environment.getProperty("rate-limiter.engine", "redis"));
+        boolean[] matches = new boolean[autoConfigurationClasses.length];
+        for (int i = 0; i < autoConfigurationClasses.length; i++) {
+            // Entries already skipped by another filter are null
+            String candidate = autoConfigurationClasses[i];
+            matches[i] = redisEngine || candidate == null || !REDISSON.contains(candidate);
+        }
+        return matches;
+    }
+}
@@ -1,18 +1,31 @@
 package com.project.ratelimiter.controller;
 
+import com.project.ratelimiter.dto.BulkImportReport;
 import com.project.ratelimiter.dto.RateLimitConfigDTO;
 import com.project.ratelimiter.model.RateLimitConfig;
 import com.project.ratelimiter.repository.RateLimitConfigRepository;
+import com.project.ratelimiter.service.impl.ConfigBulkImporter;
+import com.project.ratelimiter.service.impl.ConfigExporter;
+import com.project.ratelimiter.service.impl.RedisConfigMirror;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.apache.coyote.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,19 +39,44 @@ public class AdminController {
 
     private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
 
-    private final RateLimitConfigRepository repository;
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
 
-    public AdminController(RateLimitConfigRepository repository) {
+    private final RateLimitConfigRepository repository;
+    private final RedisConfigMirror configMirror;
+    private final ConfigExporter configExporter;
+    private final ConfigBulkImporter configBulkImporter;
+
+    public AdminController(RateLimitConfigRepository repository,
+                           RedisConfigMirror configMirror,
+                           ConfigExporter configExporter,
+                           ConfigBulkImporter configBulkImporter) {
         this.repository = repository;
+        this.configMirror = configMirror;
+        this.configExporter = configExporter;
+        this.configBulkImporter = configBulkImporter;
     }
 
-    //List of all rate limit configs
+    //List rate limit configs, one keyset page at a time
     @GetMapping
-    @Operation(summary = "List all rate limit configurations")
-    public ResponseEntity<List<RateLimitConfigDTO>> getAllConfigs() {
-        logger.info("Fetching all rate limit configurations");
-
-        List<RateLimitConfig> configs = repository.findAll();
+    @Operation(summary = "List rate limit configurations (keyset paginated)",
+            description = "Returns up to `limit` configs with id > `afterId`, in id order. " +
+                    "When more rows may follow, the X-Next-Cursor header holds the afterId for the next page.")
+    public ResponseEntity<List<RateLimitConfigDTO>> getAllConfigs(
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String tier,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) Boolean enabled) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        logger.info("Fetching rate limit configurations afterId={}, limit={}", afterId, pageSize);
+
+        // WHERE id > afterId ORDER BY id LIMIT n: an index range scan, same cost for every page
+        // (OFFSET would re-read every skipped row)
+        List<RateLimitConfig> configs = repository.findPage(afterId, tier, userId, enabled, Limit.of(pageSize));
 
         // Convert entities to DTOs
         // INTERVIEW TIP: Never expose entities directly
@@ -48,7 +86,29 @@ public class AdminController {
                 .map(this::toDto)
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(dtos);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (configs.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(configs.get(configs.size() - 1).getId()));
+        }
+        return response.body(dtos);
+    }
+
+    //Stream every matching config as JSON lines (constant memory, any table size)
+    @GetMapping(value = "/export", produces = NDJSON)
+    @Operation(summary = "Export rate limit configurations as JSON lines",
+            description = "Streams all configs matching the filters, one JSON object per line, in id order")
+    public void exportConfigs(
+            @RequestParam(required = false) String tier,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) Boolean enabled,
+            HttpServletResponse response) throws IOException {
+        logger.info("Exporting rate limit configurations tier={}, userId={}, enabled={}", tier, userId, enabled);
+
+        response.setContentType(NDJSON);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"rate-limit-configs.ndjson\"");
+        try (OutputStream out = new BufferedOutputStream(response.getOutputStream(), 64 * 1024)) {
+            configExporter.export(tier, userId, enabled, out);
+        }
     }
 
     //Get a specific configuration by ID
@@ -92,12 +152,31 @@ public class AdminController {
 
         //Using default save method for repository
         RateLimitConfig saved = repository.save(config);
+        configMirror.put(saved);
 
         return ResponseEntity
                 .status(HttpStatus.CREATED)
                 .body(toDto(saved));
     }
 
+    //Bulk create/update from CSV or JSON lines (onboarding)
+    @PostMapping(value = "/bulk", consumes = {CSV, NDJSON})
+    @Operation(summary = "Bulk upsert rate limit configurations",
+            description = "Streams text/csv (header row of DTO property names) or application/x-ndjson. " +
+                    "Rows are validated and upserted on (userId, resource) in batches of " +
+                    ConfigBulkImporter.CHUNK_SIZE + "; the report lists rows that failed and why.")
+    public ResponseEntity<BulkImportReport> bulkUpsertConfigs(HttpServletRequest request) throws IOException {
+        ConfigBulkImporter.Format format = request.getContentType().startsWith(CSV) ?
+                ConfigBulkImporter.Format.CSV :
+                ConfigBulkImporter.Format.NDJSON;
+        logger.info("Bulk config import started, format={}", format);
+
+        BulkImportReport report = configBulkImporter.importConfigs(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8), format);
+
+        return ResponseEntity.ok(report);
+    }
+
     //Update an existing config
     @PutMapping("/{id}")
     @Operation(summary = "Update rate limit configuration")
@@ -109,6 +188,9 @@ public class AdminController {
         RateLimitConfig existing = repository.findById(id)
                 .orElseThrow(()->new RuntimeException("Config not found with id: "+ id));
 
+        String previousUserId = existing.getUserId();
+        String previousResource = existing.getResource();
+
         //Updating Fields
         existing.setUserId(dto.getUserId());
         existing.setResource(dto.getResource());
@@ -116,11 +198,21 @@ public class AdminController {
         existing.setRequestsPerMinute(dto.getRequestsPerMinute());
         existing.setBurstCapacity(dto.getBurstCapacity());
         existing.setAlgorithm(dto.getAlgorithm());
+        existing.setShardCount(dto.getShardCount());
+        existing.setAdaptive(dto.getAdaptive());
+        existing.setFloorRpm(dto.getFloorRpm());
+        existing.setCeilingRpm(dto.getCeilingRpm());
         existing.setEnabled(dto.getEnabled());
 
         //Using default save method to update fields
         RateLimitConfig updated = repository.save(existing);
 
+        // Keep the Redis-resident copy in step (moved user/resource leaves a stale key otherwise)
+        if (!previousUserId.equals(updated.getUserId()) || !previousResource.equals(updated.getResource())) {
+            configMirror.remove(previousUserId, previousResource);
+        }
+        configMirror.put(updated);
+
         logger.info("Updated config id={}", id);
 
         return ResponseEntity.ok(toDto(updated));
@@ -138,6 +230,7 @@ public class AdminController {
         // Soft delete - just disable it
         config.setEnabled(false);
         repository.save(config);
+        configMirror.remove(config.getUserId(), config.getResource());
 
         logger.info("Disabled config id={}", id);
 
@@ -155,6 +248,10 @@ public class AdminController {
                 .requestsPerMinute(config.getRequestsPerMinute())
                 .burstCapacity(config.getBurstCapacity())
                 .algorithm(config.getAlgorithm())
+                .shardCount(config.getShardCount())
+                .adaptive(config.getAdaptive())
+                .floorRpm(config.getFloorRpm())
+                .ceilingRpm(config.getCeilingRpm())
                 .enabled(config.getEnabled())
                 .createdAt(config.getCreatedAt())
                 .updatedAt(config.getUpdatedAt())
@@ -170,6 +267,10 @@ public class AdminController {
                 .requestsPerMinute(dto.getRequestsPerMinute())
                 .burstCapacity(dto.getBurstCapacity())
                 .algorithm(dto.getAlgorithm())
+                .shardCount(dto.getShardCount())
+                .adaptive(dto.getAdaptive())
+                .floorRpm(dto.getFloorRpm())
+                .ceilingRpm(dto.getCeilingRpm())
                 .enabled(dto.getEnabled() != null ? dto.getEnabled() : true)
                 .build();
     }
@@ -0,0 +1,103 @@
+package com.project.ratelimiter.controller;
+
+import com.project.ratelimiter.core.AdaptiveRateEngine;
+import com.project.ratelimiter.dto.AdaptiveRateResponse;
+import com.project.ratelimiter.dto.LatencyFeedback;
+import com.project.ratelimiter.service.impl.AdaptiveRateRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for downstream feedback driving adaptive limits
+ *
+ * Protected services report the latency / error rate they see for a resource (e.g. once per
+ * second); adaptive configs on that resource then refill faster or slower (AIMD).
+ */
+
+@RestController
+@RequestMapping("/api/feedback")
+@Tag(name = "Adaptive Limits", description = "Downstream latency feedback for adaptive configs")
+public class FeedbackController {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedbackController.class);
+    private final AdaptiveRateRegistry adaptiveRates;
+
+    public FeedbackController(AdaptiveRateRegistry adaptiveRates) {
+        this.adaptiveRates = adaptiveRates;
+    }
+
+    //Report latency / errors of a resource
+    @PostMapping
+    @Operation(
+            summary = "Report downstream latency or errors for a resource",
+            description = "Latency above the target or an error rate above the maximum halves the resource's " +
+                    "adaptive scale (at most once per cooldown); a healthy report raises it by one step."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Report applied",
+                    content = @Content(schema = @Schema(implementation = AdaptiveRateResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Neither latencyMs nor errorRate given"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Redis unavailable, report not applied"
+            )
+    })
+    public ResponseEntity<AdaptiveRateResponse> report(@Valid @RequestBody LatencyFeedback feedback) {
+        if (feedback.getLatencyMs() == null && feedback.getErrorRate() == null) {
+            return ResponseEntity.badRequest().body(AdaptiveRateResponse.builder()
+                    .resource(feedback.getResource())
+                    .message("latencyMs or errorRate is required")
+                    .build());
+        }
+        boolean congested = adaptiveRates.isCongested(
+                feedback.getLatencyMs(), feedback.getErrorRate(), feedback.getTargetLatencyMs());
+
+        AdaptiveRateEngine.Step step;
+        try {
+            step = adaptiveRates.report(feedback.getResource(), congested);
+        } catch (RuntimeException e) {
+            logger.error("Feedback for resource={} not applied: {}", feedback.getResource(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(AdaptiveRateResponse.builder()
+                            .resource(feedback.getResource())
+                            .message("Adaptive rate store unavailable, report not applied")
+                            .build());
+        }
+
+        return ResponseEntity.ok(AdaptiveRateResponse.builder()
+                .resource(feedback.getResource())
+                .scale(step.getScale())
+                .congested(congested)
+                .change(step.getChange() < 0 ? "decreased" : step.getChange() > 0 ? "increased" : "unchanged")
+                .build());
+    }
+
+    //Current shared scale of a resource
+    @GetMapping
+    @Operation(
+            summary = "Get the adaptive scale of a resource",
+            description = "Fraction of each adaptive config's ceiling applied on the resource (1 = no recent congestion)"
+    )
+    public ResponseEntity<AdaptiveRateResponse> getScale(@RequestParam String resource) {
+        return ResponseEntity.ok(AdaptiveRateResponse.builder()
+                .resource(resource)
+                .scale(adaptiveRates.scale(resource))
+                .build());
+    }
+}
@@ -0,0 +1,148 @@
+package com.project.ratelimiter.controller;
+
+import com.project.ratelimiter.config.RateLimiterProperties;
+import com.project.ratelimiter.health.DependencyHealthMonitor;
+import com.project.ratelimiter.health.DependencyStatus;
+import com.project.ratelimiter.health.StartupWarmup;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Health check endpoints for monitoring
+ *
+ * Dependency state comes from {@link DependencyHealthMonitor}'s background probes: polling these
+ * endpoints never touches Postgres or Redis.
+ */
+@RestController
+@RequestMapping("/api/health")
+@Tag(name = "Health", description = "Health check and system status endpoints")
+public class HealthController {
+
+    private final DependencyHealthMonitor healthMonitor;
+    private final RateLimiterProperties properties;
+    private final StartupWarmup warmup;
+
+    public HealthController(DependencyHealthMonitor healthMonitor, RateLimiterProperties properties,
+                            StartupWarmup warmup) {
+        this.healthMonitor = healthMonitor;
+        this.properties = properties;
+        this.warmup = warmup;
+    }
+
+    /**
+     * Basic health check
+     */
+    @GetMapping
+    @Operation(summary = "Basic health check", description = "Returns UP if service is running")
+    public ResponseEntity<Map<String, Object>> health() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "UP");
+        response.put("service", "rate-limiter");
+        response.put("timestamp", LocalDateTime.now());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Detailed health check including dependencies
+     */
+    @GetMapping("/detailed")
+    @Operation(
+            summary = "Detailed health check",
+            description = "Returns status of all system components, as last seen by the background probes"
+    )
+    public ResponseEntity<Map<String, Object>> detailedHealth() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("service", "UP");
+        response.put("timestamp", LocalDateTime.now());
+
+        DependencyStatus postgres = healthMonitor.postgresStatus();
+        DependencyStatus redis = healthMonitor.redisStatus();
+
+        Map<String, Object> dependencies = new HashMap<>();
+        dependencies.put(DependencyHealthMonitor.POSTGRES, postgres.getStatus().name());
+        dependencies.put(DependencyHealthMonitor.POSTGRES + "_probe", postgres);
+        dependencies.put(DependencyHealthMonitor.REDIS, redis.getStatus().name());
+        dependencies.put(DependencyHealthMonitor.REDIS + "_probe", redis);
+        response.put("dependencies", dependencies);
+
+        boolean allUp = postgres.getStatus() == DependencyStatus.Status.UP
+                && (!redisEngine() || redis.getStatus() == DependencyStatus.Status.UP);
+        response.put("overall_status", allUp ? "UP" : "DEGRADED");
+        response.put("limiter_mode", limiterMode());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Readiness probe for Kubernetes
+     *
+     * READY when both dependencies are up, DEGRADED (still 200) while checks can be answered
+     * without one of them (yml defaults for Postgres, local fallback for Redis), NOT_READY (503)
+     * before the first probes and the startup warm-up complete or when Redis is down without a
+     * local fallback. Redis only counts with the redis engine; gossip and standalone never use it.
+     */
+    @GetMapping("/ready")
+    @Operation(summary = "Readiness check", description = "Checks if service is ready to accept traffic")
+    public ResponseEntity<Map<String, String>> readiness() {
+        Map<String, String> response = new HashMap<>();
+
+        String status;
+        if (!healthMonitor.isProbed()) {
+            status = "NOT_READY";
+            response.put("reason", "Dependency probes not completed yet");
+        } else if (!warmup.isComplete()) {
+            status = "NOT_READY";
+            response.put("reason", "Startup warm-up in progress");
+        } else if (redisDown() && !properties.getLocalFallback().isEnabled()) {
+            status = "NOT_READY";
+            response.put("reason", "Redis is down and the local fallback is disabled");
+        } else if (redisDown() || healthMonitor.isPostgresDown()) {
+            status = "DEGRADED";
+            response.put("limiter_mode", limiterMode());
+        } else {
+            status = "READY";
+        }
+        response.put("status", status);
+
+        return ResponseEntity.status("NOT_READY".equals(status) ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK)
+                .body(response);
+    }
+
+    /**
+     * Liveness probe for Kubernetes
+     */
+    @GetMapping("/live")
+    @Operation(summary = "Liveness check", description = "Checks if service is alive")
+    public ResponseEntity<Map<String, String>> liveness() {
+        Map<String, String> response = new HashMap<>();
+        response.put("status", "ALIVE");
+
+        return ResponseEntity.ok(response);
+    }
+
+    private boolean redisEngine() {
+        return "redis".equals(properties.getEngine());
+    }
+
+    private boolean redisDown() {
+        return redisEngine() && healthMonitor.isRedisDown();
+    }
+
+    // The engine answering checks: GOSSIP / STANDALONE, or REDIS unless its local fallback took over
+    private String limiterMode() {
+        if (!redisEngine()) {
+            return properties.getEngine().toUpperCase();
+        }
+        return healthMonitor.isRedisDown() && properties.getLocalFallback().isEnabled() ? "LOCAL_FALLBACK" : "REDIS";
+    }
+}
@@ -0,0 +1,62 @@
+package com.project.ratelimiter.controller;
+
+import com.project.ratelimiter.metrics.RateLimitMetrics;
+import com.project.ratelimiter.metrics.RollingMetricsStream;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/metrics")
+@Tag(name = "Metrics", description = "Rate limiter metrics and statistics")
+public class MetricsController {
+
+    private final RateLimitMetrics metrics;
+    private final RollingMetricsStream rollingStream;
+
+    public MetricsController(RateLimitMetrics metrics, RollingMetricsStream rollingStream) {
+        this.metrics = metrics;
+        this.rollingStream = rollingStream;
+    }
+
+    /**
+     * Get current metrics summary
+     */
+    @GetMapping("/summary")
+    @Operation(summary = "Get metrics summary")
+    public ResponseEntity<RateLimitMetrics.MetricsSummary> getMetricsSummary() {
+        return ResponseEntity.ok(metrics.getSummary());
+    }
+
+    /**
+     * Rolling 1s/1m/5m rates and latency percentiles, overall and per tier
+     */
+    @GetMapping("/rolling")
+    @Operation(summary = "Get rolling metrics",
+            description = "Allowed/denied/Lua failure rates and latency percentiles over the last " +
+                    "1 second, 1 minute and 5 minutes (complete seconds), overall and per tier")
+    public ResponseEntity<RateLimitMetrics.RollingSummary> getRollingMetrics() {
+        return ResponseEntity.ok(metrics.getRollingSummary());
+    }
+
+    /**
+     * Live rolling metrics as Server-Sent Events
+     */
+    @GetMapping(value = "/rolling/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream rolling metrics",
+            description = "Server-Sent Events stream of the rolling metrics (event 'rolling'), " +
+                    "one event per rate-limiter.rolling-metrics.stream-interval-ms")
+    public ResponseEntity<SseEmitter> streamRollingMetrics() {
+        SseEmitter emitter = rollingStream.subscribe();
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+}
@@ -0,0 +1,111 @@
+package com.project.ratelimiter.controller;
+
+import com.project.ratelimiter.dto.PermitRequest;
+import com.project.ratelimiter.dto.PermitResponse;
+import com.project.ratelimiter.service.ConcurrencyLimiterService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * REST Controller for CONCURRENCY limits (in-flight permits)
+ *
+ * Acquire before starting the limited work, release when it finishes.
+ * A permit that is never released frees itself when its lease expires.
+ */
+
+@RestController
+@RequestMapping("/api/permits")
+@Tag(name = "Concurrency Limiting", description = "Acquire and release in-flight permits")
+public class PermitController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PermitController.class);
+    private final ConcurrencyLimiterService concurrencyLimiterService;
+
+    public PermitController(ConcurrencyLimiterService concurrencyLimiterService) {
+        this.concurrencyLimiterService = concurrencyLimiterService;
+    }
+
+    //Take a permit
+    @PostMapping("/acquire")
+    @Operation(
+            summary = "Acquire an in-flight permit",
+            description = "Returns 200 with a permitId if a permit is free, or 429 if all permits are held. " +
+                    "The permit expires after leaseSeconds if it is not released."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Permit acquired",
+                    content = @Content(schema = @Schema(implementation = PermitResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "All permits held (Retry-After: seconds until the oldest lease expires)"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Redis unavailable, no permit issued"
+            )
+    })
+    public ResponseEntity<PermitResponse> acquire(@Valid @RequestBody PermitRequest request) {
+        String userId = request.getUserId() != null ? request.getUserId() : "anonymous";
+
+        logger.info("Permit acquire requested: userId={}, resource={}", userId, request.getResource());
+
+        PermitResponse response;
+        try {
+            response = concurrencyLimiterService.acquire(userId, request.getResource(), request.getLeaseSeconds());
+        } catch (RuntimeException e) {
+            // No safe fallback: issuing permits without Redis would break the bound
+            logger.error("Permit acquire failed for userId={}, resource={}: {}",
+                    userId, request.getResource(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(PermitResponse.builder()
+                            .acquired(false)
+                            .message("Concurrency limiter unavailable")
+                            .build());
+        }
+
+        if (response.isAcquired()) {
+            return ResponseEntity.ok(response);
+        }
+
+        long retryAfter = Math.max(1, Duration.between(Instant.now(), response.getExpiresAt()).toSeconds());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                .body(response);
+    }
+
+    //Give a permit back
+    @PostMapping("/release")
+    @Operation(
+            summary = "Release an in-flight permit",
+            description = "Returns 200 if the permit was held, 404 if it is unknown or its lease already expired"
+    )
+    public ResponseEntity<Map<String, Object>> release(@Valid @RequestBody PermitRequest request) {
+        if (request.getPermitId() == null || request.getPermitId().isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "permitId is required"));
+        }
+        String userId = request.getUserId() != null ? request.getUserId() : "anonymous";
+
+        boolean released = concurrencyLimiterService.release(userId, request.getResource(), request.getPermitId());
+
+        return ResponseEntity.status(released ? HttpStatus.OK : HttpStatus.NOT_FOUND)
+                .body(Map.of("released", released, "permitId", request.getPermitId()));
+    }
+}
@@ -0,0 +1,265 @@
+package com.project.ratelimiter.controller;
+
+import com.project.ratelimiter.dto.RateLimitRequest;
+import com.project.ratelimiter.dto.RateLimitResponse;
+import com.project.ratelimiter.core.WeightedFairScheduler;
+import com.project.ratelimiter.overload.AdaptiveConcurrencyLimiter;
+import com.project.ratelimiter.overload.FairTierScheduler;
+import com.project.ratelimiter.overload.TierHints;
+import com.project.ratelimiter.service.RateLimiterService;
+import com.project.ratelimiter.service.impl.ClientIpRateLimiter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for rate limiting operations
+ *
+ * This follows REST best practices:
+ * - POST for state-changing operations (checking limit changes token count)
+ * - Proper HTTP status codes (200 OK, 429 Too Many Requests)
+ * - Validation with @Valid
+ * - Swagger documentation
+ */
+
+@RestController
+@RequestMapping("/api")
+@Tag(name = "Rate Limiting", description = "Rate limit checking and management")
+public class RateLimitController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitController.class);
+
+    // IETF RateLimit header fields (draft-ietf-httpapi-ratelimit-headers)
+    static final String RATE_LIMIT_LIMIT = "RateLimit-Limit";
+    static final String RATE_LIMIT_REMAINING = "RateLimit-Remaining";
+    static final String RATE_LIMIT_RESET = "RateLimit-Reset";
+
+    private final RateLimiterService rateLimiterService;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final FairTierScheduler fairScheduler;
+    private final TierHints tierHints;
+    private final ClientIpRateLimiter clientIpRateLimiter;
+
+    public RateLimitController(RateLimiterService rateLimiterService,
+                               AdaptiveConcurrencyLimiter concurrencyLimiter,
+                               FairTierScheduler fairScheduler,
+                               TierHints tierHints,
+                               ClientIpRateLimiter clientIpRateLimiter) {
+        this.rateLimiterService = rateLimiterService;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.fairScheduler = fairScheduler;
+        this.tierHints = tierHints;
+        this.clientIpRateLimiter = clientIpRateLimiter;
+    }
+
+    //Checking if a request should be allowed
+    @PostMapping("/check-limit")
+    @Operation(
+            summary = "Check if request is allowed",
+            description = "Validates if a request should be allowed based on rate limits. " +
+                    "Returns 200 with allowed=true if OK, or allowed=false if rate limited."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Rate limit check completed",
+                    content = @Content(schema = @Schema(implementation = RateLimitResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request format"
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Rate limit exceeded (alternative response format)"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Limiter overloaded: check shed, or dropped from its tier's fair queue, " +
+                            "before reaching Redis/Postgres (retry after 1s)"
+            )
+    })
+    public ResponseEntity<RateLimitResponse> checkLimit(
+//            @RequestHeader(value = "X-API-Key", required = false) String apiKey,
+            @RequestHeader(value = "X-Forwarded-For", required = false) String forwardedFor,
+            @Valid @RequestBody RateLimitRequest request,
+            HttpServletRequest httpRequest) {
+
+        CheckResult result = runCheck(request, forwardedFor, httpRequest);
+        if (result.shedMessage() != null) {
+            return overloaded(result.shedMessage());
+        }
+        RateLimitResponse response = result.response();
+
+        // Add metadata about algorithm used
+        if (response.getMetadata() == null) {
+            response.setMetadata(RateLimitResponse.RateLimitMetadata.builder()
+                    .algorithm("TOKEN_BUCKET")
+                    .build());
+        }
+
+        // Return appropriate status code -> 200 if allowed, 429 if denied
+        HttpStatus status = response.isAllowed() ? HttpStatus.OK : HttpStatus.TOO_MANY_REQUESTS;
+
+        return ResponseEntity.status(status).body(response);
+    }
+
+    //Same check, answered in headers only
+    @PostMapping("/check-limit/compact")
+    @Operation(
+            summary = "Check if request is allowed (headers only)",
+            description = "Same check as /check-limit without a response body: 204 if allowed, 429 if rate limited. " +
+                    "RateLimit-Limit (bucket capacity), RateLimit-Remaining and RateLimit-Reset " +
+                    "(seconds until the bucket is full) are always set, Retry-After on 429/503."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "204",
+                    description = "Request allowed"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request format"
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Rate limit exceeded"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Limiter overloaded: check shed before reaching Redis/Postgres (retry after 1s)"
+            )
+    })
+    public ResponseEntity<Void> checkLimitCompact(
+            @RequestHeader(value = "X-Forwarded-For", required = false) String forwardedFor,
+            @Valid @RequestBody RateLimitRequest request,
+            HttpServletRequest httpRequest) {
+
+        CheckResult result = runCheck(request, forwardedFor, httpRequest);
+        if (result.shedMessage() != null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
+        RateLimitResponse response = result.response();
+
+        long resetSeconds = response.getResetTime() == null ? 0 :
+                Math.max(0, ceilDiv(response.getResetTime().toEpochMilli() - System.currentTimeMillis(), 1000));
+        ResponseEntity.BodyBuilder builder = ResponseEntity
+                .status(response.isAllowed() ? HttpStatus.NO_CONTENT : HttpStatus.TOO_MANY_REQUESTS)
+                .header(RATE_LIMIT_LIMIT, String.valueOf(response.getLimit()))
+                .header(RATE_LIMIT_REMAINING, String.valueOf(response.getRemainingTokens()))
+                .header(RATE_LIMIT_RESET, String.valueOf(resetSeconds));
+        if (!response.isAllowed()) {
+            // An empty bucket refills completely in resetSeconds, so the next token comes after 1/limit of it
+            long retryAfter = response.getLimit() > 0 ? ceilDiv(resetSeconds, response.getLimit()) : resetSeconds;
+            builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter)));
+        }
+        return builder.build();
+    }
+
+    // Limiter response, or why the check was shed before reaching the limiter
+    private record CheckResult(RateLimitResponse response, String shedMessage) {
+    }
+
+    private CheckResult runCheck(RateLimitRequest request, String forwardedFor, HttpServletRequest httpRequest) {
+        // INTERVIEW TIP: In production, you'd validate the API key here
+        // and map it to a userId. For this demo, we use userId from request.
+        String userId = request.getUserId() != null ? request.getUserId() : "anonymous";
+
+        logger.info("Rate limit check requested: userId={}, resource={}",
+                userId, request.getResource());
+
+        // Shed early when the limiter's own backends are slow, instead of piling up threads
+        AdaptiveConcurrencyLimiter.Permit permit = null;
+        if (concurrencyLimiter.isEnabled()) {
+            permit = concurrencyLimiter.tryAcquire(userId);
+            if (permit == null) {
+                return new CheckResult(null, "Rate limiter overloaded, retry shortly");
+            }
+        }
+
+        // Backends saturated: wait for a turn by tier weight, or give up when the budget is gone
+        WeightedFairScheduler.Slot slot = null;
+        if (fairScheduler.isEnabled()) {
+            slot = fairScheduler.acquire(userId);
+            if (slot == null) {
+                if (permit != null) {
+                    permit.releaseWithoutSample();
+                }
+                return new CheckResult(null, "Rate limiter saturated, check dropped from its tier queue, retry shortly");
+            }
+        }
+        if (permit != null) {
+            permit.startSample();
+        }
+
+        // Call the service
+        RateLimitResponse response;
+        try {
+            // No userId: one approximate counter per client IP instead of one shared "anonymous" bucket
+            response = request.getUserId() == null && clientIpRateLimiter.isEnabled() ?
+                    clientIpRateLimiter.allowRequest(
+                            clientIpRateLimiter.clientIp(forwardedFor, httpRequest.getRemoteAddr()),
+                            request.getResource()) :
+                    rateLimiterService.allowRequest(userId, request.getResource());
+        } catch (RuntimeException e) {
+            if (slot != null) {
+                slot.release();
+            }
+            if (permit != null) {
+                permit.releaseWithoutSample();
+            }
+            throw e;
+        }
+        if (slot != null) {
+            slot.release();
+        }
+        if (permit != null) {
+            permit.release();
+        }
+        tierHints.remember(userId, response.getTier());
+        return new CheckResult(response, null);
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    private ResponseEntity<RateLimitResponse> overloaded(String message) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(RateLimitResponse.builder()
+                        .allowed(false)
+                        .message(message)
+                        .build());
+    }
+
+    //Check current rate limit status (Without consuming a token)
+    @GetMapping("/limit-status")
+    @Operation(
+            summary = "Get rate limit status",
+            description = "Check remaining quota without consuming a token"
+    )
+    public ResponseEntity<RateLimitResponse> getLimitStatus(
+            @RequestParam String userId,
+            @RequestParam String resource) {
+
+        // One config lookup + one read-only script (replica-routable), instead of
+        // separate getRemainingTokens/getResetTime calls
+        RateLimitResponse response = rateLimiterService.getLimitStatus(userId, resource);
+
+        return ResponseEntity.ok(response);
+    }
+}
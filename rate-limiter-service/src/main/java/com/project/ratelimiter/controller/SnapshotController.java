@@ -0,0 +1,101 @@
+package com.project.ratelimiter.controller;
+
+import com.project.ratelimiter.config.RateLimiterProperties;
+import com.project.ratelimiter.dto.SnapshotReport;
+import com.project.ratelimiter.snapshot.BucketSnapshotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * API Endpoint for bucket state snapshots (warm restarts, Redis migrations)
+ */
+@RestController
+@RequestMapping("/api/admin/snapshots")
+@Tag(name = "Admin - Bucket Snapshots", description = "Snapshot and restore token bucket state")
+public class SnapshotController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotController.class);
+
+    private static final String EXTENSION = ".rlsnap";
+    // Plain file names only: no path traversal out of the snapshot directory
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9._-]+\\.rlsnap");
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final BucketSnapshotService snapshotService;
+    private final RateLimiterProperties properties;
+
+    public SnapshotController(BucketSnapshotService snapshotService, RateLimiterProperties properties) {
+        this.snapshotService = snapshotService;
+        this.properties = properties;
+    }
+
+    //Snapshot all rate_limit:* keys to a new file
+    @PostMapping
+    @Operation(summary = "Snapshot bucket state",
+            description = "SCANs rate_limit:* (non-blocking) and writes a binary snapshot to the snapshot directory")
+    public ResponseEntity<SnapshotReport> createSnapshot() throws IOException {
+        String name = "buckets-" + ZonedDateTime.now(ZoneOffset.UTC).format(TIMESTAMP) + EXTENSION;
+        logger.info("Creating bucket snapshot {}", name);
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(snapshotService.snapshot(directory().resolve(name)));
+    }
+
+    //List available snapshots
+    @GetMapping
+    @Operation(summary = "List bucket snapshots")
+    public ResponseEntity<List<Map<String, Object>>> listSnapshots() throws IOException {
+        Path directory = directory();
+        if (!Files.isDirectory(directory)) {
+            return ResponseEntity.ok(List.of());
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Map<String, Object>> snapshots = files
+                    .filter(file -> file.getFileName().toString().endsWith(EXTENSION))
+                    .sorted()
+                    .map(file -> Map.<String, Object>of("file", file.getFileName().toString(), "bytes", file.toFile().length()))
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(snapshots);
+        }
+    }
+
+    //Replay a snapshot into Redis
+    @PostMapping("/{file}/restore")
+    @Operation(summary = "Restore bucket state from a snapshot",
+            description = "Overwrites existing keys; remaining TTLs are reduced by the time since the snapshot")
+    public ResponseEntity<SnapshotReport> restoreSnapshot(@PathVariable String file) throws IOException {
+        if (!FILE_NAME.matcher(file).matches()) {
+            return ResponseEntity.badRequest().build();
+        }
+        Path path = directory().resolve(file);
+        if (!Files.isRegularFile(path)) {
+            return ResponseEntity.notFound().build();
+        }
+        logger.info("Restoring bucket snapshot {}", file);
+
+        return ResponseEntity.ok(snapshotService.restore(path));
+    }
+
+    private Path directory() {
+        return Paths.get(properties.getSnapshot().getDirectory());
+    }
+}
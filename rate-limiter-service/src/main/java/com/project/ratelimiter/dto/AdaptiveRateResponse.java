@@ -0,0 +1,22 @@
+package com.project.ratelimiter.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdaptiveRateResponse {
+
+    private String resource;
+    // Fraction of each adaptive config's ceiling currently applied (never below its floor)
+    private Double scale;
+    private Boolean congested;
+    // "decreased", "increased" or "unchanged" (reports only)
+    private String change;
+    private String message;
+
+}
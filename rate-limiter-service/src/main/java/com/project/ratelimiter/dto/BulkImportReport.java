@@ -0,0 +1,35 @@
+package com.project.ratelimiter.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportReport {
+
+    private long received;
+    private long upserted;
+    private long failed;
+    private long batches;
+    private List<RowError> errors;
+    // More rows failed than are listed in errors
+    private boolean errorsTruncated;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String userId;
+        private String resource;
+        private String message;
+    }
+
+}
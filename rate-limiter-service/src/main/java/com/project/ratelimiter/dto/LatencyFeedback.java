@@ -0,0 +1,28 @@
+package com.project.ratelimiter.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class LatencyFeedback {
+
+    @NotBlank(message = "Resource identifier is required")
+    private String resource;
+
+    @DecimalMin(value = "0", message = "Latency cannot be negative")
+    private Double latencyMs;  // Observed latency of the resource (e.g. p99 over the last interval)
+
+    @DecimalMin(value = "0", message = "Error rate must be between 0 and 1")
+    @DecimalMax(value = "1", message = "Error rate must be between 0 and 1")
+    private Double errorRate;  // Failed / total calls over the last interval
+
+    @DecimalMin(value = "0", message = "Target latency cannot be negative")
+    private Double targetLatencyMs;  // Optional - defaults to rate-limiter.adaptive.target-latency-ms
+}
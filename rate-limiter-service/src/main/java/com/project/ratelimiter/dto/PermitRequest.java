@@ -0,0 +1,24 @@
+package com.project.ratelimiter.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class PermitRequest {
+
+    @NotBlank(message = "Resource identifier is required")
+    private String resource;
+
+    private String userId;  // Optional - can be derived from API key
+
+    @Min(value = 1, message = "Lease must be at least 1 second")
+    private Integer leaseSeconds;  // Optional - acquire only, defaults to rate-limiter.concurrency.default-lease-seconds
+
+    private String permitId;  // Release only
+}
@@ -0,0 +1,25 @@
+package com.project.ratelimiter.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PermitResponse {
+
+    private boolean acquired;
+    private String permitId;
+    private long availablePermits;
+    private long maxPermits;
+    // Lease expiry if acquired, otherwise when the oldest held permit expires
+    private Instant expiresAt;
+    private String tier;
+    private String message;
+
+}
@@ -35,6 +35,18 @@ public class RateLimitConfigDTO {
     private Integer burstCapacity;
 
     private String algorithm;
+
+    @Min(value = 1, message = "Shard count must be at least 1")
+    private Integer shardCount;
+
+    private Boolean adaptive;
+
+    @Min(value = 1, message = "Floor must be at least 1 request per minute")
+    private Integer floorRpm;
+
+    @Min(value = 1, message = "Ceiling must be at least 1 request per minute")
+    private Integer ceilingRpm;
+
     private Boolean enabled;
     private Instant createdAt;
     private Instant updatedAt;
@@ -15,6 +15,7 @@ public class RateLimitResponse {
 
     private boolean allowed;
     private long remainingTokens;
+    private long limit;  // Most requests allowed at once: bucket capacity, or requests per window
     private Instant resetTime;
     private String tier;
     private String message;
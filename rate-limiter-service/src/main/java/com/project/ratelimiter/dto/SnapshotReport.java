@@ -0,0 +1,25 @@
+package com.project.ratelimiter.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SnapshotReport {
+
+    private String file;
+    // Keys written (snapshot) or restored (restore)
+    private long keys;
+    // Keys gone before they could be read (snapshot) or already expired (restore)
+    private long skipped;
+    private long bytes;
+    private Instant takenAt;
+    private long durationMs;
+
+}
@@ -0,0 +1,65 @@
+package com.project.ratelimiter.events;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One allow/deny decision, as published to the decision stream.
+ * Stream entries use short field names to keep the stream compact.
+ */
+@Value
+@Builder
+public class DecisionEvent {
+
+    static final String USER = "u";
+    static final String RESOURCE = "r";
+    static final String TIER = "t";
+    static final String ALLOWED = "a";
+    static final String REMAINING = "rem";
+    static final String LATENCY_MICROS = "lat";
+    static final String TIMESTAMP = "ts";
+
+    // Stream entry id, set only on events read back from the stream
+    String id;
+    String userId;
+    String resource;
+    String tier;
+    boolean allowed;
+    long remainingTokens;
+    long latencyMicros;
+    long timestampMillis;
+
+    Map<String, String> toFields() {
+        Map<String, String> fields = new HashMap<>(8);
+        fields.put(USER, userId);
+        fields.put(RESOURCE, resource);
+        if (tier != null) {
+            fields.put(TIER, tier);
+        }
+        fields.put(ALLOWED, allowed ? "1" : "0");
+        fields.put(REMAINING, String.valueOf(remainingTokens));
+        fields.put(LATENCY_MICROS, String.valueOf(latencyMicros));
+        fields.put(TIMESTAMP, String.valueOf(timestampMillis));
+        return fields;
+    }
+
+    static DecisionEvent fromFields(String id, Map<String, String> fields) {
+        return DecisionEvent.builder()
+                .id(id)
+                .userId(fields.get(USER))
+                .resource(fields.get(RESOURCE))
+                .tier(fields.get(TIER))
+                .allowed("1".equals(fields.get(ALLOWED)))
+                .remainingTokens(parseLong(fields.get(REMAINING)))
+                .latencyMicros(parseLong(fields.get(LATENCY_MICROS)))
+                .timestampMillis(parseLong(fields.get(TIMESTAMP)))
+                .build();
+    }
+
+    private static long parseLong(String value) {
+        return value != null ? Long.parseLong(value) : 0;
+    }
+}
@@ -0,0 +1,128 @@
+package com.project.ratelimiter.events;
+
+import com.project.ratelimiter.config.RateLimiterProperties;
+import com.project.ratelimiter.metrics.RateLimitMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes decision events to a Redis Stream off the request path.
+ *
+ * {@link #publish} only offers to a bounded in-memory queue: when the queue is full (Redis slow or
+ * down) the event is dropped and counted, the check never waits. A single daemon thread drains the
+ * queue and appends each batch with pipelined XADD ... MAXLEN ~ n, so the stream stays bounded
+ * without exact trimming cost. Delivery is at-most-once; consumers must tolerate gaps.
+ */
+@Component
+public class DecisionEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(DecisionEventPublisher.class);
+
+    private static final long POLL_TIMEOUT_MS = 100;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimiterProperties.Events config;
+    private final RateLimitMetrics metrics;
+    private final BlockingQueue<DecisionEvent> queue;
+    private final Thread worker;
+    private volatile boolean running;
+
+    public DecisionEventPublisher(StringRedisTemplate redisTemplate,
+                                  RateLimiterProperties properties,
+                                  RateLimitMetrics metrics) {
+        this.redisTemplate = redisTemplate;
+        this.config = properties.getEvents();
+        this.metrics = metrics;
+
+        if (config.isEnabled()) {
+            this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+            this.running = true;
+            this.worker = new Thread(this::drainLoop, "decision-event-publisher");
+            this.worker.setDaemon(true);
+            this.worker.start();
+            metrics.registerGauge("rate_limiter.events.queued", "Decision events waiting to be published",
+                    queue::size);
+            logger.info("Decision events enabled: stream={}, maxLen~{}", config.getStreamKey(), config.getMaxLen());
+        } else {
+            this.queue = null;
+            this.worker = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return queue != null;
+    }
+
+    /**
+     * Queue an event for publishing. Never blocks; drops the event when the queue is full.
+     */
+    public void publish(DecisionEvent event) {
+        if (queue == null) {
+            return;
+        }
+        if (!queue.offer(event)) {
+            metrics.recordEventsDropped("queue_full", 1);
+        }
+    }
+
+    private void drainLoop() {
+        List<DecisionEvent> batch = new ArrayList<>(config.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                DecisionEvent first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, config.getBatchSize() - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (Exception e) {
+                // Redis unavailable: this batch is lost, the queue keeps absorbing (and dropping) meanwhile
+                logger.warn("Failed to publish {} decision events: {}", batch.size(), e.getMessage());
+                metrics.recordEventsDropped("redis_error", batch.size());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<DecisionEvent> batch) {
+        String streamKey = config.getStreamKey();
+        XAddOptions options = XAddOptions.maxlen(config.getMaxLen()).approximateTrimming(true);
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (DecisionEvent event : batch) {
+                stringConnection.xAdd(StreamRecords.string(event.toFields()).withStreamKey(streamKey), options);
+            }
+            return null;
+        });
+        metrics.recordEventsPublished(batch.size());
+    }
+
+    // Flush what is already queued before the Redis connection factory shuts down
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
@@ -0,0 +1,109 @@
+package com.project.ratelimiter.events;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consumer-group reader for the decision stream, for downstream consumers (analytics, billing,
+ * abuse detection). Several readers with the same group split the stream between them; each
+ * event is delivered to one of them and stays pending until acknowledged.
+ *
+ * <pre>
+ * DecisionStreamReader reader = new DecisionStreamReader(redisTemplate, "rl_events:decisions", "billing", "worker-1");
+ * reader.ensureGroup();
+ * reader.pollPending(500).forEach(this::handle);        // redeliver what this consumer read before a crash
+ * while (running) {
+ *     List&lt;DecisionEvent&gt; events = reader.poll(500, Duration.ofSeconds(2));
+ *     events.forEach(this::handle);
+ *     reader.ack(events);
+ * }
+ * </pre>
+ */
+public class DecisionStreamReader {
+
+    private final StreamOperations<String, String, String> streams;
+    private final StringRedisTemplate redisTemplate;
+    private final String streamKey;
+    private final String group;
+    private final Consumer consumer;
+
+    public DecisionStreamReader(StringRedisTemplate redisTemplate, String streamKey, String group, String consumerName) {
+        this.redisTemplate = redisTemplate;
+        this.streams = redisTemplate.opsForStream();
+        this.streamKey = streamKey;
+        this.group = group;
+        this.consumer = Consumer.from(group, consumerName);
+    }
+
+    /**
+     * Create the consumer group (and the stream if missing), starting from new events only.
+     * No-op when the group already exists.
+     */
+    public void ensureGroup() {
+        try {
+            redisTemplate.execute((RedisCallback<String>) connection -> ((StringRedisConnection) connection)
+                    .xGroupCreate(streamKey, ReadOffset.latest(), group, true));
+        } catch (DataAccessException e) {
+            if (!String.valueOf(e.getMostSpecificCause().getMessage()).contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Read up to {@code count} events never delivered to this group, waiting up to {@code block}
+     * when none are available.
+     */
+    public List<DecisionEvent> poll(int count, Duration block) {
+        return read(StreamReadOptions.empty().count(count).block(block), ReadOffset.lastConsumed());
+    }
+
+    /**
+     * Read up to {@code count} events delivered to this consumer but not yet acknowledged.
+     */
+    public List<DecisionEvent> pollPending(int count) {
+        return read(StreamReadOptions.empty().count(count), ReadOffset.from("0"));
+    }
+
+    /**
+     * Acknowledge processed events; returns how many were still pending.
+     */
+    public long ack(List<DecisionEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        String[] ids = events.stream().map(DecisionEvent::getId).toArray(String[]::new);
+        Long acked = streams.acknowledge(streamKey, group, ids);
+        return acked != null ? acked : 0;
+    }
+
+    private List<DecisionEvent> read(StreamReadOptions options, ReadOffset offset) {
+        // read() takes StreamOffset<K>... and Spring does not mark it @SafeVarargs: the generic
+        // array holding our one offset is the only unchecked operation here
+        @SuppressWarnings("unchecked")
+        List<MapRecord<String, String, String>> records =
+                streams.read(consumer, options, StreamOffset.create(streamKey, offset));
+        if (records == null) {
+            return List.of();
+        }
+        List<DecisionEvent> events = new ArrayList<>(records.size());
+        for (MapRecord<String, String, String> record : records) {
+            Map<String, String> fields = record.getValue();
+            events.add(DecisionEvent.fromFields(record.getId().getValue(), fields));
+        }
+        return events;
+    }
+}
@@ -0,0 +1,134 @@
+package com.project.ratelimiter.health;
+
+import com.project.ratelimiter.config.RateLimiterProperties;
+import com.project.ratelimiter.metrics.RateLimitMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Probes Postgres and Redis in the background and keeps the result in memory.
+ *
+ * Health endpoints, readiness and the limiter's fallback switch read the cached state, so no
+ * request ever pays for a probe and a dead Redis is noticed by the prober instead of by
+ * requests hitting the command timeout. Each dependency is probed on its own thread: a hung
+ * Postgres connect does not delay the Redis probe. A probe still running after
+ * {@code probe-timeout-ms} counts as down without waiting for it to fail.
+ */
+@Component
+public class DependencyHealthMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(DependencyHealthMonitor.class);
+
+    public static final String POSTGRES = "postgres";
+    public static final String REDIS = "redis";
+
+    private final DataSource dataSource;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final RateLimiterProperties.HealthProbe config;
+    private final DependencyState postgres;
+    private final DependencyState redis;
+    private final ScheduledExecutorService scheduler;
+
+    public DependencyHealthMonitor(DataSource dataSource,
+                                   RedisConnectionFactory redisConnectionFactory,
+                                   RateLimiterProperties properties,
+                                   RateLimitMetrics metrics) {
+        this.dataSource = dataSource;
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.config = properties.getHealthProbe();
+        this.postgres = new DependencyState(POSTGRES, config);
+        this.redis = new DependencyState(REDIS, config);
+        this.scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "dependency-health-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (DependencyState state : new DependencyState[]{postgres, redis}) {
+            metrics.registerGauge("rate_limiter.health." + state.name() + ".up",
+                    "1 when the background probe sees " + state.name() + " as up", () -> state.isDown() ? 0 : 1);
+            metrics.registerGauge("rate_limiter.health." + state.name() + ".latency_ms",
+                    "Latest " + state.name() + " probe latency", () -> state.lastLatencyMicros() / 1000.0);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long interval = config.getIntervalMs();
+        scheduler.scheduleWithFixedDelay(() -> probe(postgres, this::probePostgres), 0, interval, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(() -> probe(redis, this::probeRedis), 0, interval, TimeUnit.MILLISECONDS);
+        logger.info("Dependency health probes started (every {}ms)", interval);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private interface Probe {
+        void run() throws Exception;
+    }
+
+    private void probe(DependencyState state, Probe probe) {
+        long started = System.nanoTime();
+        state.probeStarted(started);
+        try {
+            probe.run();
+            state.recordSuccess(System.nanoTime() - started);
+        } catch (Exception e) {
+            state.recordFailure(System.nanoTime() - started, e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+    }
+
+    private void probePostgres() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            int timeoutSeconds = (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(config.getProbeTimeoutMs()));
+            if (!connection.isValid(timeoutSeconds)) {
+                throw new SQLException("Connection is not valid");
+            }
+        }
+    }
+
+    private void probeRedis() {
+        // PING only: no keys written, unlike a SET/GET/DEL round
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.ping();
+        }
+    }
+
+    public boolean isRedisDown() {
+        return redis.isDown();
+    }
+
+    public boolean isPostgresDown() {
+        return postgres.isDown();
+    }
+
+    /**
+     * True once both dependencies have been probed at least once
+     */
+    public boolean isProbed() {
+        return postgres.status() != DependencyStatus.Status.UNKNOWN && redis.status() != DependencyStatus.Status.UNKNOWN;
+    }
+
+    public DependencyStatus postgresStatus() {
+        return postgres.snapshot();
+    }
+
+    public DependencyStatus redisStatus() {
+        return redis.snapshot();
+    }
+}
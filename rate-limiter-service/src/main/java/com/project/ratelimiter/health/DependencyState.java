@@ -0,0 +1,150 @@
+package com.project.ratelimiter.health;
+
+import com.project.ratelimiter.config.RateLimiterProperties;
+import com.project.ratelimiter.health.DependencyStatus.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Probe history of one dependency. Written by its probe thread only, read by request threads.
+ *
+ * Status flips to DOWN after failure-threshold consecutive failures (at once for a probe slower
+ * than the probe timeout) and back to UP after recovery-threshold consecutive successes, so the
+ * limiter doesn't flap between Redis and the local fallback. The first probe decides the initial
+ * status directly.
+ */
+final class DependencyState {
+
+    private static final Logger logger = LoggerFactory.getLogger(DependencyState.class);
+
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final String name;
+    private final RateLimiterProperties.HealthProbe config;
+    private final long probeTimeoutNanos;
+
+    private volatile Status status = Status.UNKNOWN;
+    private volatile long statusSinceMillis = System.currentTimeMillis();
+    private volatile long lastCheckedMillis;
+    private volatile long lastLatencyMicros;
+    private volatile String lastError;
+    // Start of the probe currently running, 0 when none
+    private volatile long inFlightSinceNanos;
+
+    private double averageLatencyMicros;
+    private int consecutiveFailures;
+    private int consecutiveSuccesses;
+    private final boolean[] recentFailures;
+    private int recentCount;
+    private int recentIndex;
+
+    DependencyState(String name, RateLimiterProperties.HealthProbe config) {
+        this.name = name;
+        this.config = config;
+        this.probeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getProbeTimeoutMs());
+        this.recentFailures = new boolean[Math.max(1, config.getWindow())];
+    }
+
+    String name() {
+        return name;
+    }
+
+    long lastLatencyMicros() {
+        return lastLatencyMicros;
+    }
+
+    void probeStarted(long nanos) {
+        inFlightSinceNanos = nanos;
+    }
+
+    synchronized void recordSuccess(long latencyNanos) {
+        if (latencyNanos > probeTimeoutNanos) {
+            // Answered, but too slowly to serve checks: same as a timeout
+            recordFailure(latencyNanos, "Probe took " + TimeUnit.NANOSECONDS.toMillis(latencyNanos) + "ms");
+            return;
+        }
+        record(latencyNanos, false);
+        lastError = null;
+        consecutiveFailures = 0;
+        consecutiveSuccesses++;
+        if (status == Status.UNKNOWN || (status == Status.DOWN && consecutiveSuccesses >= config.getRecoveryThreshold())) {
+            transition(Status.UP);
+        }
+    }
+
+    synchronized void recordFailure(long latencyNanos, String error) {
+        record(latencyNanos, true);
+        lastError = error;
+        consecutiveSuccesses = 0;
+        consecutiveFailures++;
+        // A probe past the timeout was already reported DOWN while in flight: keep it DOWN
+        boolean timedOut = latencyNanos > probeTimeoutNanos;
+        if (status == Status.UNKNOWN
+                || (status == Status.UP && (timedOut || consecutiveFailures >= config.getFailureThreshold()))) {
+            transition(Status.DOWN);
+        }
+    }
+
+    private void record(long latencyNanos, boolean failed) {
+        inFlightSinceNanos = 0;
+        lastCheckedMillis = System.currentTimeMillis();
+        long micros = TimeUnit.NANOSECONDS.toMicros(latencyNanos);
+        lastLatencyMicros = micros;
+        averageLatencyMicros = recentCount == 0 ? micros :
+                LATENCY_SMOOTHING * micros + (1 - LATENCY_SMOOTHING) * averageLatencyMicros;
+        recentFailures[recentIndex] = failed;
+        recentIndex = (recentIndex + 1) % recentFailures.length;
+        recentCount = Math.min(recentCount + 1, recentFailures.length);
+    }
+
+    private void transition(Status next) {
+        Status previous = status;
+        status = next;
+        statusSinceMillis = System.currentTimeMillis();
+        if (next == Status.DOWN) {
+            logger.warn("Dependency {} is DOWN (was {}): {}", name, previous, lastError);
+        } else {
+            logger.info("Dependency {} is UP (was {})", name, previous);
+        }
+    }
+
+    /**
+     * Effective status: a probe hanging past the probe timeout counts as DOWN right away
+     */
+    Status status() {
+        long inFlight = inFlightSinceNanos;
+        if (inFlight != 0 && System.nanoTime() - inFlight > probeTimeoutNanos) {
+            return Status.DOWN;
+        }
+        return status;
+    }
+
+    boolean isDown() {
+        return status() == Status.DOWN;
+    }
+
+    synchronized DependencyStatus snapshot() {
+        int failures = 0;
+        for (int i = 0; i < recentCount; i++) {
+            if (recentFailures[i]) {
+                failures++;
+            }
+        }
+        Status effective = status();
+        return DependencyStatus.builder()
+                .name(name)
+                .status(effective)
+                .statusSince(Instant.ofEpochMilli(statusSinceMillis))
+                .lastCheckedAt(lastCheckedMillis > 0 ? Instant.ofEpochMilli(lastCheckedMillis) : null)
+                .lastLatencyMicros(lastLatencyMicros)
+                .averageLatencyMicros((long) averageLatencyMicros)
+                .errorRatePercent(recentCount > 0 ? failures * 100.0 / recentCount : 0.0)
+                .consecutiveFailures(consecutiveFailures)
+                .lastError(effective == Status.DOWN && status != Status.DOWN ?
+                        "Probe still running after " + config.getProbeTimeoutMs() + "ms" : lastError)
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.project.ratelimiter.health;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Cached result of the background probes for one dependency
+ */
+@Data
+@Builder
+public class DependencyStatus {
+
+    public enum Status { UNKNOWN, UP, DOWN }
+
+    private String name;
+    private Status status;
+    private Instant statusSince;
+    private Instant lastCheckedAt;
+    private long lastLatencyMicros;
+    // Exponentially weighted over recent probes
+    private long averageLatencyMicros;
+    // Failed share of the last probe-window probes
+    private double errorRatePercent;
+    private int consecutiveFailures;
+    private String lastError;
+}
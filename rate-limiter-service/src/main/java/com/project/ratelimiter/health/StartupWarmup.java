@@ -0,0 +1,171 @@
+package com.project.ratelimiter.health;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.ratelimiter.config.RateLimiterProperties;
+import com.project.ratelimiter.core.LuaScript;
+import com.project.ratelimiter.core.LuaScripts;
+import com.project.ratelimiter.dto.RateLimitRequest;
+import com.project.ratelimiter.dto.RateLimitResponse;
+import com.project.ratelimiter.service.RateLimiterService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs once after startup, before {@code /api/health/ready} lets traffic in: loads the Lua
+ * scripts (the first EVALSHA would otherwise miss and resend the script), opens the pool
+ * connections and runs checks through the service so the JIT has compiled the hot path.
+ *
+ * Every step is best effort: a dependency that is down is logged and the replica still becomes
+ * ready (readiness then follows the dependency probes as usual).
+ */
+@Component
+public class StartupWarmup {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+
+    static final String WARMUP_USER = "__warmup__";
+    // Redis connections opened together: the shared one plus pooled ones for blocking commands
+    private static final int REDIS_CONNECTIONS = 4;
+
+    private final RateLimiterProperties properties;
+    private final RateLimiterService rateLimiterService;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+
+    private volatile boolean complete;
+
+    public StartupWarmup(RateLimiterProperties properties,
+                         RateLimiterService rateLimiterService,
+                         RedisConnectionFactory redisConnectionFactory,
+                         DataSource dataSource,
+                         ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.rateLimiterService = rateLimiterService;
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.complete = !properties.getWarmup().isEnabled();
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (complete) {
+            return;
+        }
+        // Off the main thread: the server is already accepting liveness probes
+        Thread thread = new Thread(this::run, "startup-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void run() {
+        long started = System.currentTimeMillis();
+        boolean redisEngine = "redis".equals(properties.getEngine());
+        int scripts = redisEngine ? loadScripts() : 0;
+        int dbConnections = primeDatabasePool();
+        int redisConnections = redisEngine ? primeRedis() : 0;
+        int checks = exerciseChecks(properties.getWarmup().getIterations(),
+                started + properties.getWarmup().getMaxDurationMs());
+        complete = true;
+        logger.info("Warm-up finished in {}ms: {} scripts loaded, {} database and {} Redis connections, {} checks",
+                System.currentTimeMillis() - started, scripts, dbConnections, redisConnections, checks);
+    }
+
+    private int loadScripts() {
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            int loaded = 0;
+            for (LuaScript script : LuaScripts.ALL) {
+                String sha = connection.scriptingCommands().scriptLoad(script.getSource().getBytes(StandardCharsets.UTF_8));
+                if (!script.getSha1().equals(sha)) {
+                    logger.warn("SCRIPT LOAD of {} returned {}, expected {}", script, sha, script.getSha1());
+                }
+                loaded++;
+            }
+            return loaded;
+        } catch (Exception e) {
+            logger.warn("Warm-up could not load Lua scripts: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    // Hold minimum-idle connections at once so the pool opens them now rather than on first requests
+    private int primeDatabasePool() {
+        int target = dataSource instanceof HikariDataSource hikari ? Math.max(1, hikari.getMinimumIdle()) : 1;
+        List<Connection> held = new ArrayList<>(target);
+        try {
+            for (int i = 0; i < target; i++) {
+                Connection connection = dataSource.getConnection();
+                held.add(connection);
+                connection.isValid(1);
+            }
+        } catch (Exception e) {
+            logger.warn("Warm-up could not open database connections: {}", e.getMessage());
+        } finally {
+            for (Connection connection : held) {
+                try {
+                    connection.close();
+                } catch (Exception ignored) {
+                    // Returned to the pool or already broken
+                }
+            }
+        }
+        return held.size();
+    }
+
+    private int primeRedis() {
+        List<RedisConnection> held = new ArrayList<>(REDIS_CONNECTIONS);
+        try {
+            for (int i = 0; i < REDIS_CONNECTIONS; i++) {
+                RedisConnection connection = redisConnectionFactory.getConnection();
+                held.add(connection);
+                connection.ping();
+            }
+        } catch (Exception e) {
+            logger.warn("Warm-up could not open Redis connections: {}", e.getMessage());
+        } finally {
+            for (RedisConnection connection : held) {
+                try {
+                    connection.close();
+                } catch (Exception ignored) {
+                    // Already broken
+                }
+            }
+        }
+        return held.size();
+    }
+
+    // The controller's work minus Tomcat: parse the request, decide, serialize the response
+    private int exerciseChecks(int iterations, long deadline) {
+        int done = 0;
+        try {
+            for (; done < iterations && System.currentTimeMillis() < deadline; done++) {
+                String body = "{\"userId\":\"" + WARMUP_USER + "\",\"resource\":\"/warmup/" + (done % 8) + "\"}";
+                RateLimitRequest request = objectMapper.readValue(body, RateLimitRequest.class);
+                RateLimitResponse response = done % 10 == 9 ?
+                        rateLimiterService.getLimitStatus(request.getUserId(), request.getResource()) :
+                        rateLimiterService.allowRequest(request.getUserId(), request.getResource());
+                objectMapper.writeValueAsBytes(response);
+            }
+        } catch (Exception e) {
+            logger.warn("Warm-up checks stopped after {}: {}", done, e.getMessage());
+        }
+        return done;
+    }
+}
@@ -0,0 +1,345 @@
+package com.project.ratelimiter.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+public class RateLimitMetrics {
+
+    private final Counter requestsAllowedCounter;
+    private final Counter requestsDeniedCounter;
+    private final Counter luaScriptSuccessCounter;
+    private final Counter luaScriptFailureCounter;
+    private final Timer rateLimitCheckTimer;
+    private final DistributionSummary coalescedBatchSize;
+    private final MeterRegistry meterRegistry;
+
+    // Rolling 1s/1m/5m view next to the lifetime counters above, overall and per tier
+    private static final int[] ROLLING_WINDOWS = {1, 60, RollingWindow.MAX_SECONDS};
+    // Tiers come from admin config; anything beyond this shares one window
+    private static final int MAX_ROLLING_TIERS = 32;
+    private static final String OTHER_TIER = "other";
+    private final RollingWindow rollingOverall = new RollingWindow();
+    private final Map<String, RollingWindow> rollingByTier = new ConcurrentHashMap<>();
+
+    public RateLimitMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        // Counter: Total allowed requests
+        this.requestsAllowedCounter = Counter.builder("rate_limiter.requests.allowed")
+                .description("Total number of allowed requests")
+                .tag("result", "allowed")
+                .register(meterRegistry);
+
+        // Counter: Total denied requests
+        this.requestsDeniedCounter = Counter.builder("rate_limiter.requests.denied")
+                .description("Total number of denied requests")
+                .tag("result", "denied")
+                .register(meterRegistry);
+
+        // Counter: Lua script successes
+        this.luaScriptSuccessCounter = Counter.builder("rate_limiter.lua.success")
+                .description("Number of successful Lua script executions")
+                .register(meterRegistry);
+
+        // Counter: Lua script failures (fallback to Java)
+        this.luaScriptFailureCounter = Counter.builder("rate_limiter.lua.failure")
+                .description("Number of failed Lua script executions")
+                .register(meterRegistry);
+
+        // Timer: Rate limit check duration
+        this.rateLimitCheckTimer = Timer.builder("rate_limiter.check.duration")
+                .description("Time taken to check rate limit")
+                .publishPercentiles(0.5, 0.95, 0.99) // p50, p95, p99
+                .register(meterRegistry);
+
+        // Summary: checks answered per coalesced Redis call (only batches > 1)
+        this.coalescedBatchSize = DistributionSummary.builder("rate_limiter.coalesced.batch_size")
+                .description("Number of concurrent checks merged into one Lua script call")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record an allowed request
+     */
+    public void recordAllowed() {
+        requestsAllowedCounter.increment();
+    }
+
+    /**
+     * Record a denied request
+     */
+    public void recordDenied() {
+        requestsDeniedCounter.increment();
+    }
+
+    /**
+     * Record Lua script success
+     */
+    public void recordLuaSuccess() {
+        luaScriptSuccessCounter.increment();
+    }
+
+    /**
+     * Record Lua script failure
+     */
+    public void recordLuaFailure() {
+        luaScriptFailureCounter.increment();
+        rollingOverall.recordLuaFailure(System.currentTimeMillis());
+    }
+
+    /**
+     * Record a check answered from in-memory buckets because Redis is unavailable
+     */
+    public void recordLocalFallback() {
+        Counter.builder("rate_limiter.fallback.local")
+                .description("Checks answered by the per-instance in-memory fallback")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Record a completed check in the rolling windows
+     */
+    public void recordDecision(String tier, boolean allowed, long latencyNanos) {
+        long now = System.currentTimeMillis();
+        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(latencyNanos);
+        rollingOverall.recordDecision(now, allowed, latencyMicros);
+        rollingWindow(tier).recordDecision(now, allowed, latencyMicros);
+    }
+
+    private RollingWindow rollingWindow(String tier) {
+        String name = tier != null ? tier : "unknown";
+        RollingWindow window = rollingByTier.get(name);
+        if (window != null) {
+            return window;
+        }
+        if (rollingByTier.size() >= MAX_ROLLING_TIERS) {
+            name = OTHER_TIER;
+        }
+        return rollingByTier.computeIfAbsent(name, k -> new RollingWindow());
+    }
+
+    /**
+     * Record a coalesced script call answering {@code size} checks
+     */
+    public void recordCoalescedBatch(int size) {
+        coalescedBatchSize.record(size);
+    }
+
+    /**
+     * Record a check handled by the write-behind cache: answered locally or sent to Redis (sync)
+     */
+    public void recordWriteBehindCheck(String path) {
+        Counter.builder("rate_limiter.write_behind.checks")
+                .description("Checks seen by the write-behind bucket cache, by path")
+                .tag("path", path)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Record one pipelined write-back of {@code calls} buckets
+     */
+    public void recordWriteBehindFlush(int calls) {
+        Counter.builder("rate_limiter.write_behind.flushed")
+                .description("Bucket write-backs sent in pipelined batches")
+                .register(meterRegistry)
+                .increment(calls);
+    }
+
+    /**
+     * Record tokens granted locally that Redis no longer had when they were written back
+     */
+    public void recordWriteBehindOvergrant(long tokens) {
+        Counter.builder("rate_limiter.write_behind.overgranted")
+                .description("Locally granted tokens the shared bucket could not cover")
+                .register(meterRegistry)
+                .increment(tokens);
+    }
+
+    /**
+     * Record a check shed by the adaptive concurrency limiter
+     */
+    public void recordShed(String tier) {
+        Counter.builder("rate_limiter.overload.shed")
+                .description("Checks rejected by the adaptive concurrency limiter")
+                .tag("tier", tier)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Record a check dropped by the fair queue (queue full or latency budget missed)
+     */
+    public void recordFairQueueDrop(String tier, String reason) {
+        Counter.builder("rate_limiter.fair_queue.dropped")
+                .description("Checks dropped from the per-tier fair queue")
+                .tag("tier", tier)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Record an AIMD step of a resource's adaptive rate
+     */
+    public void recordAdaptiveStep(String direction) {
+        Counter.builder("rate_limiter.adaptive.steps")
+                .description("Adaptive rate scale changes caused by downstream feedback")
+                .tag("direction", direction)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Record a CONCURRENCY permit acquire attempt
+     */
+    public void recordPermit(boolean acquired) {
+        Counter.builder("rate_limiter.permits")
+                .description("Permit acquire attempts for CONCURRENCY limits")
+                .tag("result", acquired ? "acquired" : "denied")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Record decision events dropped or lost before reaching the stream
+     */
+    public void recordEventsDropped(String reason, int count) {
+        Counter.builder("rate_limiter.events.dropped")
+                .description("Decision events not published to the Redis Stream")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    /**
+     * Record decision events published to the stream
+     */
+    public void recordEventsPublished(int count) {
+        Counter.builder("rate_limiter.events.published")
+                .description("Decision events appended to the Redis Stream")
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    /**
+     * Expose a live value (e.g. current concurrency limit) as a gauge
+     */
+    public void registerGauge(String name, String description, Supplier<Number> value) {
+        Gauge.builder(name, value)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Time a rate limit check
+     */
+    public Timer.Sample startTimer() {
+        return Timer.start();
+    }
+
+    public void stopTimer(Timer.Sample sample) {
+        sample.stop(rateLimitCheckTimer);
+    }
+
+    /**
+     * Get metrics summary (for admin dashboard
+     */
+    public MetricsSummary getSummary() {
+        long allowed = (long) requestsAllowedCounter.count();
+        long denied = (long) requestsDeniedCounter.count();
+        long total = allowed + denied;
+
+        double blockRate = total > 0 ? (denied * 100.0 / total) : 0.0;
+
+        return MetricsSummary.builder()
+                .totalRequests(total)
+                .allowedRequests(allowed)
+                .deniedRequests(denied)
+                .blockRatePercent(blockRate)
+                .luaScriptSuccesses((long) luaScriptSuccessCounter.count())
+                .luaScriptFailures((long) luaScriptFailureCounter.count())
+                .build();
+    }
+
+    /**
+     * Rolling 1s/1m/5m rates and latency percentiles, overall and per tier
+     */
+    public RollingSummary getRollingSummary() {
+        long now = System.currentTimeMillis();
+        Map<String, Map<String, WindowStats>> tiers = new TreeMap<>();
+        rollingByTier.forEach((tier, window) -> tiers.put(tier, rollingStats(window, now)));
+
+        return RollingSummary.builder()
+                .timestampMillis(now)
+                .overall(rollingStats(rollingOverall, now))
+                .tiers(tiers)
+                .build();
+    }
+
+    private static Map<String, WindowStats> rollingStats(RollingWindow window, long now) {
+        Map<String, WindowStats> stats = new LinkedHashMap<>();
+        for (int seconds : ROLLING_WINDOWS) {
+            stats.put(seconds < 60 ? seconds + "s" : seconds / 60 + "m", window.stats(now, seconds));
+        }
+        return stats;
+    }
+
+    /**
+     * DTO for metrics summary
+     */
+    @lombok.Data
+    @lombok.Builder
+    public static class MetricsSummary {
+        private long totalRequests;
+        private long allowedRequests;
+        private long deniedRequests;
+        private double blockRatePercent;
+        private long luaScriptSuccesses;
+        private long luaScriptFailures;
+    }
+
+    /**
+     * DTO for the rolling view; windows keyed "1s", "1m", "5m"
+     */
+    @lombok.Data
+    @lombok.Builder
+    public static class RollingSummary {
+        private long timestampMillis;
+        private Map<String, WindowStats> overall;
+        // Lua failures are only counted in the overall windows (not always attributable to a tier)
+        private Map<String, Map<String, WindowStats>> tiers;
+    }
+
+    /**
+     * DTO for one rolling window (complete seconds only)
+     */
+    @lombok.Data
+    @lombok.Builder
+    public static class WindowStats {
+        private int windowSeconds;
+        private long allowed;
+        private long denied;
+        private long luaFailures;
+        private double requestsPerSecond;
+        private double deniedPerSecond;
+        private double blockRatePercent;
+        private long latencyP50Micros;
+        private long latencyP95Micros;
+        private long latencyP99Micros;
+        private long latencyMaxMicros;
+    }
+}
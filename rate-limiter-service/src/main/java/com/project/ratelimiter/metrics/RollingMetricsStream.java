@@ -0,0 +1,81 @@
+package com.project.ratelimiter.metrics;
+
+import com.project.ratelimiter.config.RateLimiterProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pushes the rolling metrics to Server-Sent Events subscribers at a fixed interval.
+ *
+ * One summary is computed per tick and sent to every subscriber, so the cost does not grow with
+ * the number of dashboards watching. Nothing is computed while nobody is subscribed.
+ */
+@Component
+public class RollingMetricsStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollingMetricsStream.class);
+
+    static final String EVENT_NAME = "rolling";
+
+    private final RateLimitMetrics metrics;
+    private final RateLimiterProperties.RollingMetrics config;
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+
+    public RollingMetricsStream(RateLimitMetrics metrics, RateLimiterProperties properties) {
+        this.metrics = metrics;
+        this.config = properties.getRollingMetrics();
+        metrics.registerGauge("rate_limiter.metrics.stream.subscribers", "Open rolling metrics SSE streams",
+                subscribers::size);
+    }
+
+    /**
+     * Open a stream, or null when the subscriber limit is reached
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= config.getMaxStreamSubscribers()) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(config.getStreamTimeoutMs());
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+        subscribers.add(emitter);
+
+        // First event right away instead of after up to one interval
+        send(emitter, metrics.getRollingSummary());
+        return emitter;
+    }
+
+    @Scheduled(fixedRateString = "${rate-limiter.rolling-metrics.stream-interval-ms:1000}")
+    public void broadcast() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        RateLimitMetrics.RollingSummary summary = metrics.getRollingSummary();
+        for (SseEmitter emitter : subscribers) {
+            send(emitter, summary);
+        }
+    }
+
+    private void send(SseEmitter emitter, RateLimitMetrics.RollingSummary summary) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .id(String.valueOf(summary.getTimestampMillis()))
+                    .data(summary, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // Client disconnected (or emitter already completed)
+            logger.debug("Dropping rolling metrics subscriber: {}", e.getMessage());
+            subscribers.remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+}
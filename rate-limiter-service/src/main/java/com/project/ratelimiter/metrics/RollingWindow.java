@@ -0,0 +1,164 @@
+package com.project.ratelimiter.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free ring of one-second buckets covering the last {@link #MAX_SECONDS} seconds.
+ *
+ * Writers index the ring by epoch second; the first writer to reach a bucket holding an older
+ * second claims it with a CAS and zeroes it. Increments racing with that reset can be lost, so
+ * the counts are approximate at second boundaries only. Readers never block writers.
+ *
+ * Latency goes into a log-linear histogram (4 sub-buckets per power of two, microseconds), so
+ * percentiles are bucket upper bounds: at most 25% above the true value.
+ */
+final class RollingWindow {
+
+    static final int MAX_SECONDS = 300;
+
+    // Bucket upper bounds in microseconds: 1, 2, 3, 4, 5, 6, 7, 8, 10, 12, 14, 16, 20, ... ~8.4s
+    private static final long[] LATENCY_BOUNDS = latencyBounds();
+
+    private final Slot[] slots = new Slot[MAX_SECONDS + 1];
+
+    RollingWindow() {
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    private static final class Slot {
+        final AtomicLong second = new AtomicLong(-1);
+        final AtomicLong allowed = new AtomicLong();
+        final AtomicLong denied = new AtomicLong();
+        final AtomicLong luaFailures = new AtomicLong();
+        final AtomicLong maxLatencyMicros = new AtomicLong();
+        // Last cell counts latencies above the largest bound
+        final AtomicLongArray latency = new AtomicLongArray(LATENCY_BOUNDS.length + 1);
+
+        void reset() {
+            allowed.set(0);
+            denied.set(0);
+            luaFailures.set(0);
+            maxLatencyMicros.set(0);
+            for (int i = 0; i < latency.length(); i++) {
+                latency.set(i, 0);
+            }
+        }
+    }
+
+    void recordDecision(long nowMillis, boolean allowed, long latencyMicros) {
+        Slot slot = slot(nowMillis / 1000);
+        if (slot == null) {
+            return;
+        }
+        (allowed ? slot.allowed : slot.denied).incrementAndGet();
+        slot.latency.incrementAndGet(latencyIndex(latencyMicros));
+        slot.maxLatencyMicros.accumulateAndGet(latencyMicros, Math::max);
+    }
+
+    void recordLuaFailure(long nowMillis) {
+        Slot slot = slot(nowMillis / 1000);
+        if (slot != null) {
+            slot.luaFailures.incrementAndGet();
+        }
+    }
+
+    // Null for a writer so late (clock step back, long pause) that its second was already recycled
+    private Slot slot(long second) {
+        Slot slot = slots[(int) (second % slots.length)];
+        long current = slot.second.get();
+        if (current == second) {
+            return slot;
+        }
+        if (current < second) {
+            if (slot.second.compareAndSet(current, second)) {
+                slot.reset();
+            }
+            return slot;
+        }
+        return null;
+    }
+
+    /**
+     * Totals over the {@code seconds} complete seconds before {@code nowMillis}; the second in
+     * progress is excluded so rates don't dip at the start of every second.
+     */
+    RateLimitMetrics.WindowStats stats(long nowMillis, int seconds) {
+        long currentSecond = nowMillis / 1000;
+        long allowed = 0;
+        long denied = 0;
+        long luaFailures = 0;
+        long maxLatency = 0;
+        long[] latency = new long[LATENCY_BOUNDS.length + 1];
+
+        for (long second = currentSecond - seconds; second < currentSecond; second++) {
+            Slot slot = slots[(int) (second % slots.length)];
+            if (slot.second.get() != second) {
+                continue; // no traffic that second
+            }
+            allowed += slot.allowed.get();
+            denied += slot.denied.get();
+            luaFailures += slot.luaFailures.get();
+            maxLatency = Math.max(maxLatency, slot.maxLatencyMicros.get());
+            for (int i = 0; i < latency.length; i++) {
+                latency[i] += slot.latency.get(i);
+            }
+        }
+
+        long total = allowed + denied;
+        return RateLimitMetrics.WindowStats.builder()
+                .windowSeconds(seconds)
+                .allowed(allowed)
+                .denied(denied)
+                .luaFailures(luaFailures)
+                .requestsPerSecond((double) total / seconds)
+                .deniedPerSecond((double) denied / seconds)
+                .blockRatePercent(total > 0 ? denied * 100.0 / total : 0.0)
+                .latencyP50Micros(percentile(latency, total, 0.50, maxLatency))
+                .latencyP95Micros(percentile(latency, total, 0.95, maxLatency))
+                .latencyP99Micros(percentile(latency, total, 0.99, maxLatency))
+                .latencyMaxMicros(maxLatency)
+                .build();
+    }
+
+    private static long percentile(long[] histogram, long total, double quantile, long max) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank) {
+                // Never report more than the largest latency actually observed
+                return i < LATENCY_BOUNDS.length ? Math.min(LATENCY_BOUNDS[i], max) : max;
+            }
+        }
+        return max;
+    }
+
+    static int latencyIndex(long micros) {
+        int index = Arrays.binarySearch(LATENCY_BOUNDS, micros);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static long[] latencyBounds() {
+        long[] bounds = new long[4 + 4 * 21];
+        int i = 0;
+        for (long v = 1; v <= 4; v++) {
+            bounds[i++] = v;
+        }
+        // [2^e, 2^(e+1)) split into four equal steps
+        for (int e = 2; e < 23; e++) {
+            long base = 1L << e;
+            long step = base / 4;
+            for (int k = 1; k <= 4; k++) {
+                bounds[i++] = base + k * step;
+            }
+        }
+        return bounds;
+    }
+}
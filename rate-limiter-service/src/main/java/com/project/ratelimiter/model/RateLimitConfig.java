@@ -44,6 +44,23 @@ public class RateLimitConfig {
     @Column(length = 50)
     private String algorithm;
 
+    //Splits the bucket across K Redis keys for very high global limits (null/1 = single key)
+    @Column(name = "shard_count")
+    private Integer shardCount;
+
+    //Refill follows the resource's AIMD scale (POST /api/feedback) between floorRpm and ceilingRpm
+    //instead of staying at requestsPerMinute (null/false = static)
+    @Column(name = "adaptive")
+    private Boolean adaptive;
+
+    //Lowest adaptive refill rate (null = 10% of requestsPerMinute)
+    @Column(name = "floor_rpm")
+    private Integer floorRpm;
+
+    //Highest adaptive refill rate, applied while the resource is healthy (null = requestsPerMinute)
+    @Column(name = "ceiling_rpm")
+    private Integer ceilingRpm;
+
     @Column(nullable = false)
     private Boolean enabled = true;
 
@@ -64,4 +81,8 @@ public class RateLimitConfig {
     public boolean isActive() {
         return enabled != null && enabled;
     }
+
+    public boolean isAdaptive() {
+        return adaptive != null && adaptive;
+    }
 }
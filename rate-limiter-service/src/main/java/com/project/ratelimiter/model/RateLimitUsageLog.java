@@ -9,12 +9,13 @@ import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.Instant;
 
+/**
+ * Schema is owned by schema.sql: the table is range-partitioned by day on created_at
+ * (PRIMARY KEY (id, created_at), BRIN index on created_at). Query with created_at bounds
+ * so Postgres only scans the matching partitions.
+ */
 @Entity
-@Table(name = "rate_limit_usage_logs",
-        indexes = {
-                @Index(name = "idx_user_timestamp", columnList = "user_id,created_at"),
-                @Index(name = "idx_allowed", columnList = "allowed,created_at")
-        })
+@Table(name = "rate_limit_usage_logs")
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,146 @@
+package com.project.ratelimiter.overload;
+
+import com.project.ratelimiter.config.RateLimiterProperties;
+import com.project.ratelimiter.metrics.RateLimitMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive in-flight concurrency limit protecting the limiter itself.
+ *
+ * Gradient algorithm: a slow-moving "long" RTT tracks the no-load latency of a check and a
+ * fast "short" RTT tracks current latency. When Redis or Postgres slows down the short RTT
+ * rises, the gradient (long / short) drops below 1 and the limit shrinks; when latency
+ * recovers the limit grows again by ~sqrt(limit) per sample. Requests above the limit are shed
+ * immediately instead of queueing on Tomcat threads.
+ *
+ * Tier-aware: each tier may only fill its share of the limit (free 60%, premium 85%,
+ * enterprise 100% by default), so lower tiers are shed first and enterprise traffic last.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    private final RateLimiterProperties.Overload config;
+    private final RateLimitMetrics metrics;
+    private final TierHints tierHints;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double longRttNanos;
+    private double shortRttNanos;
+    private long samples;
+
+    public AdaptiveConcurrencyLimiter(RateLimiterProperties properties, RateLimitMetrics metrics, TierHints tierHints) {
+        this.config = properties.getOverload();
+        this.metrics = metrics;
+        this.tierHints = tierHints;
+        this.limit = config.getInitialLimit();
+
+        metrics.registerGauge("rate_limiter.overload.limit",
+                "Current adaptive concurrency limit", () -> limit);
+        metrics.registerGauge("rate_limiter.overload.in_flight",
+                "Checks currently in flight", inFlight::get);
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Admit a check for {@code userId}, or return null if it should be shed
+     */
+    public Permit tryAcquire(String userId) {
+        String tier = tierHints.tierOf(userId);
+        double share = config.getTierShares().getOrDefault(tier, config.getDefaultShare());
+        int allowed = (int) Math.max(1, Math.floor(limit * share));
+
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                metrics.recordShed(tier);
+                logger.debug("Shedding check for user={} tier={} inFlight={} limit={}",
+                        userId, tier, current, limit);
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(current + 1, System.nanoTime());
+            }
+        }
+    }
+
+    /**
+     * One admitted check; must be released exactly once
+     */
+    public final class Permit {
+
+        private final int inFlightAtStart;
+        private long startNanos;
+
+        private Permit(int inFlightAtStart, long startNanos) {
+            this.inFlightAtStart = inFlightAtStart;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * The check reaches the backends now (after any fair-queue wait): the sample starts here
+         */
+        public void startSample() {
+            startNanos = System.nanoTime();
+        }
+
+        /**
+         * Completed normally: feed the latency sample
+         */
+        public void release() {
+            inFlight.decrementAndGet();
+            onSample(System.nanoTime() - startNanos, inFlightAtStart);
+        }
+
+        /**
+         * Failed: release without a latency sample (errors say nothing about queueing)
+         */
+        public void releaseWithoutSample() {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtStart) {
+        samples++;
+        shortRttNanos = shortRttNanos == 0 ? rttNanos : shortRttNanos * 0.9 + rttNanos * 0.1;
+
+        // Warm up the baseline quickly, then let it drift slowly
+        double longWeight = samples < 100 ? 1.0 / samples : 1.0 / 600;
+        longRttNanos = longRttNanos == 0 ? rttNanos : longRttNanos + (rttNanos - longRttNanos) * longWeight;
+
+        // After a long slowdown the baseline is inflated; decay it so the limit can recover
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        // Not enough load to learn anything about the limit
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, config.getRttTolerance() * longRttNanos / shortRttNanos));
+        double queueSize = Math.sqrt(limit);
+        double newLimit = limit * gradient + queueSize;
+        newLimit = limit * (1 - config.getSmoothing()) + newLimit * config.getSmoothing();
+
+        limit = Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), newLimit));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,81 @@
+package com.project.ratelimiter.overload;
+
+import com.project.ratelimiter.config.RateLimiterProperties;
+import com.project.ratelimiter.core.WeightedFairScheduler;
+import com.project.ratelimiter.metrics.RateLimitMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-tier weighted fair queue in front of the {@code RateLimiterService} call.
+ *
+ * The adaptive concurrency limit sheds what the backends cannot take at all; this decides who
+ * gets the backends when they are merely slow. Once {@code max-concurrent} checks are running,
+ * further checks wait in their tier's queue and freed slots are handed out by weight (see
+ * {@link WeightedFairScheduler}), so a free-tier flood queues (and is dropped) behind itself while
+ * enterprise checks keep getting through. Tiers come from {@link TierHints}.
+ */
+@Component
+public class FairTierScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(FairTierScheduler.class);
+
+    private final RateLimiterProperties.FairQueue config;
+    private final RateLimitMetrics metrics;
+    private final TierHints tierHints;
+    private final WeightedFairScheduler scheduler;
+
+    public FairTierScheduler(RateLimiterProperties properties, RateLimitMetrics metrics, TierHints tierHints) {
+        this.config = properties.getFairQueue();
+        this.metrics = metrics;
+        this.tierHints = tierHints;
+
+        // Every configured tier gets a queue, weight and budget default to those of unknown users
+        Set<String> tierNames = new HashSet<>(properties.getTiers().keySet());
+        tierNames.addAll(config.getWeights().keySet());
+        tierNames.addAll(config.getBudgetMs().keySet());
+        Map<String, WeightedFairScheduler.TierClass> tiers = new HashMap<>();
+        for (String tier : tierNames) {
+            tiers.put(tier, new WeightedFairScheduler.TierClass(
+                    config.getWeights().getOrDefault(tier, config.getDefaultWeight()),
+                    config.getBudgetMs().getOrDefault(tier, config.getDefaultBudgetMs())));
+        }
+        this.scheduler = new WeightedFairScheduler(config.getMaxConcurrent(), config.getQueueCapacity(), tiers,
+                new WeightedFairScheduler.TierClass(config.getDefaultWeight(), config.getDefaultBudgetMs()));
+
+        metrics.registerGauge("rate_limiter.fair_queue.running",
+                "Checks holding a fair queue slot", scheduler::getRunning);
+        metrics.registerGauge("rate_limiter.fair_queue.queued",
+                "Checks waiting in the per-tier fair queues", scheduler::getQueued);
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Wait for a turn for {@code userId}'s tier; null if the check was dropped
+     */
+    public WeightedFairScheduler.Slot acquire(String userId) {
+        String tier = tierHints.tierOf(userId);
+        WeightedFairScheduler.Slot slot;
+        try {
+            slot = scheduler.acquire(tier);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        if (!slot.isGranted()) {
+            metrics.recordFairQueueDrop(tier, slot.getDropReason().name().toLowerCase());
+            logger.debug("Dropped check for user={} tier={}: {}", userId, tier, slot.getDropReason());
+            return null;
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,32 @@
+package com.project.ratelimiter.overload;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded userId -> tier memory, learned from previous decisions so the overload gates can tell
+ * tiers apart before the check runs (no DB lookup in front of the check)
+ */
+@Component
+public class TierHints {
+
+    static final String UNKNOWN = "unknown";
+    private static final int MAX_HINTS = 100_000;
+
+    private final ConcurrentHashMap<String, String> hints = new ConcurrentHashMap<>();
+
+    public String tierOf(String userId) {
+        return hints.getOrDefault(userId, UNKNOWN);
+    }
+
+    public void remember(String userId, String tier) {
+        if (tier == null) {
+            return;
+        }
+        if (hints.size() >= MAX_HINTS) {
+            hints.clear();
+        }
+        hints.put(userId, tier);
+    }
+}
@@ -1,6 +1,7 @@
 package com.project.ratelimiter.repository;
 
 import com.project.ratelimiter.model.RateLimitConfig;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -32,6 +33,18 @@ public interface RateLimitConfigRepository extends JpaRepository<RateLimitConfig
     @Query("SELECT c.tier, COUNT(c) FROM RateLimitConfig c WHERE c.enabled = true GROUP BY c.tier")
     List<Object[]> countByTier();
 
+    //Keyset page: next rows after afterId in id order, optional filters (null = any)
+    @Query("SELECT c FROM RateLimitConfig c WHERE c.id > :afterId " +
+            "AND (:tier IS NULL OR c.tier = :tier) " +
+            "AND (:userId IS NULL OR c.userId = :userId) " +
+            "AND (:enabled IS NULL OR c.enabled = :enabled) " +
+            "ORDER BY c.id")
+    List<RateLimitConfig> findPage(@Param("afterId") long afterId,
+                                   @Param("tier") String tier,
+                                   @Param("userId") String userId,
+                                   @Param("enabled") Boolean enabled,
+                                   Limit limit);
+
     //Find configs that have been disabled for >30 days
     @Query("SELECT c FROM RateLimitConfig c WHERE c.enabled = false AND c.updatedAt < :cutoffDate")
     List<RateLimitConfig> findDisabledConfigsOlderThan(@Param("cutoffDate") java.time.Instant cutoffDate);
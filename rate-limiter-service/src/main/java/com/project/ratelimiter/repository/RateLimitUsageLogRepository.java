@@ -9,6 +9,7 @@ import org.springframework.stereotype.Repository;
 import java.time.Instant;
 import java.util.List;
 
+// Every query bounds created_at (the partition key), so Postgres only scans the days in range
 @Repository
 public interface RateLimitUsageLogRepository extends JpaRepository<RateLimitUsageLog, Long>{
 
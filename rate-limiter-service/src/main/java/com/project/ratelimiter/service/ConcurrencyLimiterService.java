@@ -0,0 +1,21 @@
+package com.project.ratelimiter.service;
+
+import com.project.ratelimiter.dto.PermitResponse;
+
+/**
+ * CONCURRENCY limits: bound in-flight work (e.g. report generation) rather than requests per minute.
+ * Callers acquire a permit before starting the work and release it when done; permits that are
+ * never released expire with their lease.
+ */
+public interface ConcurrencyLimiterService {
+
+    /**
+     * Try to take a permit for {@code leaseSeconds} (null = configured default).
+     */
+    PermitResponse acquire(String userId, String resource, Integer leaseSeconds);
+
+    /**
+     * Give a permit back. Returns false if it was unknown or its lease had already expired.
+     */
+    boolean release(String userId, String resource, String permitId);
+}
@@ -31,4 +31,10 @@ public interface RateLimiterService {
      */
     long getResetTime(String userId, String resource);
 
+    /**
+     * Remaining tokens and reset time in one read, without consuming a token.
+     * Backs GET /api/limit-status; may be served by a Redis replica.
+     */
+    RateLimitResponse getLimitStatus(String userId, String resource);
+
 }
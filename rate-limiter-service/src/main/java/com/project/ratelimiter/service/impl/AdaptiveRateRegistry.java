@@ -0,0 +1,120 @@
+package com.project.ratelimiter.service.impl;
+
+import com.project.ratelimiter.config.RateLimiterProperties;
+import com.project.ratelimiter.core.AdaptiveRateEngine;
+import com.project.ratelimiter.core.RedisScriptExecutor;
+import com.project.ratelimiter.health.DependencyHealthMonitor;
+import com.project.ratelimiter.metrics.RateLimitMetrics;
+import com.project.ratelimiter.model.RateLimitConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Effective refill rates of adaptive configs, from the per-resource AIMD scale in Redis
+ * ({@link AdaptiveRateEngine}).
+ *
+ * Checks never wait for Redis here: each replica keeps the scale of every resource it has seen
+ * an adaptive config for and re-reads them every {@code refresh-interval-ms}, so all replicas
+ * converge within one interval of a report. A report updates the local copy at once.
+ */
+@Component
+public class AdaptiveRateRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveRateRegistry.class);
+
+    private final RateLimiterProperties.Adaptive config;
+    private final AdaptiveRateEngine engine;
+    private final DependencyHealthMonitor healthMonitor;
+    private final RateLimitMetrics metrics;
+
+    // resource -> last known scale; only resources with adaptive configs
+    private final ConcurrentHashMap<String, Double> scales = new ConcurrentHashMap<>();
+
+    public AdaptiveRateRegistry(RedisScriptExecutor redisScriptExecutor,
+                                RateLimiterProperties properties,
+                                DependencyHealthMonitor healthMonitor,
+                                RateLimitMetrics metrics) {
+        this.config = properties.getAdaptive();
+        this.engine = new AdaptiveRateEngine(redisScriptExecutor, AdaptiveRateEngine.Policy.builder()
+                .increaseStep(config.getIncreaseStep())
+                .decreaseFactor(config.getDecreaseFactor())
+                .minScale(config.getMinScale())
+                .decreaseCooldownMillis(config.getDecreaseCooldownMs())
+                .increaseIntervalMillis(config.getIncreaseIntervalMs())
+                .stateTtlMillis(TimeUnit.SECONDS.toMillis(config.getStateTtlSeconds()))
+                .build());
+        this.healthMonitor = healthMonitor;
+        this.metrics = metrics;
+
+        metrics.registerGauge("rate_limiter.adaptive.resources",
+                "Resources with adaptive configs tracked by this instance", scales::size);
+    }
+
+    /**
+     * Refill rate to apply for an adaptive config right now
+     */
+    public int effectiveRpm(RateLimitConfig rateLimitConfig) {
+        // First sight of the resource starts at its ceiling, the next refresh picks up the shared scale
+        double scale = scales.computeIfAbsent(rateLimitConfig.getResource(), resource -> 1.0);
+        return AdaptiveRateEngine.effectiveRpm(floorOf(rateLimitConfig), ceilingOf(rateLimitConfig), scale);
+    }
+
+    public static int ceilingOf(RateLimitConfig config) {
+        return config.getCeilingRpm() != null ? config.getCeilingRpm() : config.getRequestsPerMinute();
+    }
+
+    public static int floorOf(RateLimitConfig config) {
+        return config.getFloorRpm() != null ? config.getFloorRpm() : Math.max(1, config.getRequestsPerMinute() / 10);
+    }
+
+    /**
+     * Whether a report with these signals counts as congestion (null signals are not considered)
+     */
+    public boolean isCongested(Double latencyMs, Double errorRate, Double targetLatencyMs) {
+        double target = targetLatencyMs != null ? targetLatencyMs : config.getTargetLatencyMs();
+        return (latencyMs != null && latencyMs > target)
+                || (errorRate != null && errorRate > config.getMaxErrorRate());
+    }
+
+    /**
+     * Apply one downstream report for {@code resource}; throws if Redis is unavailable
+     */
+    public AdaptiveRateEngine.Step report(String resource, boolean congested) {
+        AdaptiveRateEngine.Step step = engine.report(resource, congested);
+        scales.put(resource, step.getScale());
+        if (step.getChange() != 0) {
+            metrics.recordAdaptiveStep(step.getChange() < 0 ? "decrease" : "increase");
+            logger.info("Adaptive rate for resource={} {} to scale {}",
+                    resource, step.getChange() < 0 ? "decreased" : "increased", step.getScale());
+        }
+        return step;
+    }
+
+    /**
+     * Shared scale of {@code resource}, read from Redis
+     */
+    public double scale(String resource) {
+        return engine.scale(resource);
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limiter.adaptive.refresh-interval-ms:1000}")
+    public void refresh() {
+        if (scales.isEmpty() || healthMonitor.isRedisDown()) {
+            return;
+        }
+        for (String resource : scales.keySet()) {
+            try {
+                scales.put(resource, engine.scale(resource));
+            } catch (Exception e) {
+                // Keep the last known scale until Redis answers again
+                logger.debug("Could not refresh adaptive scale of resource={}: {}", resource, e.getMessage());
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.project.ratelimiter.service.impl;
+
+import com.project.ratelimiter.config.RateLimiterProperties;
+import com.project.ratelimiter.core.CountMinSketchEngine;
+import com.project.ratelimiter.core.Decision;
+import com.project.ratelimiter.core.RedisScriptExecutor;
+import com.project.ratelimiter.dto.RateLimitResponse;
+import com.project.ratelimiter.health.DependencyHealthMonitor;
+import com.project.ratelimiter.metrics.RateLimitMetrics;
+import com.project.ratelimiter.service.RateLimiterService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-IP limits for requests without a userId, backed by {@link CountMinSketchEngine}.
+ *
+ * Redis memory is fixed per resource however many IPs show up, at the cost of approximate
+ * counts (see the engine for the error bounds). While Redis is unavailable, anonymous requests
+ * go back to the shared "anonymous" bucket of {@link RateLimiterService}.
+ */
+@Service
+public class ClientIpRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientIpRateLimiter.class);
+
+    static final String ANONYMOUS = "anonymous";
+
+    private final RateLimiterProperties.IpLimit config;
+    private final CountMinSketchEngine engine;
+    private final RateLimiterService rateLimiterService;
+    private final DependencyHealthMonitor healthMonitor;
+    private final RateLimitMetrics metrics;
+
+    public ClientIpRateLimiter(RedisScriptExecutor redisScriptExecutor,
+                               RateLimiterProperties properties,
+                               RateLimiterService rateLimiterService,
+                               DependencyHealthMonitor healthMonitor,
+                               RateLimitMetrics metrics) {
+        this.config = properties.getIpLimit();
+        this.engine = new CountMinSketchEngine(redisScriptExecutor,
+                config.getSketchDepth(),
+                config.getSketchWidth(),
+                TimeUnit.SECONDS.toMillis(config.getWindowSeconds()),
+                config.getSeed());
+        this.rateLimiterService = rateLimiterService;
+        this.healthMonitor = healthMonitor;
+        this.metrics = metrics;
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    public RateLimitResponse allowRequest(String clientIp, String resource) {
+        if (healthMonitor.isRedisDown()) {
+            return rateLimiterService.allowRequest(ANONYMOUS, resource);
+        }
+
+        long started = System.nanoTime();
+        Decision decision;
+        try {
+            decision = engine.tryAcquire(resource, clientIp, config.getRequestsPerWindow());
+        } catch (Exception e) {
+            logger.warn("Sketch check failed, using the shared anonymous bucket: {}", e.getMessage());
+            metrics.recordLuaFailure();
+            return rateLimiterService.allowRequest(ANONYMOUS, resource);
+        }
+        metrics.recordLuaSuccess();
+
+        boolean allowed = decision.isAllowed();
+        if (allowed) {
+            metrics.recordAllowed();
+        } else {
+            metrics.recordDenied();
+        }
+        metrics.recordDecision(ANONYMOUS, allowed, System.nanoTime() - started);
+
+        return RateLimitResponse.builder()
+                .allowed(allowed)
+                .remainingTokens(decision.getRemainingTokens())
+                .limit(config.getRequestsPerWindow())
+                .resetTime(Instant.ofEpochMilli(decision.getResetTimeMillis()))
+                .tier(ANONYMOUS)
+                .message(allowed ?
+                        "Request allowed (per-IP limit)" :
+                        String.format("Rate limit exceeded. Limit: %d req per %ds per IP",
+                                config.getRequestsPerWindow(), config.getWindowSeconds()))
+                .metadata(RateLimitResponse.RateLimitMetadata.builder()
+                        .algorithm("COUNT_MIN_SKETCH")
+                        .windowDuration(config.getWindowSeconds())
+                        .build())
+                .build();
+    }
+
+    /**
+     * Client address: the X-Forwarded-For entry added by the outermost trusted proxy. Entries to
+     * its left are client-supplied and can be forged, so they are ignored.
+     */
+    public String clientIp(String forwardedFor, String remoteAddr) {
+        int hops = config.getTrustedProxyHops();
+        if (forwardedFor == null || forwardedFor.isBlank() || hops <= 0) {
+            return remoteAddr;
+        }
+        String[] entries = forwardedFor.split(",");
+        String entry = entries[Math.max(0, entries.length - hops)].trim();
+        return entry.isEmpty() ? remoteAddr : entry;
+    }
+}
@@ -0,0 +1,299 @@
+package com.project.ratelimiter.service.impl;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.ratelimiter.dto.BulkImportReport;
+import com.project.ratelimiter.dto.RateLimitConfigDTO;
+import com.project.ratelimiter.model.RateLimitConfig;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk config upsert from CSV or JSON lines.
+ *
+ * Input is read line by line and handled in chunks: each chunk is validated, written with one
+ * JDBC batch of INSERT ... ON CONFLICT (user_id, resource) DO UPDATE, and pushed to the Redis
+ * config mirror in one pipelined call (with the row ids, read back in one query per chunk). Memory is bounded by the chunk size, not the upload.
+ */
+@Component
+public class ConfigBulkImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigBulkImporter.class);
+
+    public static final int CHUNK_SIZE = 1000;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO rate_limit_configs (user_id, resource, tier, requests_per_minute, burst_capacity, " +
+                    "algorithm, shard_count, adaptive, floor_rpm, ceiling_rpm, enabled, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, now(), now()) " +
+                    "ON CONFLICT (user_id, resource) DO UPDATE SET " +
+                    "tier = EXCLUDED.tier, " +
+                    "requests_per_minute = EXCLUDED.requests_per_minute, " +
+                    "burst_capacity = EXCLUDED.burst_capacity, " +
+                    "algorithm = EXCLUDED.algorithm, " +
+                    "shard_count = EXCLUDED.shard_count, " +
+                    "adaptive = EXCLUDED.adaptive, " +
+                    "floor_rpm = EXCLUDED.floor_rpm, " +
+                    "ceiling_rpm = EXCLUDED.ceiling_rpm, " +
+                    "enabled = EXCLUDED.enabled, " +
+                    "updated_at = now()";
+
+    public enum Format { CSV, NDJSON }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final RedisConfigMirror configMirror;
+    private final ObjectMapper objectMapper;
+
+    public ConfigBulkImporter(DataSource dataSource,
+                              PlatformTransactionManager transactionManager,
+                              Validator validator,
+                              RedisConfigMirror configMirror,
+                              ObjectMapper objectMapper) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.configMirror = configMirror;
+        // Unknown columns/properties in an upload are an error, not silently dropped
+        this.objectMapper = objectMapper.copy().enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    private record Row(long line, RateLimitConfigDTO config) {
+    }
+
+    public BulkImportReport importConfigs(Reader input, Format format) throws IOException {
+        Progress progress = new Progress();
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        BufferedReader reader = new BufferedReader(input);
+        String[] csvHeader = null;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && csvHeader == null) {
+                csvHeader = parseCsvLine(line);
+                continue;
+            }
+            progress.received++;
+
+            RateLimitConfigDTO dto;
+            try {
+                dto = format == Format.CSV ? fromCsv(csvHeader, line) : objectMapper.readValue(line, RateLimitConfigDTO.class);
+            } catch (Exception e) {
+                progress.fail(lineNumber, null, null, "Unparseable row: " + e.getMessage());
+                continue;
+            }
+
+            String violations = validator.validate(dto).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            if (!violations.isEmpty()) {
+                progress.fail(lineNumber, dto.getUserId(), dto.getResource(), violations);
+                continue;
+            }
+
+            chunk.add(new Row(lineNumber, dto));
+            if (chunk.size() == CHUNK_SIZE) {
+                writeChunk(chunk, progress);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, progress);
+        }
+
+        logger.info("Bulk import finished: received={}, upserted={}, failed={}, batches={}",
+                progress.received, progress.upserted, progress.failed, progress.batches);
+
+        return BulkImportReport.builder()
+                .received(progress.received)
+                .upserted(progress.upserted)
+                .failed(progress.failed)
+                .batches(progress.batches)
+                .errors(progress.errors)
+                .errorsTruncated(progress.failed > progress.errors.size())
+                .build();
+    }
+
+    private void writeChunk(List<Row> chunk, Progress progress) {
+        progress.batches++;
+        List<Row> written;
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(UPSERT_SQL, chunk, chunk.size(), ConfigBulkImporter::bind));
+            written = chunk;
+        } catch (DataAccessException e) {
+            // One bad row fails the whole batch: retry row by row to find and report it
+            logger.warn("Bulk upsert batch failed, retrying {} rows individually: {}", chunk.size(), e.getMessage());
+            written = new ArrayList<>();
+            for (Row row : chunk) {
+                try {
+                    jdbcTemplate.update(UPSERT_SQL, ps -> bind(ps, row));
+                    written.add(row);
+                } catch (DataAccessException rowError) {
+                    progress.fail(row.line(), row.config().getUserId(), row.config().getResource(),
+                            rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        progress.upserted += written.size();
+
+        // One mirror update per batch, not per row. Mirrored hashes carry the row id, which the
+        // batch upsert does not return: read the chunk's ids back in one query.
+        if (!configMirror.isEnabled() || written.isEmpty()) {
+            return;
+        }
+        Map<String, Long> ids = idsOf(written);
+        List<RateLimitConfig> configs = new ArrayList<>(written.size());
+        for (Row row : written) {
+            Long id = ids.get(idKey(row.config().getUserId(), row.config().getResource()));
+            if (id != null) {
+                RateLimitConfig config = toEntity(row.config());
+                config.setId(id);
+                configs.add(config);
+            }
+        }
+        configMirror.putAll(configs);
+    }
+
+    private Map<String, Long> idsOf(List<Row> rows) {
+        String pairs = rows.stream().map(row -> "(?, ?)").collect(Collectors.joining(", "));
+        Object[] args = new Object[rows.size() * 2];
+        for (int i = 0; i < rows.size(); i++) {
+            args[2 * i] = rows.get(i).config().getUserId();
+            args[2 * i + 1] = rows.get(i).config().getResource();
+        }
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, user_id, resource FROM rate_limit_configs WHERE (user_id, resource) IN (" + pairs + ")",
+                rs -> {
+                    ids.put(idKey(rs.getString("user_id"), rs.getString("resource")), rs.getLong("id"));
+                }, args);
+        return ids;
+    }
+
+    private static String idKey(String userId, String resource) {
+        return userId + '\u0000' + resource;
+    }
+
+    private static void bind(PreparedStatement ps, Row row) throws SQLException {
+        RateLimitConfigDTO dto = row.config();
+        ps.setString(1, dto.getUserId());
+        ps.setString(2, dto.getResource());
+        ps.setString(3, dto.getTier());
+        ps.setInt(4, dto.getRequestsPerMinute());
+        ps.setObject(5, dto.getBurstCapacity(), Types.INTEGER);
+        ps.setString(6, dto.getAlgorithm());
+        ps.setObject(7, dto.getShardCount(), Types.INTEGER);
+        ps.setObject(8, dto.getAdaptive(), Types.BOOLEAN);
+        ps.setObject(9, dto.getFloorRpm(), Types.INTEGER);
+        ps.setObject(10, dto.getCeilingRpm(), Types.INTEGER);
+        ps.setBoolean(11, dto.getEnabled() != null ? dto.getEnabled() : true);
+    }
+
+    private static RateLimitConfig toEntity(RateLimitConfigDTO dto) {
+        return RateLimitConfig.builder()
+                .userId(dto.getUserId())
+                .resource(dto.getResource())
+                .tier(dto.getTier())
+                .requestsPerMinute(dto.getRequestsPerMinute())
+                .burstCapacity(dto.getBurstCapacity())
+                .algorithm(dto.getAlgorithm())
+                .shardCount(dto.getShardCount())
+                .adaptive(dto.getAdaptive())
+                .floorRpm(dto.getFloorRpm())
+                .ceilingRpm(dto.getCeilingRpm())
+                .enabled(dto.getEnabled() != null ? dto.getEnabled() : true)
+                .build();
+    }
+
+    // CSV columns are matched by header name (DTO property names), empty cell = null
+    private RateLimitConfigDTO fromCsv(String[] header, String line) {
+        String[] cells = parseCsvLine(line);
+        if (cells.length > header.length) {
+            throw new IllegalArgumentException("expected " + header.length + " columns, got " + cells.length);
+        }
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < cells.length; i++) {
+            if (!cells[i].isEmpty()) {
+                values.put(header[i].trim(), cells[i]);
+            }
+        }
+        return objectMapper.convertValue(values, RateLimitConfigDTO.class);
+    }
+
+    // Comma-separated, double quotes around cells containing commas ("" = literal quote)
+    static String[] parseCsvLine(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString().trim());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString().trim());
+        return cells.toArray(new String[0]);
+    }
+
+    private static class Progress {
+        long received;
+        long upserted;
+        long failed;
+        long batches;
+        final List<BulkImportReport.RowError> errors = new ArrayList<>();
+
+        void fail(long line, String userId, String resource, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(BulkImportReport.RowError.builder()
+                        .line(line)
+                        .userId(userId)
+                        .resource(resource)
+                        .message(message)
+                        .build());
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.project.ratelimiter.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.ratelimiter.dto.RateLimitConfigDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams rate_limit_configs as JSON lines with constant memory.
+ *
+ * Rows are read through a server-side cursor (JDBC fetch size; Postgres only honours it inside a
+ * transaction) and written one line at a time, bypassing the persistence context entirely.
+ */
+@Component
+public class ConfigExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigExporter.class);
+
+    private static final int FETCH_SIZE = 1000;
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public ConfigExporter(DataSource dataSource,
+                          PlatformTransactionManager transactionManager,
+                          ObjectMapper objectMapper) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write every config matching the filters (null = any) to {@code out}, one JSON object per line,
+     * in id order. Returns the number of rows written.
+     */
+    public long export(String tier, String userId, Boolean enabled, OutputStream out) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, user_id, resource, tier, requests_per_minute, burst_capacity, algorithm, " +
+                        "shard_count, adaptive, floor_rpm, ceiling_rpm, enabled, created_at, updated_at " +
+                        "FROM rate_limit_configs WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (tier != null) {
+            sql.append(" AND tier = ?");
+            args.add(tier);
+        }
+        if (userId != null) {
+            sql.append(" AND user_id = ?");
+            args.add(userId);
+        }
+        if (enabled != null) {
+            sql.append(" AND enabled = ?");
+            args.add(enabled);
+        }
+        sql.append(" ORDER BY id");
+
+        long[] rows = {0};
+        readOnlyTransaction.executeWithoutResult(status ->
+                jdbcTemplate.query(sql.toString(), rs -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(toDto(rs)));
+                        out.write(NEWLINE);
+                    } catch (IOException e) {
+                        // Client went away: abort the cursor instead of reading the rest of the table
+                        throw new UncheckedIOException(e);
+                    }
+                    rows[0]++;
+                }, args.toArray()));
+
+        logger.info("Exported {} rate limit configs (tier={}, userId={}, enabled={})", rows[0], tier, userId, enabled);
+        return rows[0];
+    }
+
+    private static RateLimitConfigDTO toDto(ResultSet rs) throws SQLException {
+        return RateLimitConfigDTO.builder()
+                .id(rs.getLong("id"))
+                .userId(rs.getString("user_id"))
+                .resource(rs.getString("resource"))
+                .tier(rs.getString("tier"))
+                .requestsPerMinute(rs.getInt("requests_per_minute"))
+                .burstCapacity(rs.getObject("burst_capacity", Integer.class))
+                .algorithm(rs.getString("algorithm"))
+                .shardCount(rs.getObject("shard_count", Integer.class))
+                .adaptive(rs.getObject("adaptive", Boolean.class))
+                .floorRpm(rs.getObject("floor_rpm", Integer.class))
+                .ceilingRpm(rs.getObject("ceiling_rpm", Integer.class))
+                .enabled(rs.getObject("enabled", Boolean.class))
+                .createdAt(toInstant(rs.getTimestamp("created_at")))
+                .updatedAt(toInstant(rs.getTimestamp("updated_at")))
+                .build();
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+}
@@ -0,0 +1,134 @@
+package com.project.ratelimiter.service.impl;
+
+import com.project.ratelimiter.config.RateLimiterProperties;
+import com.project.ratelimiter.core.ConfigResolver;
+import com.project.ratelimiter.core.Decision;
+import com.project.ratelimiter.core.GossipEngine;
+import com.project.ratelimiter.core.LimitSpec;
+import com.project.ratelimiter.dto.RateLimitResponse;
+import com.project.ratelimiter.metrics.RateLimitMetrics;
+import com.project.ratelimiter.service.RateLimiterService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Redis-free {@link RateLimiterService}: every instance decides from its own view of the cluster's
+ * counts, exchanged over UDP by {@link GossipEngine}. Enabled with {@code rate-limiter.engine=gossip}.
+ *
+ * Limits are approximate (bounded overshoot, see the engine) and counted per sliding window
+ * rather than as a token bucket, so burst-capacity does not apply.
+ */
+@Service
+@ConditionalOnProperty(prefix = "rate-limiter", name = "engine", havingValue = "gossip")
+public class GossipRateLimiter implements RateLimiterService {
+
+    private final ConfigResolver configResolver;
+    private final RateLimitMetrics metrics;
+    private final GossipEngine engine;
+    private final long windowSeconds;
+
+    public GossipRateLimiter(RateLimiterProperties properties,
+                             ConfigResolver configResolver,
+                             RateLimitMetrics metrics) {
+        RateLimiterProperties.Gossip config = properties.getGossip();
+        this.configResolver = configResolver;
+        this.metrics = metrics;
+        this.engine = new GossipEngine(config.getNodeIndex(),
+                parseMembers(config.getMembers()),
+                config.getWindowMs(),
+                config.getSyncIntervalMs());
+        this.windowSeconds = Math.max(1, config.getWindowMs() / 1000);
+
+        metrics.registerGauge("rate_limiter.gossip.keys", "Keys tracked by the gossip engine", engine::getKeyCount);
+        metrics.registerGauge("rate_limiter.gossip.datagrams.sent", "Gossip datagrams sent", engine::getDatagramsSent);
+        metrics.registerGauge("rate_limiter.gossip.datagrams.received", "Gossip datagrams merged", engine::getDatagramsReceived);
+        metrics.registerGauge("rate_limiter.gossip.datagrams.rejected", "Malformed or foreign datagrams", engine::getDatagramsRejected);
+    }
+
+    static List<InetSocketAddress> parseMembers(List<String> members) {
+        return members.stream()
+                .map(member -> {
+                    int colon = member.lastIndexOf(':');
+                    if (colon < 0) {
+                        throw new IllegalArgumentException("Gossip member must be host:port: " + member);
+                    }
+                    return new InetSocketAddress(member.substring(0, colon).trim(),
+                            Integer.parseInt(member.substring(colon + 1).trim()));
+                })
+                .toList();
+    }
+
+    @PostConstruct
+    public void start() throws SocketException {
+        engine.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        engine.close();
+    }
+
+    @Override
+    public RateLimitResponse allowRequest(String userId, String resource) {
+        long started = System.nanoTime();
+        LimitSpec config = configResolver.resolve(userId, resource);
+        Decision decision = engine.tryConsume(config);
+        long limit = engine.limitPerWindow(config);
+        boolean allowed = decision.isAllowed();
+
+        if (allowed) {
+            metrics.recordAllowed();
+        } else {
+            metrics.recordDenied();
+        }
+        metrics.recordDecision(config.getTier(), allowed, System.nanoTime() - started);
+
+        return RateLimitResponse.builder()
+                .allowed(allowed)
+                .remainingTokens(decision.getRemainingTokens())
+                .limit(limit)
+                .resetTime(Instant.ofEpochMilli(decision.getResetTimeMillis()))
+                .tier(config.getTier())
+                .message(allowed ?
+                        String.format("Request allowed (%s tier) [Gossip]", config.getTier()) :
+                        String.format("Rate limit exceeded. Limit: %d req per %ds (%s tier) [Gossip]",
+                                limit, windowSeconds, config.getTier()))
+                .metadata(RateLimitResponse.RateLimitMetadata.builder()
+                        .algorithm("SLIDING_WINDOW_GOSSIP")
+                        .windowDuration(windowSeconds)
+                        .build())
+                .build();
+    }
+
+    @Override
+    public long getRemainingTokens(String userId, String resource) {
+        return getLimitStatus(userId, resource).getRemainingTokens();
+    }
+
+    @Override
+    public long getResetTime(String userId, String resource) {
+        return getLimitStatus(userId, resource).getResetTime().toEpochMilli();
+    }
+
+    @Override
+    public RateLimitResponse getLimitStatus(String userId, String resource) {
+        LimitSpec config = configResolver.resolve(userId, resource);
+        Decision status = engine.peek(config);
+
+        return RateLimitResponse.builder()
+                .allowed(status.isAllowed())
+                .remainingTokens(status.getRemainingTokens())
+                .limit(engine.limitPerWindow(config))
+                .resetTime(Instant.ofEpochMilli(status.getResetTimeMillis()))
+                .tier(config.getTier())
+                .message(status.isAllowed() ? "Quota available" : "Quota exhausted")
+                .build();
+    }
+}
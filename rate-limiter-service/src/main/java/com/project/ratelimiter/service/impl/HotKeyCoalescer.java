@@ -0,0 +1,135 @@
+package com.project.ratelimiter.service.impl;
+
+import com.project.ratelimiter.core.BatchDecision;
+import com.project.ratelimiter.core.BucketKeys;
+import com.project.ratelimiter.core.Decision;
+import com.project.ratelimiter.core.LimitSpec;
+import com.project.ratelimiter.core.TokenBucketEngine;
+import com.project.ratelimiter.metrics.RateLimitMetrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Merges concurrent checks for the same userId + resource into one script call.
+ *
+ * The first check for a key goes straight to Redis. Checks that arrive while that call is
+ * in flight queue up behind it; when it returns, the oldest queued thread is promoted and sends
+ * the whole queue as a single call with cost N. The batching window is therefore the Redis
+ * round trip itself: an idle key pays no extra latency, a hot key turns N round trips into one.
+ *
+ * Allow/deny stays exact: the script grants whole tokens in arrival order, so the first
+ * {@code granted} callers are allowed and the rest denied, as if they had run one by one.
+ */
+class HotKeyCoalescer {
+
+    private final TokenBucketEngine engine;
+    private final RateLimitMetrics metrics;
+    private final int maxBatchSize;
+
+    private final ConcurrentHashMap<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    HotKeyCoalescer(TokenBucketEngine engine, RateLimitMetrics metrics, int maxBatchSize) {
+        this.engine = engine;
+        this.metrics = metrics;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    /**
+     * Per-key queue; busy while a script call for the key is in flight
+     */
+    private static final class Lane {
+        final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+        boolean busy;
+    }
+
+    private static final class Waiter {
+        // Completed when this thread has to send a batch (includes itself)
+        final CompletableFuture<List<Waiter>> turn = new CompletableFuture<>();
+        // Completed with this caller's decision (or the batch's failure)
+        final CompletableFuture<Decision> decision = new CompletableFuture<>();
+    }
+
+    Decision tryConsume(LimitSpec spec) {
+        String key = BucketKeys.bucket(spec.getUserId(), spec.getResource());
+        Lane lane = lanes.computeIfAbsent(key, k -> new Lane());
+        Waiter self = new Waiter();
+
+        List<Waiter> batch = null;
+        synchronized (lane) {
+            if (lane.busy) {
+                lane.queue.add(self);
+            } else {
+                lane.busy = true;
+                batch = List.of(self);
+            }
+        }
+
+        if (batch == null) {
+            // Either a leader answers for us, or we are promoted to send the next batch.
+            // No timeout needed: every batch ends (reply or Redis client timeout) and hands off.
+            CompletableFuture.anyOf(self.turn, self.decision).join();
+            if (!self.decision.isDone()) {
+                batch = self.turn.join();
+            }
+        }
+
+        if (batch != null) {
+            sendBatch(key, lane, spec, batch);
+        }
+
+        try {
+            return self.decision.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private void sendBatch(String key, Lane lane, LimitSpec spec, List<Waiter> batch) {
+        try {
+            BatchDecision result = engine.tryConsume(spec, batch.size());
+            if (batch.size() > 1) {
+                metrics.recordCoalescedBatch(batch.size());
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).decision.complete(result.forCaller(i));
+            }
+        } catch (Throwable e) {
+            // Every caller in the batch falls back individually; an Error too, or they would
+            // wait forever (decision.join() has no timeout)
+            batch.forEach(waiter -> waiter.decision.completeExceptionally(e));
+        } finally {
+            handOff(key, lane);
+        }
+    }
+
+    private void handOff(String key, Lane lane) {
+        List<Waiter> next = null;
+        synchronized (lane) {
+            if (lane.queue.isEmpty()) {
+                lane.busy = false;
+                // Idle keys must not accumulate; a racing thread that still holds this lane
+                // just becomes its leader, which costs coalescing, never correctness
+                lanes.remove(key, lane);
+            } else {
+                next = new ArrayList<>(Math.min(lane.queue.size(), maxBatchSize));
+                while (!lane.queue.isEmpty() && next.size() < maxBatchSize) {
+                    next.add(lane.queue.poll());
+                }
+            }
+        }
+        if (next != null) {
+            next.get(0).turn.complete(next);
+        }
+    }
+}
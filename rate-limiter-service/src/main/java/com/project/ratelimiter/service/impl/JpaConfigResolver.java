@@ -0,0 +1,93 @@
+package com.project.ratelimiter.service.impl;
+
+import com.project.ratelimiter.config.RateLimiterProperties;
+import com.project.ratelimiter.core.ConfigResolver;
+import com.project.ratelimiter.core.LimitSpec;
+import com.project.ratelimiter.health.DependencyHealthMonitor;
+import com.project.ratelimiter.model.RateLimitConfig;
+import com.project.ratelimiter.repository.RateLimitConfigRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves limits from Postgres, falling back to the yml defaults (no config / DB error)
+ */
+@Component
+public class JpaConfigResolver implements ConfigResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(JpaConfigResolver.class);
+
+    private final RateLimitConfigRepository configRepository;
+    private final RateLimiterProperties properties;
+    private final DependencyHealthMonitor healthMonitor;
+    private final AdaptiveRateRegistry adaptiveRates;
+
+    public JpaConfigResolver(RateLimitConfigRepository configRepository,
+                             RateLimiterProperties properties,
+                             DependencyHealthMonitor healthMonitor,
+                             AdaptiveRateRegistry adaptiveRates) {
+        this.configRepository = configRepository;
+        this.properties = properties;
+        this.healthMonitor = healthMonitor;
+        this.adaptiveRates = adaptiveRates;
+    }
+
+    //Getting existing configuration for user+resource
+    @Override
+    public LimitSpec resolve(String userId, String resource) {
+        // Postgres known to be down: don't wait for the pool's connection timeout on every check
+        if (healthMonitor.isPostgresDown()) {
+            return createDefaultSpec(userId, resource);
+        }
+        try {
+            return configRepository
+                    .findByUserIdAndResourceAndEnabledTrue(userId, resource)
+                    .map(this::toEffectiveSpec)
+                    .orElseGet(() -> {
+                        logger.debug("No config found for user={}, resource={}, using default",
+                                userId, resource);
+                        return createDefaultSpec(userId, resource);
+                    });
+        } catch (Exception e) {
+            //DB Error
+            logger.error("Error fetching config from database, using default", e);
+            return createDefaultSpec(userId, resource);
+        }
+    }
+
+    // Adaptive configs refill at the rate the resource's latency feedback currently allows
+    private LimitSpec toEffectiveSpec(RateLimitConfig config) {
+        LimitSpec spec = toSpec(config);
+        if (!config.isAdaptive()) {
+            return spec;
+        }
+        return spec.toBuilder()
+                .requestsPerMinute(adaptiveRates.effectiveRpm(config))
+                .build();
+    }
+
+    public static LimitSpec toSpec(RateLimitConfig config) {
+        return LimitSpec.builder()
+                .userId(config.getUserId())
+                .resource(config.getResource())
+                .tier(config.getTier())
+                .requestsPerMinute(config.getRequestsPerMinute())
+                .burstCapacity(config.getBurstCapacity())
+                .algorithm(config.getAlgorithm())
+                .shardCount(config.getShardCount())
+                .build();
+    }
+
+    //Creating default config from yml file (As a fallback to DB)
+    private LimitSpec createDefaultSpec(String userId, String resource) {
+        return LimitSpec.builder()
+                .userId(userId)
+                .resource(resource)
+                .tier("default")
+                .requestsPerMinute(properties.getDefaultConfig().getRequestsPerMinute())
+                .burstCapacity(properties.getDefaultConfig().getBurstCapacity())
+                .algorithm(properties.getAlgorithm())
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.project.ratelimiter.service.impl;
+
+import com.project.ratelimiter.core.BucketKeys;
+import com.project.ratelimiter.core.Decision;
+import com.project.ratelimiter.core.LimitSpec;
+import com.project.ratelimiter.core.TokenBucketMath;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory token buckets used while Redis is unavailable.
+ *
+ * Same refill arithmetic as the Lua script, but state is per instance: with N instances behind a
+ * load balancer a client can get up to N times its limit until Redis is back. Buckets start full
+ * and are not copied back to Redis on recovery.
+ */
+class LocalBucketFallback {
+
+    // Same as the Redis key TTL: an idle bucket has refilled completely by then
+    private static final long IDLE_MILLIS = TimeUnit.MINUTES.toMillis(2);
+    // Fraction of the buckets dropped (least recently used first) when the map is full of active ones
+    private static final double EVICT_FRACTION = 0.1;
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final int maxBuckets;
+
+    LocalBucketFallback(int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+
+    private static final class Bucket {
+        double tokens;
+        long lastRefillTime;
+        volatile long lastAccess;
+    }
+
+    Decision tryConsume(LimitSpec spec) {
+        long now = System.currentTimeMillis();
+        String key = BucketKeys.bucket(spec.getUserId(), spec.getResource());
+
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                evictIdle(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> {
+                Bucket created = new Bucket();
+                created.tokens = spec.getCapacity();
+                created.lastRefillTime = now;
+                created.lastAccess = now;
+                return created;
+            });
+        }
+
+        synchronized (bucket) {
+            bucket.lastAccess = now;
+            bucket.tokens = TokenBucketMath.refill(bucket.tokens, bucket.lastRefillTime, now, spec);
+            bucket.lastRefillTime = now;
+            boolean allowed = bucket.tokens >= 1;
+            if (allowed) {
+                bucket.tokens -= 1;
+            }
+            return new Decision(allowed, (long) Math.floor(bucket.tokens),
+                    now + TokenBucketMath.msUntilFull(bucket.tokens, spec));
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void evictIdle(long now) {
+        buckets.values().removeIf(bucket -> now - bucket.lastAccess > IDLE_MILLIS);
+        if (buckets.size() < maxBuckets) {
+            return;
+        }
+        // Still full of active buckets (e.g. a key spray): drop the least recently used tenth,
+        // so busy clients keep their state instead of all getting a full bucket again
+        long[] lastAccess = buckets.values().stream().mapToLong(bucket -> bucket.lastAccess).sorted().toArray();
+        if (lastAccess.length == 0) {
+            return;
+        }
+        int evict = Math.max(1, (int) (lastAccess.length * EVICT_FRACTION));
+        long cutoff = lastAccess[Math.min(evict, lastAccess.length) - 1];
+        buckets.values().removeIf(bucket -> bucket.lastAccess <= cutoff);
+    }
+}
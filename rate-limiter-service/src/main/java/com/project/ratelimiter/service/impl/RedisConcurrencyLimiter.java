@@ -0,0 +1,82 @@
+package com.project.ratelimiter.service.impl;
+
+import com.project.ratelimiter.config.RateLimiterProperties;
+import com.project.ratelimiter.core.ConcurrencyEngine;
+import com.project.ratelimiter.core.ConfigResolver;
+import com.project.ratelimiter.core.LimitSpec;
+import com.project.ratelimiter.core.PermitDecision;
+import com.project.ratelimiter.dto.PermitResponse;
+import com.project.ratelimiter.metrics.RateLimitMetrics;
+import com.project.ratelimiter.service.ConcurrencyLimiterService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+/**
+ * Distributed permit semaphore on top of {@link ConcurrencyEngine}: one Lua script call per
+ * acquire and per release. The permit count comes from the resolved config
+ * (burstCapacity, else requestsPerMinute).
+ */
+@Service
+public class RedisConcurrencyLimiter implements ConcurrencyLimiterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisConcurrencyLimiter.class);
+
+    private final ConfigResolver configResolver;
+    private final ConcurrencyEngine engine;
+    private final RateLimiterProperties properties;
+    private final RateLimitMetrics metrics;
+
+    public RedisConcurrencyLimiter(ConfigResolver configResolver,
+                                   ConcurrencyEngine engine,
+                                   RateLimiterProperties properties,
+                                   RateLimitMetrics metrics) {
+        this.configResolver = configResolver;
+        this.engine = engine;
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public PermitResponse acquire(String userId, String resource, Integer leaseSeconds) {
+        LimitSpec config = configResolver.resolve(userId, resource);
+        long leaseMillis = leaseSeconds(leaseSeconds) * 1000L;
+
+        PermitDecision decision = engine.tryAcquire(config, leaseMillis);
+        metrics.recordPermit(decision.isAcquired());
+
+        if (!decision.isAcquired()) {
+            logger.warn("Concurrency limit reached for user={}, resource={}, limit={}",
+                    userId, resource, config.getCapacity());
+        }
+
+        return PermitResponse.builder()
+                .acquired(decision.isAcquired())
+                .permitId(decision.getPermitId())
+                .availablePermits(decision.getAvailablePermits())
+                .maxPermits(config.getCapacity())
+                .expiresAt(Instant.ofEpochMilli(decision.getExpiresAtMillis()))
+                .tier(config.getTier())
+                .message(decision.isAcquired() ?
+                        String.format("Permit acquired (%s tier)", config.getTier()) :
+                        String.format("Concurrency limit reached. Limit: %d in flight (%s tier)",
+                                config.getCapacity(), config.getTier()))
+                .build();
+    }
+
+    @Override
+    public boolean release(String userId, String resource, String permitId) {
+        return engine.release(configResolver.resolve(userId, resource), permitId);
+    }
+
+    // Requested lease, clamped to [1, maxLeaseSeconds]
+    private long leaseSeconds(Integer requested) {
+        RateLimiterProperties.Concurrency concurrency = properties.getConcurrency();
+        if (requested == null) {
+            return concurrency.getDefaultLeaseSeconds();
+        }
+        return Math.max(1, Math.min(requested, concurrency.getMaxLeaseSeconds()));
+    }
+}
@@ -0,0 +1,308 @@
+package com.project.ratelimiter.service.impl;
+
+import com.project.ratelimiter.config.RateLimiterProperties;
+import com.project.ratelimiter.core.ConfigKeys;
+import com.project.ratelimiter.model.RateLimitConfig;
+import com.project.ratelimiter.repository.RateLimitConfigRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps the Redis config mirror ({@link ConfigKeys}) in line with Postgres so that
+ * redis/token-bucket-check-resolved.lua can resolve limits without the JVM.
+ *
+ * AdminController pushes every write; a scheduled reconciliation walks the table in keyset pages,
+ * compares each page with the mirror and repairs drift (failed pushes, manual edits, Redis restarts).
+ *
+ * A check without a user+resource config gets the global default (tier "default"), in the script
+ * and in {@link JpaConfigResolver} alike; the tiers of the user's other configs play no part, so
+ * the per-tier limits of rate-limiter.tiers are not mirrored.
+ */
+@Component
+public class RedisConfigMirror {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisConfigMirror.class);
+
+    // Fields a config may or may not have; dropped from the hash when absent
+    private static final List<String> OPTIONAL_FIELDS =
+            List.of(ConfigKeys.FIELD_BURST, ConfigKeys.FIELD_SHARDS, ConfigKeys.FIELD_ADAPTIVE);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimitConfigRepository repository;
+    private final RateLimiterProperties properties;
+
+    public RedisConfigMirror(StringRedisTemplate redisTemplate,
+                             RateLimitConfigRepository repository,
+                             RateLimiterProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.repository = repository;
+        this.properties = properties;
+    }
+
+    public boolean isEnabled() {
+        return properties.getConfigMirror().isEnabled();
+    }
+
+    /**
+     * Mirror a saved config (disabled configs are removed). Failures are logged, not thrown:
+     * the next reconciliation repairs them.
+     */
+    public void put(RateLimitConfig config) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            write(List.of(config));
+        } catch (DataAccessException e) {
+            logger.warn("Failed to mirror config user={}, resource={}: {}",
+                    config.getUserId(), config.getResource(), e.getMessage());
+        }
+    }
+
+    /**
+     * Mirror a batch of saved configs in one pipelined round trip (bulk import).
+     */
+    public void putAll(List<RateLimitConfig> configs) {
+        if (!isEnabled() || configs.isEmpty()) {
+            return;
+        }
+        try {
+            write(configs);
+        } catch (DataAccessException e) {
+            logger.warn("Failed to mirror batch of {} configs: {}", configs.size(), e.getMessage());
+        }
+    }
+
+    // Hashes are updated in place (HSET + HDEL of dropped fields), so checks never see a missing key
+    private void write(List<RateLimitConfig> configs) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection commands = (StringRedisConnection) connection;
+            for (RateLimitConfig config : configs) {
+                String key = ConfigKeys.limit(config.getUserId(), config.getResource());
+                if (Boolean.TRUE.equals(config.getEnabled())) {
+                    updateHash(commands, key, toFields(config), OPTIONAL_FIELDS);
+                } else {
+                    commands.del(key);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Drop a user+resource from the mirror
+     */
+    public void remove(String userId, String resource) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            redisTemplate.delete(ConfigKeys.limit(userId, resource));
+        } catch (DataAccessException e) {
+            logger.warn("Failed to remove mirrored config user={}, resource={}: {}", userId, resource, e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialSync() {
+        reconcile();
+    }
+
+    /**
+     * Compares Postgres with the mirror one page at a time and rewrites only what differs
+     */
+    @Scheduled(fixedDelayString = "${rate-limiter.config-mirror.reconcile-interval-ms:60000}",
+            initialDelayString = "${rate-limiter.config-mirror.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            int repaired = reconcileDefault() + reconcileLimits() + removeStaleLimits();
+            if (repaired > 0) {
+                logger.info("Config mirror reconciled: {} entries repaired", repaired);
+            }
+        } catch (Exception e) {
+            logger.error("Config mirror reconciliation failed", e);
+        }
+    }
+
+    // Only the global default: the script falls back to nothing else
+    private int reconcileDefault() {
+        Map<String, String> expected = new HashMap<>();
+        RateLimiterProperties.Default defaults = properties.getDefaultConfig();
+        expected.put(ConfigKeys.tierField(ConfigKeys.DEFAULT_TIER, ConfigKeys.FIELD_RPM), String.valueOf(defaults.getRequestsPerMinute()));
+        expected.put(ConfigKeys.tierField(ConfigKeys.DEFAULT_TIER, ConfigKeys.FIELD_BURST), String.valueOf(defaults.getBurstCapacity()));
+
+        Map<String, String> current = readHashes(List.of(ConfigKeys.TIERS)).get(0);
+        if (expected.equals(current)) {
+            return 0;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            updateHash((StringRedisConnection) connection, ConfigKeys.TIERS, expected, current.keySet());
+            return null;
+        });
+        return 1;
+    }
+
+    // Enabled configs in keyset pages: one query and two pipelined round trips per page
+    private int reconcileLimits() {
+        int pageSize = pageSize();
+        int repaired = 0;
+        long afterId = 0;
+        List<RateLimitConfig> page;
+        do {
+            page = repository.findPage(afterId, null, null, true, Limit.of(pageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            List<String> keys = new ArrayList<>(page.size());
+            page.forEach(config -> keys.add(ConfigKeys.limit(config.getUserId(), config.getResource())));
+            List<Map<String, String>> current = readHashes(keys);
+
+            List<Integer> drifted = new ArrayList<>();
+            for (int i = 0; i < page.size(); i++) {
+                if (!toFields(page.get(i)).equals(current.get(i))) {
+                    drifted.add(i);
+                }
+            }
+            if (!drifted.isEmpty()) {
+                List<RateLimitConfig> configs = page;
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for (int i : drifted) {
+                        updateHash((StringRedisConnection) connection, keys.get(i),
+                                toFields(configs.get(i)), current.get(i).keySet());
+                    }
+                    return null;
+                });
+                repaired += drifted.size();
+            }
+            afterId = page.get(page.size() - 1).getId();
+        } while (page.size() == pageSize);
+        return repaired;
+    }
+
+    // Stale keys: config deleted/disabled in Postgres, or written to Redis by hand
+    private int removeStaleLimits() {
+        int pageSize = pageSize();
+        int removed = 0;
+        List<String> batch = new ArrayList<>(pageSize);
+        ScanOptions scan = ScanOptions.scanOptions().match(ConfigKeys.LIMIT_PREFIX + "*").count(pageSize).build();
+        try (Cursor<String> cursor = redisTemplate.scan(scan)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == pageSize) {
+                    removed += removeStale(batch);
+                    batch.clear();
+                }
+            }
+        }
+        return removed + removeStale(batch);
+    }
+
+    // Each mirrored hash carries its config id, so a batch of keys is checked by primary key
+    private int removeStale(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        List<Object> ids = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection commands = (StringRedisConnection) connection;
+            keys.forEach(key -> commands.hGet(key, ConfigKeys.FIELD_ID));
+            return null;
+        });
+        List<Long> parsed = new ArrayList<>(keys.size());
+        for (Object id : ids) {
+            parsed.add(parseId(id));
+        }
+        Map<Long, RateLimitConfig> configs = new HashMap<>();
+        repository.findAllById(parsed.stream().filter(Objects::nonNull).toList())
+                .forEach(config -> configs.put(config.getId(), config));
+
+        List<String> stale = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            RateLimitConfig config = parsed.get(i) == null ? null : configs.get(parsed.get(i));
+            if (config == null || !Boolean.TRUE.equals(config.getEnabled())
+                    || !keys.get(i).equals(ConfigKeys.limit(config.getUserId(), config.getResource()))) {
+                stale.add(keys.get(i));
+            }
+        }
+        if (!stale.isEmpty()) {
+            redisTemplate.delete(stale);
+        }
+        return stale.size();
+    }
+
+    private static Long parseId(Object id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(id.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private int pageSize() {
+        return Math.max(1, properties.getConfigMirror().getReconcilePageSize());
+    }
+
+    private static Map<String, String> toFields(RateLimitConfig config) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put(ConfigKeys.FIELD_ID, String.valueOf(config.getId()));
+        fields.put(ConfigKeys.FIELD_RPM, String.valueOf(config.getRequestsPerMinute()));
+        if (config.getBurstCapacity() != null) {
+            fields.put(ConfigKeys.FIELD_BURST, String.valueOf(config.getBurstCapacity()));
+        }
+        fields.put(ConfigKeys.FIELD_TIER, config.getTier());
+        if (config.getShardCount() != null && config.getShardCount() > 1) {
+            fields.put(ConfigKeys.FIELD_SHARDS, String.valueOf(config.getShardCount()));
+        }
+        if (config.isAdaptive()) {
+            fields.put(ConfigKeys.FIELD_ADAPTIVE, "1");
+        }
+        return fields;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, String>> readHashes(List<String> keys) {
+        List<Object> replies = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection commands = (StringRedisConnection) connection;
+            keys.forEach(commands::hGetAll);
+            return null;
+        });
+        List<Map<String, String>> hashes = new ArrayList<>(replies.size());
+        for (Object reply : replies) {
+            hashes.add(reply == null ? Map.of() : (Map<String, String>) reply);
+        }
+        return hashes;
+    }
+
+    // HSET the expected fields, then HDEL whatever else the hash had; no DEL, no rewrite
+    private static void updateHash(StringRedisConnection commands, String key, Map<String, String> fields,
+                                   Collection<String> previous) {
+        commands.hMSet(key, fields);
+        String[] dropped = previous.stream().filter(field -> !fields.containsKey(field)).toArray(String[]::new);
+        if (dropped.length > 0) {
+            commands.hDel(key, dropped);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.project.ratelimiter.service.impl;
+
+import com.project.ratelimiter.config.RateLimiterProperties;
+import com.project.ratelimiter.core.ConfigResolver;
+import com.project.ratelimiter.core.Decision;
+import com.project.ratelimiter.core.LimitSpec;
+import com.project.ratelimiter.core.MappedBucketEngine;
+import com.project.ratelimiter.dto.RateLimitResponse;
+import com.project.ratelimiter.metrics.RateLimitMetrics;
+import com.project.ratelimiter.service.RateLimiterService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-instance {@link RateLimiterService} without Redis: token buckets in the off-heap,
+ * memory-mapped table of {@link MappedBucketEngine}. Enabled with {@code rate-limiter.engine=standalone}.
+ *
+ * Limits are exact but local to this instance, so run one replica. Bucket state is kept across
+ * restarts through the mapped file.
+ */
+@Service
+@ConditionalOnProperty(prefix = "rate-limiter", name = "engine", havingValue = "standalone")
+public class StandaloneRateLimiter implements RateLimiterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StandaloneRateLimiter.class);
+
+    private final ConfigResolver configResolver;
+    private final RateLimitMetrics metrics;
+    private final MappedBucketEngine engine;
+
+    public StandaloneRateLimiter(RateLimiterProperties properties,
+                                 ConfigResolver configResolver,
+                                 RateLimitMetrics metrics) throws IOException {
+        RateLimiterProperties.Standalone config = properties.getStandalone();
+        this.configResolver = configResolver;
+        this.metrics = metrics;
+        this.engine = new MappedBucketEngine(Path.of(config.getFile()),
+                config.getMaxKeys(),
+                config.getSegments(),
+                TimeUnit.SECONDS.toMillis(config.getTtlSeconds()));
+
+        metrics.registerGauge("rate_limiter.standalone.slots.occupied",
+                "Bucket table slots in use (including expired ones not yet reused)", engine::getOccupiedSlots);
+        metrics.registerGauge("rate_limiter.standalone.slots.total",
+                "Bucket table capacity in slots", engine::totalSlots);
+        metrics.registerGauge("rate_limiter.standalone.evictions.forced",
+                "Live buckets overwritten because the table was too full", engine::getForcedEvictions);
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limiter.standalone.evict-interval-ms:60000}")
+    public void evictExpired() {
+        long evicted = engine.evictExpired();
+        if (evicted > 0) {
+            logger.debug("Cleared {} expired bucket slots", evicted);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        engine.close();
+    }
+
+    @Override
+    public RateLimitResponse allowRequest(String userId, String resource) {
+        long started = System.nanoTime();
+        LimitSpec config = configResolver.resolve(userId, resource);
+        Decision decision = engine.tryConsume(config);
+        boolean allowed = decision.isAllowed();
+
+        if (allowed) {
+            metrics.recordAllowed();
+        } else {
+            metrics.recordDenied();
+        }
+        metrics.recordDecision(config.getTier(), allowed, System.nanoTime() - started);
+
+        return RateLimitResponse.builder()
+                .allowed(allowed)
+                .remainingTokens(decision.getRemainingTokens())
+                .limit(config.getCapacity())
+                .resetTime(Instant.ofEpochMilli(decision.getResetTimeMillis()))
+                .tier(config.getTier())
+                .message(allowed ?
+                        String.format("Request allowed (%s tier) [Standalone]", config.getTier()) :
+                        String.format("Rate limit exceeded. Limit: %d req/min (%s tier) [Standalone]",
+                                config.getRequestsPerMinute(), config.getTier()))
+                .metadata(RateLimitResponse.RateLimitMetadata.builder()
+                        .algorithm("TOKEN_BUCKET_MAPPED")
+                        .windowDuration(60)
+                        .build())
+                .build();
+    }
+
+    @Override
+    public long getRemainingTokens(String userId, String resource) {
+        return getLimitStatus(userId, resource).getRemainingTokens();
+    }
+
+    @Override
+    public long getResetTime(String userId, String resource) {
+        return getLimitStatus(userId, resource).getResetTime().toEpochMilli();
+    }
+
+    @Override
+    public RateLimitResponse getLimitStatus(String userId, String resource) {
+        LimitSpec config = configResolver.resolve(userId, resource);
+        Decision status = engine.peek(config);
+
+        return RateLimitResponse.builder()
+                .allowed(status.isAllowed())
+                .remainingTokens(status.getRemainingTokens())
+                .limit(config.getCapacity())
+                .resetTime(Instant.ofEpochMilli(status.getResetTimeMillis()))
+                .tier(config.getTier())
+                .message(status.isAllowed() ? "Quota available" : "Quota exhausted")
+                .build();
+    }
+}
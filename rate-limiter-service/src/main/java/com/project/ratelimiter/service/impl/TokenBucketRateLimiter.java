@@ -0,0 +1,418 @@
+package com.project.ratelimiter.service.impl;
+
+import com.project.ratelimiter.config.RateLimiterProperties;
+import com.project.ratelimiter.core.BucketKeys;
+import com.project.ratelimiter.core.ConfigResolver;
+import com.project.ratelimiter.core.Decision;
+import com.project.ratelimiter.core.LimitSpec;
+import com.project.ratelimiter.core.ResolvedDecision;
+import com.project.ratelimiter.core.TokenBucketEngine;
+import com.project.ratelimiter.core.TokenBucketMath;
+import com.project.ratelimiter.dto.RateLimitResponse;
+import com.project.ratelimiter.events.DecisionEvent;
+import com.project.ratelimiter.events.DecisionEventPublisher;
+import com.project.ratelimiter.health.DependencyHealthMonitor;
+import com.project.ratelimiter.metrics.RateLimitMetrics;
+
+import com.project.ratelimiter.service.RateLimiterService;
+
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token Bucket Rate Limiter Implementation
+ *
+ * The atomic decision itself lives in {@link TokenBucketEngine} (rate-limiter-core), shared with
+ * applications that embed the limiter through the starter. This class adds config resolution,
+ * metrics and the Java fallback path.
+ */
+
+@Service
+@ConditionalOnProperty(prefix = "rate-limiter", name = "engine", havingValue = "redis", matchIfMissing = true)
+public class TokenBucketRateLimiter implements RateLimiterService{
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenBucketRateLimiter.class);
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RateLimiterProperties properties;
+    private final ConfigResolver configResolver;
+    private final TokenBucketEngine engine;
+    private final RateLimitMetrics metrics;
+    private final HotKeyCoalescer coalescer;
+    private final WriteBehindBucketCache writeBehind;
+    private final DecisionEventPublisher eventPublisher;
+    private final DependencyHealthMonitor healthMonitor;
+    private final LocalBucketFallback localFallback;
+
+    public TokenBucketRateLimiter(RedisTemplate<String, Object> redisTemplate,
+                                  RateLimiterProperties properties,
+                                  ConfigResolver configResolver,
+                                  TokenBucketEngine engine,
+                                  RateLimitMetrics metrics,
+                                  DecisionEventPublisher eventPublisher,
+                                  DependencyHealthMonitor healthMonitor) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.configResolver = configResolver;
+        this.engine = engine;
+        this.metrics = metrics;
+        this.eventPublisher = eventPublisher;
+        this.healthMonitor = healthMonitor;
+        this.localFallback = properties.getLocalFallback().isEnabled() ?
+                new LocalBucketFallback(properties.getLocalFallback().getMaxBuckets()) :
+                null;
+        if (localFallback != null) {
+            metrics.registerGauge("rate_limiter.fallback.local.buckets",
+                    "Buckets held by the in-memory fallback", localFallback::size);
+        }
+        // Both sit in front of the same engine call; one would silently shadow the other
+        if (properties.getCoalescing().isEnabled() && properties.getWriteBehind().isEnabled()) {
+            throw new IllegalArgumentException("rate-limiter.coalescing and rate-limiter.write-behind cannot both be enabled");
+        }
+        this.coalescer = properties.getCoalescing().isEnabled() ?
+                new HotKeyCoalescer(engine, metrics, properties.getCoalescing().getMaxBatchSize()) :
+                null;
+        this.writeBehind = properties.getWriteBehind().isEnabled() ?
+                new WriteBehindBucketCache(engine, properties.getWriteBehind(), metrics) :
+                null;
+        if (writeBehind != null) {
+            metrics.registerGauge("rate_limiter.write_behind.buckets",
+                    "Buckets held by the write-behind cache", writeBehind::size);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writeBehind != null) {
+            writeBehind.shutdown();
+        }
+    }
+
+    private static class TokenBucketState {
+        double tokens;
+        long lastRefillTime;
+    }
+
+    @Override
+    public RateLimitResponse allowRequest(String userId, String resource) {
+        long started = System.nanoTime();
+        RateLimitResponse response = decide(userId, resource);
+        long latencyNanos = System.nanoTime() - started;
+
+        metrics.recordDecision(response.getTier(), response.isAllowed(), latencyNanos);
+        if (eventPublisher.isEnabled()) {
+            // Queued only: publishing happens on the publisher thread and never delays the response
+            eventPublisher.publish(DecisionEvent.builder()
+                    .userId(userId)
+                    .resource(resource)
+                    .tier(response.getTier())
+                    .allowed(response.isAllowed())
+                    .remainingTokens(response.getRemainingTokens())
+                    .latencyMicros(latencyNanos / 1_000)
+                    .timestampMillis(System.currentTimeMillis())
+                    .build());
+        }
+        return response;
+    }
+
+    private RateLimitResponse decide(String userId, String resource) {
+
+        Timer.Sample sample = metrics.startTimer();
+        try{
+            // Prober sees Redis down: answer locally instead of waiting for the command timeout
+            if (localFallback != null && healthMonitor.isRedisDown()) {
+                return allowRequestLocal(configResolver.resolve(userId, resource));
+            }
+
+            // Config mirrored into Redis: the script resolves the limit itself (one round trip, no DB)
+            if (properties.getConfigMirror().isEnabled()) {
+                RateLimitResponse response = allowRequestFromMirror(userId, resource);
+                if (response != null) {
+                    if (response.isAllowed()) {
+                        metrics.recordAllowed();
+                    } else {
+                        metrics.recordDenied();
+                    }
+                    return response;
+                }
+            }
+
+            LimitSpec config = configResolver.resolve(userId, resource);
+
+            // Try Lua script first (atomic, distributed-safe)
+            try {
+                RateLimitResponse response = allowRequestWithLua(config);
+
+                metrics.recordLuaSuccess();
+                if (response.isAllowed()) {
+                    metrics.recordAllowed();
+                } else {
+                    metrics.recordDenied();
+                }
+
+                return response;
+            } catch (Exception e) {
+                logger.warn("Lua script failed, falling back to Java logic: {}", e.getMessage());
+                metrics.recordLuaFailure();
+
+                RateLimitResponse response;
+                try {
+                    response = allowRequestDefault(config);
+                } catch (Exception redisError) {
+                    // Redis itself is unreachable (prober hasn't flagged it yet)
+                    if (localFallback == null) {
+                        throw redisError;
+                    }
+                    return allowRequestLocal(config);
+                }
+
+                if (response.isAllowed()) {
+                    metrics.recordAllowed();
+                } else {
+                    metrics.recordDenied();
+                }
+
+                return response;
+            }
+        } finally {
+            metrics.stopTimer(sample);
+        }
+
+    }
+
+    // Null when the mirror can't answer (missing/sharded config, Redis error): caller takes the JVM path
+    private RateLimitResponse allowRequestFromMirror(String userId, String resource) {
+        ResolvedDecision resolved;
+        try {
+            resolved = engine.tryConsumeResolved(userId, resource);
+        } catch (Exception e) {
+            logger.warn("Config mirror check failed, resolving config in the JVM: {}", e.getMessage());
+            metrics.recordLuaFailure();
+            return null;
+        }
+        if (resolved == null) {
+            return null;
+        }
+        metrics.recordLuaSuccess();
+
+        Decision decision = resolved.getDecision();
+        boolean allowed = decision.isAllowed();
+
+        return RateLimitResponse.builder()
+                .allowed(allowed)
+                .remainingTokens(decision.getRemainingTokens())
+                .limit(resolved.getCapacity())
+                .resetTime(Instant.ofEpochMilli(decision.getResetTimeMillis()))
+                .tier(resolved.getTier())
+                .message(allowed ?
+                        String.format("Request allowed (%s tier) [Distributed-safe]", resolved.getTier()) :
+                        String.format("Rate limit exceeded. Limit: %d req/min (%s tier) [Distributed-safe]",
+                                resolved.getRequestsPerMinute(), resolved.getTier()))
+                .metadata(RateLimitResponse.RateLimitMetadata.builder()
+                        .algorithm("TOKEN_BUCKET_ATOMIC")
+                        .build())
+                .build();
+    }
+
+    private RateLimitResponse allowRequestWithLua(LimitSpec config) {
+        // Low-risk keys: answered locally, written back in batches.
+        // Hot keys: concurrent checks share one script call
+        Decision decision = writeBehind != null ? writeBehind.tryConsume(config) :
+                coalescer != null ? coalescer.tryConsume(config) :
+                engine.tryConsume(config);
+        boolean allowed = decision.isAllowed();
+
+        return RateLimitResponse.builder()
+                .allowed(allowed)
+                .remainingTokens(decision.getRemainingTokens())
+                .limit(config.getCapacity())
+                .resetTime(Instant.ofEpochMilli(decision.getResetTimeMillis()))
+                .tier(config.getTier())
+                .message(allowed ?
+                        String.format("Request allowed (%s tier) [Distributed-safe]", config.getTier()) :
+                        String.format("Rate limit exceeded. Limit: %d req/min (%s tier) [Distributed-safe]",
+                                config.getRequestsPerMinute(), config.getTier()))
+                .metadata(RateLimitResponse.RateLimitMetadata.builder()
+                        .algorithm("TOKEN_BUCKET_ATOMIC")
+                        .build())
+                .build();
+    }
+
+    private RateLimitResponse allowRequestLocal(LimitSpec config) {
+        Decision decision = localFallback.tryConsume(config);
+        boolean allowed = decision.isAllowed();
+        metrics.recordLocalFallback();
+        if (allowed) {
+            metrics.recordAllowed();
+        } else {
+            metrics.recordDenied();
+        }
+
+        return RateLimitResponse.builder()
+                .allowed(allowed)
+                .remainingTokens(decision.getRemainingTokens())
+                .limit(config.getCapacity())
+                .resetTime(Instant.ofEpochMilli(decision.getResetTimeMillis()))
+                .tier(config.getTier())
+                .message(allowed ?
+                        String.format("Request allowed (%s tier) [Local fallback]", config.getTier()) :
+                        String.format("Rate limit exceeded. Limit: %d req/min (%s tier) [Local fallback]",
+                                config.getRequestsPerMinute(), config.getTier()))
+                .metadata(RateLimitResponse.RateLimitMetadata.builder()
+                        .algorithm("TOKEN_BUCKET_LOCAL")
+                        .build())
+                .build();
+    }
+
+    public RateLimitResponse allowRequestDefault(String userId, String resource){
+        return allowRequestDefault(configResolver.resolve(userId, resource));
+    }
+
+    private RateLimitResponse allowRequestDefault(LimitSpec config){
+
+        //Getting Redis state and checking if request is allowed
+        String userId = config.getUserId();
+        String resource = config.getResource();
+        String key = BucketKeys.bucket(userId,resource);
+        TokenBucketState state = getCurrentState(key);
+        refillTokens(state,config);
+        boolean allowed = state.tokens>=1;
+
+        if (allowed){
+            state.tokens-=1;
+            saveState(key,state);
+            logger.debug("Request allowed for user={}, resource={}, remaining={}",
+                    userId, resource, state.tokens);
+
+            return buildResponse(true, state, config);
+        } else{
+            logger.warn("Rate limit exceeded for user={}, resource={}", userId, resource);
+            return buildResponse(false, state,config);
+        }
+    }
+
+    /**
+     Token Refill Logic -> Uses config values
+     */
+
+    private void refillTokens(TokenBucketState state, LimitSpec config){
+        long now = System.currentTimeMillis();
+
+        if (state.lastRefillTime == 0){
+            state.tokens = config.getCapacity();
+            state.lastRefillTime = now;
+            return;
+        }
+
+        double before = state.tokens;
+        state.tokens = TokenBucketMath.refill(state.tokens, state.lastRefillTime, now, config);
+
+        logger.debug("Refilled tokens for user={}: elapsed={}ms, tokensAdded={}, currentTokens={}",
+                config.getUserId(), now - state.lastRefillTime, state.tokens - before, state.tokens);
+
+        state.lastRefillTime = now;
+    }
+
+    private TokenBucketState getCurrentState(String key){
+        TokenBucketState state = new TokenBucketState();
+
+        //Getting data from Redis
+        Object tokensObj = redisTemplate.opsForHash().get(key, "tokens");
+        Object timeObj = redisTemplate.opsForHash().get(key, "lastRefillTime");
+
+        //For first requests, start with full bucket
+        if (tokensObj != null){
+            state.tokens = Double.parseDouble(tokensObj.toString());
+        }
+        else{
+            state.tokens = properties.getDefaultConfig().getRequestsPerMinute();
+        }
+
+        if (timeObj != null){
+            state.lastRefillTime = Long.parseLong(timeObj.toString());
+        }
+        else{
+            state.lastRefillTime = 0;
+        }
+
+        return state;
+    }
+
+    private void saveState(String key, TokenBucketState state){
+        redisTemplate.opsForHash().put(key, "tokens", state.tokens);
+        redisTemplate.opsForHash().put(key, "lastRefillTime", state.lastRefillTime);
+        redisTemplate.expire(key, 2, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Build response DTO
+     */
+    private RateLimitResponse buildResponse(boolean allowed, TokenBucketState state, LimitSpec config){
+        //Calculates when bucket will be full again
+        long msUntilFull = TokenBucketMath.msUntilFull(state.tokens, config);
+
+        return RateLimitResponse.builder()
+                .allowed(allowed)
+                .remainingTokens((long) Math.floor(state.tokens))
+                .limit(config.getCapacity())
+                .resetTime(Instant.ofEpochMilli(state.lastRefillTime+msUntilFull))
+                .tier(config.getTier())
+                .message(allowed ?
+                        String.format("Request allowed (%s tier)", config.getTier()) :
+                        String.format("Rate limit exceeded. Limit: %d req/min (%s tier)",
+                                config.getRequestsPerMinute(), config.getTier()))
+                .metadata(RateLimitResponse.RateLimitMetadata.builder()
+                        .algorithm(config.getAlgorithm())
+                        .windowDuration(60)
+                        .build())
+                .build();
+    }
+
+    @Override
+    public long getRemainingTokens(String userId, String resource){
+        return getLimitStatus(userId, resource).getRemainingTokens();
+    }
+
+    @Override
+    public long getResetTime(String userId, String resource) {
+        return getLimitStatus(userId, resource).getResetTime().toEpochMilli();
+    }
+
+    @Override
+    public RateLimitResponse getLimitStatus(String userId, String resource) {
+        LimitSpec config = configResolver.resolve(userId, resource);
+
+        long remaining;
+        long resetTime;
+        try {
+            // Single read-only script over the Lua-maintained keys
+            Decision status = engine.peek(config);
+            remaining = status.getRemainingTokens();
+            resetTime = status.getResetTimeMillis();
+        } catch (Exception e) {
+            logger.warn("Lua peek failed, reading fallback state: {}", e.getMessage());
+            TokenBucketState state = getCurrentState(BucketKeys.bucket(userId, resource));
+            refillTokens(state, config);
+            remaining = (long) Math.floor(state.tokens);
+            resetTime = state.lastRefillTime + TokenBucketMath.msUntilFull(state.tokens, config);
+        }
+
+        return RateLimitResponse.builder()
+                .allowed(remaining > 0)
+                .remainingTokens(remaining)
+                .limit(config.getCapacity())
+                .resetTime(Instant.ofEpochMilli(resetTime))
+                .tier(config.getTier())
+                .message(remaining > 0 ? "Quota available" : "Quota exhausted")
+                .build();
+    }
+}
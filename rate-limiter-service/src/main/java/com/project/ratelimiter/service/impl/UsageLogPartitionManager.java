@@ -0,0 +1,105 @@
+package com.project.ratelimiter.service.impl;
+
+import com.project.ratelimiter.config.RateLimiterProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Maintains the daily partitions of rate_limit_usage_logs (see schema.sql):
+ * creates partitions ahead of time and drops those past retention.
+ *
+ * Dropping a partition is a metadata operation, unlike DELETE it leaves no dead tuples to vacuum.
+ * Days are UTC.
+ */
+@Component
+public class UsageLogPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(UsageLogPartitionManager.class);
+
+    static final String PARENT = "rate_limit_usage_logs";
+    private static final String PARTITION_PREFIX = PARENT + "_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RateLimiterProperties properties;
+
+    public UsageLogPartitionManager(JdbcTemplate jdbcTemplate, RateLimiterProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    // Hourly, so a missed run (restart, DB blip) is retried long before the next day starts
+    @Scheduled(cron = "0 5 * * * *", zone = "UTC")
+    public void maintain() {
+        try {
+            LocalDate today = LocalDate.now(ZoneOffset.UTC);
+            createAhead(today);
+            dropExpired(today);
+        } catch (Exception e) {
+            logger.error("Usage log partition maintenance failed", e);
+        }
+    }
+
+    private void createAhead(LocalDate today) {
+        // Yesterday too: rows stamped just before midnight may arrive after it
+        for (int offset = -1; offset <= properties.getUsageLogs().getPartitionsAhead(); offset++) {
+            LocalDate day = today.plusDays(offset);
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s " +
+                            "FOR VALUES FROM ('%s 00:00:00+00') TO ('%s 00:00:00+00')",
+                    partitionName(day), PARENT, day, day.plusDays(1)));
+        }
+    }
+
+    private void dropExpired(LocalDate today) {
+        LocalDate cutoff = today.minusDays(properties.getUsageLogs().getRetentionDays());
+
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = ?", String.class, PARENT);
+
+        for (String partition : partitions) {
+            LocalDate day = partitionDay(partition);
+            // Partition for day D holds [D, D+1): drop once all of it is older than the cutoff
+            if (day != null && !day.plusDays(1).isAfter(cutoff)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                logger.info("Dropped usage log partition {} (retention {} days)",
+                        partition, properties.getUsageLogs().getRetentionDays());
+            }
+        }
+    }
+
+    static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + day.format(SUFFIX);
+    }
+
+    // Null for partitions not created by this class
+    static LocalDate partitionDay(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.project.ratelimiter.service.impl;
+
+import com.project.ratelimiter.config.RateLimiterProperties;
+import com.project.ratelimiter.core.BatchDecision;
+import com.project.ratelimiter.core.BucketKeys;
+import com.project.ratelimiter.core.Decision;
+import com.project.ratelimiter.core.LimitSpec;
+import com.project.ratelimiter.core.TokenBucketEngine;
+import com.project.ratelimiter.core.TokenBucketMath;
+import com.project.ratelimiter.metrics.RateLimitMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Node-local tier in front of the Redis buckets, for keys far from their limit.
+ *
+ * Every synchronous check returns the tokens left in Redis. If that is above the reserve
+ * ({@code min-remaining-ratio} of the capacity), this node may grant {@code node-share} of the
+ * tokens above the reserve without asking Redis; those grants are counted as pending and written
+ * back every flush interval by one pipelined round trip of cost-N script calls, whose replies
+ * refresh the local copy. Keys near their limit, stale copies (older than
+ * {@code max-staleness-ms}) and sharded configs take the synchronous path, which also carries
+ * anything still pending for the key.
+ *
+ * Boundary, for N replicas with share s <= 1 / N: one replica that keeps syncing can bring Redis
+ * down to the reserve r with local grants while each other replica holds up to s * (C - r)
+ * unwritten ones, so local grants stay within the capacity C only if r covers those, i.e.
+ * min-remaining-ratio >= (N - 1) / (2N - 1), which s <= 1 / N turns into (1 - s) / (2 - s).
+ * The constructor enforces that. Synchronous checks can still spend the reserve before the
+ * other replicas' grants are written back: a bucket can then be over-granted by up to their
+ * outstanding budgets, for at most one flush interval, counted in
+ * {@code rate_limiter.write_behind.overgranted}.
+ *
+ * The local copy never refills, so it can only be more pessimistic than Redis.
+ */
+class WriteBehindBucketCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindBucketCache.class);
+
+    private final TokenBucketEngine engine;
+    private final RateLimiterProperties.WriteBehind config;
+    private final RateLimitMetrics metrics;
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    WriteBehindBucketCache(TokenBucketEngine engine, RateLimiterProperties.WriteBehind config, RateLimitMetrics metrics) {
+        double share = config.getNodeShare();
+        if (share <= 0 || share > 1) {
+            throw new IllegalArgumentException("write-behind.node-share must be in (0, 1]: " + share);
+        }
+        double minRatio = minRemainingRatio(share);
+        if (config.getMinRemainingRatio() < minRatio || config.getMinRemainingRatio() > 1) {
+            throw new IllegalArgumentException(String.format(
+                    "write-behind.min-remaining-ratio must be between %.3f and 1 for node-share %s: %s",
+                    minRatio, share, config.getMinRemainingRatio()));
+        }
+        this.engine = engine;
+        this.config = config;
+        this.metrics = metrics;
+        this.flusher = new Thread(this::flushLoop, "write-behind-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Smallest reserve ratio that keeps local grants within the capacity for node-share s
+     */
+    static double minRemainingRatio(double share) {
+        return (1 - share) / (2 - share);
+    }
+
+    private static final class Bucket {
+        LimitSpec spec;
+        // Tokens left in Redis at the last sync, minus what this node granted since
+        long remaining;
+        // Grants this node may still answer locally before the next sync
+        long budget;
+        // Granted locally, not written to Redis yet
+        int pending;
+        long syncedAt;
+    }
+
+    Decision tryConsume(LimitSpec spec) {
+        if (spec.getShards() > 1) {
+            return engine.tryConsume(spec);
+        }
+        long now = System.currentTimeMillis();
+        String key = BucketKeys.bucket(spec.getUserId(), spec.getResource());
+
+        Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            synchronized (bucket) {
+                if (bucket.budget > 0 && spec.equals(bucket.spec) && now - bucket.syncedAt <= config.getMaxStalenessMs()) {
+                    bucket.budget--;
+                    bucket.remaining--;
+                    bucket.pending++;
+                    metrics.recordWriteBehindCheck("local");
+                    return new Decision(true, bucket.remaining,
+                            now + TokenBucketMath.msUntilFull(bucket.remaining, spec));
+                }
+            }
+        }
+        return consumeNow(key, bucket, spec, now);
+    }
+
+    // Synchronous path: the tokens still pending for the key go first, then this check, in one call
+    private Decision consumeNow(String key, Bucket bucket, LimitSpec spec, long now) {
+        int pending = 0;
+        if (bucket != null) {
+            synchronized (bucket) {
+                pending = bucket.pending;
+                bucket.pending = 0;
+                bucket.budget = 0;
+            }
+        }
+
+        BatchDecision result;
+        try {
+            result = engine.tryConsume(spec, pending + 1);
+        } catch (RuntimeException e) {
+            addPending(bucket, pending);
+            throw e;
+        }
+        metrics.recordWriteBehindCheck("sync");
+        if (result.getGranted() < pending) {
+            metrics.recordWriteBehindOvergrant(pending - result.getGranted());
+        }
+
+        if (bucket == null && buckets.size() < config.getMaxBuckets()) {
+            bucket = buckets.computeIfAbsent(key, k -> new Bucket());
+        }
+        if (bucket != null) {
+            synchronized (bucket) {
+                sync(bucket, spec, result.getRemainingTokens(), now);
+            }
+        }
+        return result.forCaller(pending);
+    }
+
+    // Fresh view of Redis: grants made while the call was in flight are still pending
+    private void sync(Bucket bucket, LimitSpec spec, long remainingInRedis, long now) {
+        bucket.spec = spec;
+        bucket.remaining = remainingInRedis - bucket.pending;
+        bucket.budget = Math.max(0, localBudget(spec, remainingInRedis) - bucket.pending);
+        bucket.syncedAt = now;
+    }
+
+    private long localBudget(LimitSpec spec, long remainingInRedis) {
+        long reserve = (long) Math.ceil(spec.getCapacity() * config.getMinRemainingRatio());
+        if (remainingInRedis <= reserve) {
+            return 0;
+        }
+        return (long) Math.floor((remainingInRedis - reserve) * config.getNodeShare());
+    }
+
+    private void addPending(Bucket bucket, int tokens) {
+        if (bucket != null && tokens > 0) {
+            synchronized (bucket) {
+                bucket.pending += tokens;
+            }
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                Thread.sleep(config.getFlushIntervalMs());
+                flush();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.warn("Write-behind flush failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Write every bucket's pending tokens to Redis, batch-size calls per pipelined round trip
+     */
+    void flush() {
+        long now = System.currentTimeMillis();
+        List<Bucket> dirty = new ArrayList<>();
+        List<LimitSpec> specs = new ArrayList<>();
+        List<Integer> tokens = new ArrayList<>();
+        for (Bucket bucket : buckets.values()) {
+            synchronized (bucket) {
+                if (bucket.pending > 0) {
+                    dirty.add(bucket);
+                    specs.add(bucket.spec);
+                    tokens.add(bucket.pending);
+                    bucket.pending = 0;
+                }
+            }
+        }
+
+        int batchSize = Math.max(1, config.getBatchSize());
+        for (int from = 0; from < dirty.size(); from += batchSize) {
+            int to = Math.min(dirty.size(), from + batchSize);
+            List<BatchDecision> results;
+            try {
+                results = engine.tryConsumeAll(specs.subList(from, to), tokens.subList(from, to));
+            } catch (RuntimeException e) {
+                // Part of the batch may have been applied, so it is not sent again (that could
+                // consume twice). Later batches are kept for the next flush.
+                logger.warn("Could not write back {} buckets, dropped: {}", to - from, e.getMessage());
+                for (int i = to; i < dirty.size(); i++) {
+                    addPending(dirty.get(i), tokens.get(i));
+                }
+                return;
+            }
+            metrics.recordWriteBehindFlush(to - from);
+
+            for (int i = from; i < to; i++) {
+                BatchDecision result = results.get(i - from);
+                if (result.getGranted() < result.getRequested()) {
+                    metrics.recordWriteBehindOvergrant(result.getRequested() - result.getGranted());
+                }
+                Bucket bucket = dirty.get(i);
+                synchronized (bucket) {
+                    sync(bucket, bucket.spec, result.getRemainingTokens(), now);
+                }
+            }
+        }
+
+        // Stale copies answer nothing locally, drop them once nothing is pending
+        buckets.values().removeIf(bucket -> {
+            synchronized (bucket) {
+                return bucket.pending == 0 && now - bucket.syncedAt > config.getMaxStalenessMs();
+            }
+        });
+    }
+
+    // Write back what was granted locally before the Redis connection factory shuts down
+    void shutdown() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+        flush();
+    }
+}
@@ -0,0 +1,246 @@
+package com.project.ratelimiter.snapshot;
+
+import com.project.ratelimiter.config.RateLimiterProperties;
+import com.project.ratelimiter.core.BucketKeys;
+import com.project.ratelimiter.dto.SnapshotReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Snapshot and restore of all bucket state ({@code rate_limit:*}) so a Redis flush or migration
+ * does not hand every client a full bucket.
+ *
+ * Snapshot: incremental SCAN (never KEYS), with DUMP + PTTL pipelined per SCAN page, written
+ * through a buffered FileChannel. DUMP keeps every key type (token/time strings, fallback hashes,
+ * permit sets) byte-for-byte. Restore: pipelined RESTORE ... REPLACE with the TTL that was left at
+ * snapshot time minus the time since; keys that would already have expired are skipped.
+ *
+ * File layout (big-endian):
+ * <pre>
+ * header:  "RLSNAP01" | long snapshotTimeMillis
+ * record:  int keyLength | key | long pttl (-1 = no expiry) | int valueLength | DUMP payload
+ * trailer: int -1 | long recordCount
+ * </pre>
+ * DUMP payloads are specific to the Redis version: restore into the same or a newer version.
+ * Single-node / Sentinel only (SCAN is per node).
+ */
+@Service
+public class BucketSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BucketSnapshotService.class);
+
+    private static final byte[] MAGIC = "RLSNAP01".getBytes(StandardCharsets.US_ASCII);
+    private static final int END_OF_RECORDS = -1;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final RedisConnectionFactory connectionFactory;
+    private final RateLimiterProperties properties;
+
+    public BucketSnapshotService(RedisConnectionFactory connectionFactory, RateLimiterProperties properties) {
+        this.connectionFactory = connectionFactory;
+        this.properties = properties;
+    }
+
+    /**
+     * Write every rate_limit:* key to {@code file}
+     */
+    public SnapshotReport snapshot(Path file) throws IOException {
+        long started = System.currentTimeMillis();
+        int batchSize = properties.getSnapshot().getBatchSize();
+        long records = 0;
+        long vanished = 0;
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path partial = file.resolveSibling(file.getFileName() + ".partial");
+
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             RedisConnection scanConnection = connectionFactory.getConnection();
+             RedisConnection pipelineConnection = connectionFactory.getConnection()) {
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.put(MAGIC).putLong(started);
+
+            ScanOptions scan = ScanOptions.scanOptions().match(BucketKeys.PREFIX + "*").count(batchSize).build();
+            try (Cursor<byte[]> cursor = scanConnection.keyCommands().scan(scan)) {
+                List<byte[]> keys = new ArrayList<>(batchSize);
+                while (cursor.hasNext()) {
+                    keys.add(cursor.next());
+                    if (keys.size() == batchSize || !cursor.hasNext()) {
+                        List<Object> replies = dumpAll(pipelineConnection, keys);
+                        for (int i = 0; i < keys.size(); i++) {
+                            byte[] value = (byte[]) replies.get(2 * i);
+                            long pttl = (Long) replies.get(2 * i + 1);
+                            // Expired or deleted between SCAN and DUMP
+                            if (value == null || pttl == -2) {
+                                vanished++;
+                                continue;
+                            }
+                            buffer = ensureCapacity(channel, buffer, 16 + keys.get(i).length + value.length);
+                            buffer.putInt(keys.get(i).length).put(keys.get(i))
+                                    .putLong(pttl)
+                                    .putInt(value.length).put(value);
+                            records++;
+                        }
+                        keys.clear();
+                    }
+                }
+            }
+
+            buffer = ensureCapacity(channel, buffer, 12);
+            buffer.putInt(END_OF_RECORDS).putLong(records);
+            flush(channel, buffer);
+            channel.force(true);
+        }
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        SnapshotReport report = SnapshotReport.builder()
+                .file(file.getFileName().toString())
+                .keys(records)
+                .skipped(vanished)
+                .bytes(Files.size(file))
+                .takenAt(Instant.ofEpochMilli(started))
+                .durationMs(System.currentTimeMillis() - started)
+                .build();
+        logger.info("Bucket snapshot written: {}", report);
+        return report;
+    }
+
+    /**
+     * Replay a snapshot, overwriting existing keys. TTLs continue from where they were.
+     */
+    public SnapshotReport restore(Path file) throws IOException {
+        long started = System.currentTimeMillis();
+        int batchSize = properties.getSnapshot().getBatchSize();
+        long restored = 0;
+        long expired = 0;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             RedisConnection connection = connectionFactory.getConnection()) {
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).flip();
+            buffer = ensureReadable(channel, buffer, MAGIC.length + 8);
+
+            byte[] magic = new byte[MAGIC.length];
+            buffer.get(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Not a bucket snapshot: " + file.getFileName());
+            }
+            long snapshotTime = buffer.getLong();
+            long elapsed = Math.max(0, started - snapshotTime);
+
+            connection.openPipeline();
+            int pending = 0;
+            while (true) {
+                buffer = ensureReadable(channel, buffer, 4);
+                int keyLength = buffer.getInt();
+                if (keyLength == END_OF_RECORDS) {
+                    break;
+                }
+                buffer = ensureReadable(channel, buffer, keyLength + 12);
+                byte[] key = new byte[keyLength];
+                buffer.get(key);
+                long pttl = buffer.getLong();
+                int valueLength = buffer.getInt();
+                buffer = ensureReadable(channel, buffer, valueLength);
+                byte[] value = new byte[valueLength];
+                buffer.get(value);
+
+                long ttl;
+                if (pttl < 0) {
+                    ttl = 0; // no expiry
+                } else if (pttl - elapsed <= 0) {
+                    expired++;
+                    continue;
+                } else {
+                    ttl = pttl - elapsed;
+                }
+
+                connection.keyCommands().restore(key, ttl, value, true);
+                restored++;
+                if (++pending == batchSize) {
+                    connection.closePipeline();
+                    connection.openPipeline();
+                    pending = 0;
+                }
+            }
+            connection.closePipeline();
+        }
+
+        SnapshotReport report = SnapshotReport.builder()
+                .file(file.getFileName().toString())
+                .keys(restored)
+                .skipped(expired)
+                .bytes(Files.size(file))
+                .durationMs(System.currentTimeMillis() - started)
+                .build();
+        logger.info("Bucket snapshot restored: {}", report);
+        return report;
+    }
+
+    // DUMP + PTTL for each key in one round trip: replies alternate value, pttl
+    private static List<Object> dumpAll(RedisConnection connection, List<byte[]> keys) {
+        connection.openPipeline();
+        for (byte[] key : keys) {
+            connection.keyCommands().dump(key);
+            connection.keyCommands().pTtl(key);
+        }
+        return connection.closePipeline();
+    }
+
+    private static ByteBuffer ensureCapacity(FileChannel channel, ByteBuffer buffer, int needed) throws IOException {
+        if (buffer.remaining() >= needed) {
+            return buffer;
+        }
+        flush(channel, buffer);
+        // Single record larger than the buffer (very large permit set): grow for it
+        return needed > buffer.capacity() ? ByteBuffer.allocateDirect(needed) : buffer;
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Make at least `needed` bytes readable, refilling (and growing) the buffer from the channel
+    private static ByteBuffer ensureReadable(FileChannel channel, ByteBuffer buffer, int needed) throws IOException {
+        if (buffer.remaining() >= needed) {
+            return buffer;
+        }
+        if (needed > buffer.capacity()) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(needed);
+            larger.put(buffer);
+            buffer = larger;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < needed) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Truncated bucket snapshot");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
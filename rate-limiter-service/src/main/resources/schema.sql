@@ -0,0 +1,78 @@
+-- ==========================================
+-- rate_limit_usage_logs: range-partitioned by day on created_at
+-- ==========================================
+-- Runs on every startup before Hibernate (spring.sql.init), so it must stay idempotent.
+-- Daily partitions are created ahead and dropped after the retention period by
+-- UsageLogPartitionManager; dropping a partition replaces DELETE-based cleanup.
+
+-- One-time migration: a plain table created by ddl-auto is kept as *_legacy (drop it once
+-- its rows are past retention) and replaced by the partitioned table.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace
+               WHERE c.relname = 'rate_limit_usage_logs' AND c.relkind = 'r'
+                 AND n.nspname = current_schema()) THEN
+        ALTER TABLE rate_limit_usage_logs RENAME TO rate_limit_usage_logs_legacy;
+        ALTER TABLE rate_limit_usage_logs_legacy RENAME CONSTRAINT rate_limit_usage_logs_pkey
+            TO rate_limit_usage_logs_legacy_pkey;
+        ALTER INDEX IF EXISTS idx_user_timestamp RENAME TO idx_legacy_user_timestamp;
+        ALTER INDEX IF EXISTS idx_allowed RENAME TO idx_legacy_allowed;
+    END IF;
+END
+$$;
+
+CREATE SEQUENCE IF NOT EXISTS rate_limit_usage_logs_seq;
+
+-- The partition key has to be part of the primary key
+CREATE TABLE IF NOT EXISTS rate_limit_usage_logs (
+    id                BIGINT NOT NULL DEFAULT nextval('rate_limit_usage_logs_seq'),
+    user_id           VARCHAR(255) NOT NULL,
+    resource          VARCHAR(255) NOT NULL,
+    allowed           BOOLEAN NOT NULL,
+    remaining_tokens  BIGINT,
+    algorithm         VARCHAR(50),
+    response_time_ms  BIGINT,
+    ip_address        VARCHAR(45),
+    user_agent        VARCHAR(500),
+    created_at        TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE rate_limit_usage_logs_seq OWNED BY rate_limit_usage_logs.id;
+
+-- Rows arrive in time order, so a BRIN index on created_at is a few pages per partition
+-- instead of the two wide B-trees (user_id, created_at) / (allowed, created_at)
+CREATE INDEX IF NOT EXISTS idx_usage_logs_created_brin
+    ON rate_limit_usage_logs USING brin (created_at) WITH (pages_per_range = 32);
+
+-- ==========================================
+-- rate_limit_configs
+-- ==========================================
+-- Same table Hibernate creates for RateLimitConfig, so the prod profile can start with
+-- ddl-auto: none (no schema diff against the database on every startup)
+CREATE TABLE IF NOT EXISTS rate_limit_configs (
+    id                   BIGSERIAL PRIMARY KEY,
+    user_id              VARCHAR(255) NOT NULL,
+    resource             VARCHAR(255) NOT NULL,
+    tier                 VARCHAR(50) NOT NULL,
+    requests_per_minute  INTEGER NOT NULL,
+    burst_capacity       INTEGER,
+    algorithm            VARCHAR(50),
+    shard_count          INTEGER,
+    adaptive             BOOLEAN,
+    floor_rpm            INTEGER,
+    ceiling_rpm          INTEGER,
+    enabled              BOOLEAN NOT NULL,
+    created_at           TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at           TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    created_by           VARCHAR(255),
+    updated_by           VARCHAR(255)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_user_resources ON rate_limit_configs (user_id, resource);
+CREATE INDEX IF NOT EXISTS idx_tier ON rate_limit_configs (tier);
+
+-- Adaptive (AIMD) limits, for tables created before these columns existed
+ALTER TABLE rate_limit_configs ADD COLUMN IF NOT EXISTS adaptive BOOLEAN;
+ALTER TABLE rate_limit_configs ADD COLUMN IF NOT EXISTS floor_rpm INTEGER;
+ALTER TABLE rate_limit_configs ADD COLUMN IF NOT EXISTS ceiling_rpm INTEGER;
@@ -0,0 +1,185 @@
+// ============================================================================
+// STARTUP MEASUREMENT: time-to-first-request and time-to-steady-p99
+// ============================================================================
+// Launches the service with the given command, then reports (all from launch):
+//   first request  - first /api/check-limit answered (200 or 429)
+//   ready          - /api/health/ready returns 200
+//   steady p99     - from ready, load runs for --seconds; the steady p99 is that of the last
+//                    quarter, and time-to-steady is the start of the first second after which
+//                    every 1s p99 stays within 1.5x of it
+//
+// Needs Postgres and Redis running. Single-file program, no build step:
+//   java rate-limiter-service/src/test/MeasureStartup.java -- java -jar rate-limiter-service/target/rate-limiter-0.0.1-SNAPSHOT-exec.jar
+//   java rate-limiter-service/src/test/MeasureStartup.java --seconds 30 -- \
+//       java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -Dspring.profiles.active=prod @app.args
+// The service's output goes to startup-measure.log.
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MeasureStartup {
+
+    public static void main(String[] args) throws Exception {
+        String url = "http://localhost:8080";
+        int seconds = 60;
+        int concurrency = 4;
+        int split = Arrays.asList(args).indexOf("--");
+        if (split < 0 || split == args.length - 1) {
+            System.err.println("usage: java MeasureStartup.java [--url U] [--seconds N] [--concurrency N] -- <command...>");
+            System.exit(2);
+        }
+        for (int i = 0; i < split; i += 2) {
+            switch (args[i]) {
+                case "--url" -> url = args[i + 1];
+                case "--seconds" -> seconds = Integer.parseInt(args[i + 1]);
+                case "--concurrency" -> concurrency = Integer.parseInt(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        List<String> command = List.of(args).subList(split + 1, args.length);
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(500)).build();
+        long launched = System.nanoTime();
+        Process service = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(new File("startup-measure.log"))
+                .start();
+        try {
+            long firstRequest = awaitFirstCheck(client, url, service) - launched;
+            long ready = awaitReady(client, url, service) - launched;
+            Load load = runLoad(client, url, seconds, concurrency);
+
+            long steadyP99 = percentile(load.tail(), 0.99);
+            int steadyFrom = load.steadyFrom(steadyP99 * 3 / 2);
+            System.out.printf("first request   %6d ms%n", firstRequest / 1_000_000);
+            System.out.printf("ready           %6d ms%n", ready / 1_000_000);
+            System.out.printf("steady p99      %6d ms  (p99 %.2f ms, first-second p99 %.2f ms, %,d requests)%n",
+                    (load.started() - launched + steadyFrom * 1_000_000_000L) / 1_000_000,
+                    steadyP99 / 1_000_000.0, percentile(load.second(0), 0.99) / 1_000_000.0, load.count());
+        } finally {
+            service.destroy();
+            if (!service.waitFor(20, TimeUnit.SECONDS)) {
+                service.destroyForcibly();
+            }
+        }
+    }
+
+    private static HttpRequest check(String url, String userId) {
+        return HttpRequest.newBuilder(URI.create(url + "/api/check-limit"))
+                .timeout(Duration.ofSeconds(5))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"userId\":\"" + userId + "\",\"resource\":\"/api/measure\"}"))
+                .build();
+    }
+
+    private static long awaitFirstCheck(HttpClient client, String url, Process service) throws Exception {
+        while (true) {
+            if (!service.isAlive()) {
+                throw new IllegalStateException("Service exited with " + service.exitValue() + ", see startup-measure.log");
+            }
+            try {
+                int status = client.send(check(url, "measure-first"), HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status == 200 || status == 429) {
+                    return System.nanoTime();
+                }
+            } catch (Exception notYet) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static long awaitReady(HttpClient client, String url, Process service) throws Exception {
+        HttpRequest ready = HttpRequest.newBuilder(URI.create(url + "/api/health/ready")).GET().build();
+        while (true) {
+            if (!service.isAlive()) {
+                throw new IllegalStateException("Service exited with " + service.exitValue());
+            }
+            if (client.send(ready, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                return System.nanoTime();
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    // Latencies in nanoseconds, bucketed by the second (since load start) they completed in
+    private record Load(long started, int seconds, ConcurrentHashMap<Integer, List<Long>> bySecond) {
+
+        List<Long> second(int second) {
+            return bySecond.getOrDefault(second, List.of());
+        }
+
+        List<Long> tail() {
+            List<Long> all = new ArrayList<>();
+            for (int s = seconds - Math.max(1, seconds / 4); s < seconds; s++) {
+                all.addAll(second(s));
+            }
+            return all;
+        }
+
+        int steadyFrom(long threshold) {
+            int from = seconds;
+            for (int s = seconds - 1; s >= 0; s--) {
+                if (percentile(second(s), 0.99) > threshold) {
+                    break;
+                }
+                from = s;
+            }
+            return from;
+        }
+
+        long count() {
+            return bySecond.values().stream().mapToLong(List::size).sum();
+        }
+    }
+
+    private static Load runLoad(HttpClient client, String url, int seconds, int concurrency) throws InterruptedException {
+        ConcurrentHashMap<Integer, List<Long>> bySecond = new ConcurrentHashMap<>();
+        long started = System.nanoTime();
+        long endAt = started + seconds * 1_000_000_000L;
+        AtomicInteger users = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int t = 0; t < concurrency; t++) {
+            new Thread(() -> {
+                long now;
+                while ((now = System.nanoTime()) < endAt) {
+                    try {
+                        client.send(check(url, "measure-" + users.incrementAndGet() % 10_000), HttpResponse.BodyHandlers.discarding());
+                    } catch (Exception e) {
+                        continue;
+                    }
+                    long finished = System.nanoTime();
+                    bySecond.computeIfAbsent((int) ((finished - started) / 1_000_000_000L),
+                            s -> Collections.synchronizedList(new ArrayList<>())).add(finished - now);
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        return new Load(started, seconds, bySecond);
+    }
+
+    private static long percentile(List<Long> latencies, double p) {
+        if (latencies.isEmpty()) {
+            return 0;
+        }
+        long[] sorted;
+        synchronized (latencies) {
+            sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+}
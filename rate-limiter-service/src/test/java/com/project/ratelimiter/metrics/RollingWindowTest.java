@@ -0,0 +1,76 @@
+package com.project.ratelimiter.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Slot recycling and histogram percentiles of the rolling window, with timestamps passed in.
+ */
+class RollingWindowTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    private final RollingWindow window = new RollingWindow();
+
+    @Test
+    void excludesSecondInProgress() {
+        window.recordDecision(START, true, 10);
+        window.recordDecision(START + 999, false, 10);
+        assertEquals(0, window.stats(START + 999, 60).getAllowed());
+
+        RateLimitMetrics.WindowStats stats = window.stats(START + 1000, 60);
+        assertEquals(1, stats.getAllowed());
+        assertEquals(1, stats.getDenied());
+        assertEquals(50.0, stats.getBlockRatePercent(), 1e-9);
+    }
+
+    @Test
+    void recycledSlotDropsOldSecond() {
+        window.recordDecision(START, true, 10);
+        window.recordLuaFailure(START);
+        // Same ring slot, one full lap later
+        long lap = (RollingWindow.MAX_SECONDS + 1) * 1000L;
+        window.recordDecision(START + lap, false, 10);
+
+        RateLimitMetrics.WindowStats stats = window.stats(START + lap + 1000, RollingWindow.MAX_SECONDS);
+        assertEquals(0, stats.getAllowed());
+        assertEquals(1, stats.getDenied());
+        assertEquals(0, stats.getLuaFailures());
+
+        // A writer still on the old second is dropped rather than counted into the new one
+        window.recordDecision(START, true, 10);
+        assertEquals(0, window.stats(START + lap + 1000, RollingWindow.MAX_SECONDS).getAllowed());
+    }
+
+    @Test
+    void secondsWithoutTrafficAreSkipped() {
+        window.recordDecision(START, true, 10);
+        window.recordDecision(START + 5000, true, 10);
+        assertEquals(1, window.stats(START + 6000, 3).getAllowed());
+        assertEquals(2, window.stats(START + 6000, 10).getAllowed());
+    }
+
+    @Test
+    void percentilesAreBucketUpperBounds() {
+        for (long micros = 1; micros <= 100; micros++) {
+            window.recordDecision(START, true, micros);
+        }
+
+        RateLimitMetrics.WindowStats stats = window.stats(START + 1000, 1);
+        // Buckets ... 40, 48, 56, 64 ... 80, 96, 112, 128
+        assertEquals(56, stats.getLatencyP50Micros());
+        assertEquals(96, stats.getLatencyP95Micros());
+        // Capped at the largest latency seen
+        assertEquals(100, stats.getLatencyP99Micros());
+        assertEquals(100, stats.getLatencyMaxMicros());
+    }
+
+    @Test
+    void latencyIndexMatchesBounds() {
+        assertEquals(0, RollingWindow.latencyIndex(0));
+        assertEquals(0, RollingWindow.latencyIndex(1));
+        assertEquals(RollingWindow.latencyIndex(56), RollingWindow.latencyIndex(49));
+        assertEquals(RollingWindow.latencyIndex(56) + 1, RollingWindow.latencyIndex(57));
+    }
+}
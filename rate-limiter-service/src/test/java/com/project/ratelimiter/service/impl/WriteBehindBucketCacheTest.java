@@ -0,0 +1,183 @@
+package com.project.ratelimiter.service.impl;
+
+import com.project.ratelimiter.config.RateLimiterProperties;
+import com.project.ratelimiter.core.BatchDecision;
+import com.project.ratelimiter.core.LimitSpec;
+import com.project.ratelimiter.core.TokenBucketEngine;
+import com.project.ratelimiter.metrics.RateLimitMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Boundary of the write-behind cache: three replicas, node-share 0.33, one shared bucket of 100
+ * tokens (no refill) in a stub engine. Flushes are triggered by hand.
+ */
+class WriteBehindBucketCacheTest {
+
+    private static final LimitSpec SPEC = LimitSpec.builder()
+            .userId("u")
+            .resource("/r")
+            .tier("free")
+            .requestsPerMinute(100)
+            .build();
+    private static final long RESERVE = 50;
+    private static final double SHARE = 0.33;
+
+    private SimpleMeterRegistry registry;
+    private StubEngine engine;
+    private final List<WriteBehindBucketCache> caches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        engine = new StubEngine(100);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (WriteBehindBucketCache cache : caches) {
+            cache.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsReserveTooSmallForShare() {
+        assertEquals(0.401, WriteBehindBucketCache.minRemainingRatio(SHARE), 0.001);
+        assertThrows(IllegalArgumentException.class, () -> cache(0.4, SHARE));
+        assertThrows(IllegalArgumentException.class, () -> cache(0.5, 0));
+        assertThrows(IllegalArgumentException.class, () -> cache(0.5, 1.5));
+    }
+
+    @Test
+    void localGrantsStayWithinCapacity() {
+        WriteBehindBucketCache a = cache(0.5, SHARE);
+        WriteBehindBucketCache b = cache(0.5, SHARE);
+        WriteBehindBucketCache c = cache(0.5, SHARE);
+
+        // b and c spend their budgets and keep the grants unwritten
+        long budgetA = syncCheck(a);
+        long budgetB = syncCheck(b);
+        long budgetC = syncCheck(c);
+        spendLocally(b, budgetB);
+        spendLocally(c, budgetC);
+
+        // a drains Redis down to the reserve through repeated write-backs
+        drainLocally(a, budgetA);
+        assertTrue(engine.tokens - RESERVE < 1 / SHARE);
+
+        b.flush();
+        c.flush();
+        assertEquals(0, overgranted());
+        assertTrue(engine.tokens >= 0);
+    }
+
+    @Test
+    void syncChecksOvergrantAtMostOtherReplicasBudgets() {
+        WriteBehindBucketCache a = cache(0.5, SHARE);
+        WriteBehindBucketCache b = cache(0.5, SHARE);
+        WriteBehindBucketCache c = cache(0.5, SHARE);
+
+        long budgetA = syncCheck(a);
+        long budgetB = syncCheck(b);
+        long budgetC = syncCheck(c);
+        spendLocally(b, budgetB);
+        spendLocally(c, budgetC);
+        drainLocally(a, budgetA);
+
+        // Synchronous checks on a spend the reserve before b and c write back
+        while (a.tryConsume(SPEC).isAllowed()) {
+            assertTrue(engine.tokens >= 0);
+        }
+        b.flush();
+        c.flush();
+        assertEquals(budgetB + budgetC, overgranted());
+    }
+
+    private WriteBehindBucketCache cache(double minRemainingRatio, double nodeShare) {
+        RateLimiterProperties.WriteBehind config = new RateLimiterProperties.WriteBehind();
+        config.setEnabled(true);
+        config.setMinRemainingRatio(minRemainingRatio);
+        config.setNodeShare(nodeShare);
+        config.setFlushIntervalMs(3_600_000);
+        config.setMaxStalenessMs(3_600_000);
+        WriteBehindBucketCache cache = new WriteBehindBucketCache(engine, config, new RateLimitMetrics(registry));
+        caches.add(cache);
+        return cache;
+    }
+
+    // One check through Redis; returns the local budget the reply gives this replica
+    private long syncCheck(WriteBehindBucketCache cache) {
+        int calls = engine.calls;
+        assertTrue(cache.tryConsume(SPEC).isAllowed());
+        assertEquals(calls + 1, engine.calls);
+        return budget();
+    }
+
+    private void spendLocally(WriteBehindBucketCache cache, long checks) {
+        int calls = engine.calls;
+        for (long i = 0; i < checks; i++) {
+            assertTrue(cache.tryConsume(SPEC).isAllowed());
+        }
+        assertEquals(calls, engine.calls, "every check within the budget is answered locally");
+    }
+
+    private void drainLocally(WriteBehindBucketCache cache, long budget) {
+        while (budget > 0) {
+            spendLocally(cache, budget);
+            cache.flush();
+            budget = budget();
+        }
+    }
+
+    // Budget from the tokens Redis reported in its last reply, as WriteBehindBucketCache computes it
+    private long budget() {
+        return Math.max(0, (long) Math.floor((engine.tokens - RESERVE) * SHARE));
+    }
+
+    private long overgranted() {
+        Counter counter = registry.find("rate_limiter.write_behind.overgranted").counter();
+        return counter == null ? 0 : (long) counter.count();
+    }
+
+    // One shared bucket without refill; counts round trips
+    private static final class StubEngine extends TokenBucketEngine {
+
+        long tokens;
+        int calls;
+
+        StubEngine(long tokens) {
+            super(null);
+            this.tokens = tokens;
+        }
+
+        @Override
+        public synchronized BatchDecision tryConsume(LimitSpec spec, int requested) {
+            calls++;
+            int granted = (int) Math.min(requested, tokens);
+            tokens -= granted;
+            return new BatchDecision(requested, granted, tokens, 0);
+        }
+
+        @Override
+        public synchronized List<BatchDecision> tryConsumeAll(List<LimitSpec> specs, List<Integer> requested) {
+            calls++;
+            List<BatchDecision> decisions = new ArrayList<>();
+            for (int i = 0; i < specs.size(); i++) {
+                int granted = (int) Math.min(requested.get(i), tokens);
+                tokens -= granted;
+                decisions.add(new BatchDecision(requested.get(i), granted, tokens, 0));
+            }
+            return decisions;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.project.ratelimiter.starter;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for in-process rate limiting
+ */
+@Data
+@ConfigurationProperties(prefix = "rate-limiter.embedded")
+public class EmbeddedRateLimiterProperties {
+
+    // Register the @RateLimited HandlerInterceptor
+    private boolean enabled = true;
+
+    // Header carrying the caller's userId; missing header maps to "anonymous"
+    private String userHeader = "X-User-Id";
+
+    // Allow the request when Redis is unreachable instead of failing it
+    private boolean failOpen = true;
+
+    private String algorithm = "TOKEN_BUCKET";
+    private Default defaultConfig = new Default();
+    private Map<String, TierConfig> tiers = new HashMap<>();
+
+    @Data
+    public static class Default {
+        private int requestsPerMinute = 10;
+        private int burstCapacity = 20;
+    }
+
+    @Data
+    public static class TierConfig {
+        private int requestsPerMinute;
+        private Integer burstCapacity;
+    }
+}
@@ -0,0 +1,122 @@
+package com.project.ratelimiter.starter;
+
+import com.project.ratelimiter.core.ConfigResolver;
+import com.project.ratelimiter.core.Decision;
+import com.project.ratelimiter.core.LimitSpec;
+import com.project.ratelimiter.core.TierConfigResolver;
+import com.project.ratelimiter.core.TokenBucketEngine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Enforces {@link RateLimited} before the handler runs, without a network hop to the microservice
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitInterceptor.class);
+
+    private final TokenBucketEngine engine;
+    private final ConfigResolver configResolver;
+    private final TierConfigResolver tierResolver;
+    private final EmbeddedRateLimiterProperties properties;
+
+    // Annotation lookup is reflective, resolve once per handler method
+    private final Map<Method, Optional<RateLimited>> annotations = new ConcurrentHashMap<>();
+
+    public RateLimitInterceptor(TokenBucketEngine engine,
+                                ConfigResolver configResolver,
+                                TierConfigResolver tierResolver,
+                                EmbeddedRateLimiterProperties properties) {
+        this.engine = engine;
+        this.configResolver = configResolver;
+        this.tierResolver = tierResolver;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        Optional<RateLimited> rateLimited = annotations.computeIfAbsent(handlerMethod.getMethod(),
+                method -> findAnnotation(handlerMethod));
+        if (rateLimited.isEmpty()) {
+            return true;
+        }
+
+        String userId = request.getHeader(properties.getUserHeader());
+        if (userId == null || userId.isBlank()) {
+            userId = "anonymous";
+        }
+        String resource = rateLimited.get().resource().isEmpty() ?
+                request.getRequestURI() :
+                rateLimited.get().resource();
+
+        Decision decision;
+        try {
+            decision = engine.tryConsume(resolve(rateLimited.get(), userId, resource));
+        } catch (Exception e) {
+            logger.warn("In-process rate limit check failed for user={}, resource={}: {}",
+                    userId, resource, e.getMessage());
+            if (properties.isFailOpen()) {
+                return true;
+            }
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Rate limiter unavailable");
+            return false;
+        }
+
+        long resetSeconds = Math.max(0, (decision.getResetTimeMillis() - System.currentTimeMillis() + 999) / 1000);
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.getRemainingTokens()));
+        response.setHeader("RateLimit-Reset", String.valueOf(resetSeconds));
+
+        if (decision.isAllowed()) {
+            return true;
+        }
+
+        logger.debug("Rate limit exceeded for user={}, resource={}", userId, resource);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(resetSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"status\":429,\"error\":\"Rate Limit Exceeded\",\"resource\":\""
+                + resource.replace("\"", "\\\"") + "\"}");
+        return false;
+    }
+
+    private LimitSpec resolve(RateLimited rateLimited, String userId, String resource) {
+        if (rateLimited.requestsPerMinute() > 0) {
+            return LimitSpec.builder()
+                    .userId(userId)
+                    .resource(resource)
+                    .tier(rateLimited.tier().isEmpty() ? TierConfigResolver.DEFAULT_TIER : rateLimited.tier())
+                    .requestsPerMinute(rateLimited.requestsPerMinute())
+                    .burstCapacity(rateLimited.burstCapacity() > 0 ? rateLimited.burstCapacity() : null)
+                    .algorithm(properties.getAlgorithm())
+                    .build();
+        }
+        if (!rateLimited.tier().isEmpty()) {
+            return tierResolver.resolve(userId, resource, rateLimited.tier());
+        }
+        return configResolver.resolve(userId, resource);
+    }
+
+    private static Optional<RateLimited> findAnnotation(HandlerMethod handlerMethod) {
+        RateLimited annotation = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), RateLimited.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), RateLimited.class);
+        }
+        return Optional.ofNullable(annotation);
+    }
+}
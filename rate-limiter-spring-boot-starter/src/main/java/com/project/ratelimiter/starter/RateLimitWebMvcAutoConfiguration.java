@@ -0,0 +1,43 @@
+package com.project.ratelimiter.starter;
+
+import com.project.ratelimiter.core.ConfigResolver;
+import com.project.ratelimiter.core.TokenBucketEngine;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * @RateLimited support for Spring MVC applications
+ */
+@AutoConfiguration(after = RateLimiterAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(HandlerInterceptor.class)
+@ConditionalOnBean(TokenBucketEngine.class)
+@ConditionalOnProperty(prefix = "rate-limiter.embedded", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitWebMvcAutoConfiguration implements WebMvcConfigurer {
+
+    private final RateLimitInterceptor interceptor;
+
+    public RateLimitWebMvcAutoConfiguration(TokenBucketEngine engine,
+                                            ConfigResolver configResolver,
+                                            EmbeddedRateLimiterProperties properties) {
+        this.interceptor = new RateLimitInterceptor(engine, configResolver,
+                RateLimiterAutoConfiguration.tierConfigResolver(properties), properties);
+    }
+
+    @Bean
+    public RateLimitInterceptor rateLimitInterceptor() {
+        return interceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor);
+    }
+}
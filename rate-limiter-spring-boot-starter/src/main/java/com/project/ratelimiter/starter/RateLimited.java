@@ -0,0 +1,45 @@
+package com.project.ratelimiter.starter;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Rate limit a controller method (or every method of a controller) in-process.
+ *
+ * The check runs in {@link RateLimitInterceptor} against the shared Redis, so limits are
+ * enforced together with callers of the rate limiter microservice for the same userId + resource.
+ *
+ * <pre>
+ * &#64;RateLimited(resource = "api/reports", tier = "premium")
+ * &#64;GetMapping("/reports")
+ * public List&lt;Report&gt; reports() { ... }
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface RateLimited {
+
+    /**
+     * Resource identifier; defaults to the request URI
+     */
+    String resource() default "";
+
+    /**
+     * Tier whose defaults apply (rate-limiter.embedded.tiers); empty uses the configured resolver
+     */
+    String tier() default "";
+
+    /**
+     * Explicit limit, overrides tier defaults when > 0
+     */
+    int requestsPerMinute() default 0;
+
+    /**
+     * Explicit burst capacity, only used together with requestsPerMinute
+     */
+    int burstCapacity() default 0;
+}
@@ -0,0 +1,77 @@
+package com.project.ratelimiter.starter;
+
+import com.project.ratelimiter.core.ConcurrencyEngine;
+import com.project.ratelimiter.core.ConfigResolver;
+import com.project.ratelimiter.core.RedisScriptExecutor;
+import com.project.ratelimiter.core.TierConfigResolver;
+import com.project.ratelimiter.core.TierLimit;
+import com.project.ratelimiter.core.TokenBucketEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Wires the core decision engine against the application's Redis.
+ * Every bean backs off if the application defines its own (the microservice supplies a JPA-backed ConfigResolver).
+ */
+@AutoConfiguration(after = RedisAutoConfiguration.class)
+@ConditionalOnClass(StringRedisTemplate.class)
+@EnableConfigurationProperties({EmbeddedRateLimiterProperties.class, ReadReplicaProperties.class})
+public class RateLimiterAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(StringRedisTemplate.class)
+    public RedisScriptExecutor redisScriptExecutor(StringRedisTemplate stringRedisTemplate,
+                                                   ReadReplicaProperties readReplicaProperties) {
+        RedisScriptExecutor executor = new StringRedisScriptExecutor(stringRedisTemplate);
+        if (readReplicaProperties.isEnabled()) {
+            // Status queries (peek) go to replicas, consuming checks stay on the primary
+            return new ReplicaRoutingScriptExecutor(executor, readReplicaProperties);
+        }
+        return executor;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(StringRedisTemplate.class)
+    public TokenBucketEngine tokenBucketEngine(RedisScriptExecutor redisScriptExecutor,
+                                               @Value("${rate-limiter.clock:client}") String clock) {
+        // client: JVM milliseconds (default), redis: Redis TIME and integer units
+        return new TokenBucketEngine(redisScriptExecutor, TokenBucketEngine.TimeSource.valueOf(clock.toUpperCase()));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(StringRedisTemplate.class)
+    public ConcurrencyEngine concurrencyEngine(RedisScriptExecutor redisScriptExecutor) {
+        return new ConcurrencyEngine(redisScriptExecutor);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ConfigResolver configResolver(EmbeddedRateLimiterProperties properties) {
+        return tierConfigResolver(properties);
+    }
+
+    static TierConfigResolver tierConfigResolver(EmbeddedRateLimiterProperties properties) {
+        Map<String, TierLimit> tiers = new HashMap<>();
+        properties.getTiers().forEach((name, tier) ->
+                tiers.put(name, new TierLimit(tier.getRequestsPerMinute(), tier.getBurstCapacity())));
+
+        TierLimit defaultLimit = new TierLimit(
+                properties.getDefaultConfig().getRequestsPerMinute(),
+                properties.getDefaultConfig().getBurstCapacity());
+
+        return new TierConfigResolver(tiers, defaultLimit, properties.getAlgorithm());
+    }
+}
@@ -0,0 +1,24 @@
+package com.project.ratelimiter.starter;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routing of read-only status queries (peek script) to Redis replicas
+ */
+@Data
+@ConfigurationProperties(prefix = "rate-limiter.read-replica")
+public class ReadReplicaProperties {
+
+    private boolean enabled = false;
+
+    // Master and replica URIs (static topology), or a single redis-sentinel:// URI
+    private List<String> nodes = new ArrayList<>();
+
+    // Lettuce ReadFrom name: replicaPreferred, replica, lowestLatency, anyReplica, ...
+    // (enum-style names such as REPLICA_PREFERRED are accepted too)
+    private String readFrom = "replicaPreferred";
+}
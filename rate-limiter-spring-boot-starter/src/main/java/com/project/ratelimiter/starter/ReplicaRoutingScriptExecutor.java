@@ -0,0 +1,75 @@
+package com.project.ratelimiter.starter;
+
+import com.project.ratelimiter.core.LuaScript;
+import com.project.ratelimiter.core.RedisScriptExecutor;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.masterreplica.MasterReplica;
+import io.lettuce.core.masterreplica.StatefulRedisMasterReplicaConnection;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Sends read-only scripts as EVALSHA_RO / EVAL_RO over a Lettuce master/replica connection,
+ * which routes them by ReadFrom (replicas first). Consuming scripts still go to the primary
+ * through the delegate. Requires Redis 7+ for the _RO script commands.
+ */
+public class ReplicaRoutingScriptExecutor implements RedisScriptExecutor, DisposableBean {
+
+    private final RedisScriptExecutor primary;
+    private final RedisClient client;
+    private final StatefulRedisMasterReplicaConnection<String, String> connection;
+
+    public ReplicaRoutingScriptExecutor(RedisScriptExecutor primary, ReadReplicaProperties properties) {
+        if (properties.getNodes().isEmpty()) {
+            throw new IllegalStateException("rate-limiter.read-replica.nodes must list at least one node");
+        }
+        this.primary = primary;
+        this.client = RedisClient.create();
+        this.connection = MasterReplica.connect(client, StringCodec.UTF8,
+                properties.getNodes().stream().map(RedisURI::create).toList());
+        this.connection.setReadFrom(readFrom(properties.getReadFrom()));
+    }
+
+    // ReadFrom.valueOf only knows camel-case names (replicaPreferred); map REPLICA_PREFERRED onto them
+    static ReadFrom readFrom(String name) {
+        return ReadFrom.valueOf(name.replace("_", ""));
+    }
+
+    @Override
+    public List<Object> execute(LuaScript script, List<String> keys, List<String> args) {
+        return primary.execute(script, keys, args);
+    }
+
+    @Override
+    public List<List<Object>> executeAll(LuaScript script, List<List<String>> keys, List<List<String>> args) {
+        return primary.executeAll(script, keys, args);
+    }
+
+    @Override
+    public List<Object> executeReadOnly(LuaScript script, List<String> keys, List<String> args) {
+        RedisCommands<String, String> commands = connection.sync();
+        String[] keyArray = keys.toArray(new String[0]);
+        String[] argArray = args.toArray(new String[0]);
+        try {
+            return commands.evalshaReadOnly(script.getSha1(), ScriptOutputType.MULTI, keyArray, argArray);
+        } catch (RedisNoScriptException e) {
+            // Replica has not seen the script yet, EVAL_RO caches it there
+            return commands.evalReadOnly(script.getSource().getBytes(StandardCharsets.UTF_8),
+                    ScriptOutputType.MULTI, keyArray, argArray);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        connection.close();
+        client.shutdown();
+    }
+}
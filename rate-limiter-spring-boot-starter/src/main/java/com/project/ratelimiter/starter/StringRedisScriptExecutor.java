@@ -0,0 +1,92 @@
+package com.project.ratelimiter.starter;
+
+import com.project.ratelimiter.core.LuaScript;
+import com.project.ratelimiter.core.RedisScriptExecutor;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs engine scripts through a StringRedisTemplate.
+ * KEYS/ARGV go over the wire as plain strings, so state is byte-compatible across every client.
+ */
+public class StringRedisScriptExecutor implements RedisScriptExecutor {
+
+    private final StringRedisTemplate redisTemplate;
+
+    // DefaultRedisScript handles EVALSHA -> EVAL fallback, keep one per script
+    private final Map<LuaScript, DefaultRedisScript<List>> scripts = new ConcurrentHashMap<>();
+
+    public StringRedisScriptExecutor(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object> execute(LuaScript script, List<String> keys, List<String> args) {
+        return redisTemplate.execute(redisScript(script), keys, args.toArray());
+    }
+
+    /**
+     * Pipelined EVALSHA: one round trip for the whole list.
+     *
+     * The pipeline starts with SCRIPT LOAD, so no EVALSHA in it can fail with NOSCRIPT (Redis
+     * restarted or flushed its script cache). Any other failure fails the whole call: Spring
+     * does not say which scripts ran, and one that failed halfway may already have written,
+     * so nothing is sent again.
+     */
+    @Override
+    public List<List<Object>> executeAll(LuaScript script, List<List<String>> keys, List<List<String>> args) {
+        if (keys.size() <= 1) {
+            return RedisScriptExecutor.super.executeAll(script, keys, args);
+        }
+        List<Object> raw = redisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+            connection.openPipeline();
+            connection.scriptingCommands().scriptLoad(script.getSource().getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < keys.size(); i++) {
+                connection.scriptingCommands().evalSha(script.getSha1(), ReturnType.MULTI,
+                        keys.get(i).size(), keysAndArgs(keys.get(i), args.get(i)));
+            }
+            return connection.closePipeline();
+        });
+
+        List<List<Object>> replies = new ArrayList<>(keys.size());
+        // raw[0] is the SCRIPT LOAD reply
+        for (int i = 1; i < raw.size(); i++) {
+            replies.add(decode((List<?>) raw.get(i)));
+        }
+        return replies;
+    }
+
+    private static byte[][] keysAndArgs(List<String> keys, List<String> args) {
+        byte[][] keysAndArgs = new byte[keys.size() + args.size()][];
+        int i = 0;
+        for (String key : keys) {
+            keysAndArgs[i++] = key.getBytes(StandardCharsets.UTF_8);
+        }
+        for (String arg : args) {
+            keysAndArgs[i++] = arg.getBytes(StandardCharsets.UTF_8);
+        }
+        return keysAndArgs;
+    }
+
+    // Raw pipeline replies: bulk strings arrive as byte[], integers as Long
+    private static List<Object> decode(List<?> values) {
+        List<Object> decoded = new ArrayList<>(values.size());
+        for (Object value : values) {
+            decoded.add(value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : value);
+        }
+        return decoded;
+    }
+
+    private DefaultRedisScript<List> redisScript(LuaScript script) {
+        return scripts.computeIfAbsent(script, s -> new DefaultRedisScript<>(s.getSource(), List.class));
+    }
+}
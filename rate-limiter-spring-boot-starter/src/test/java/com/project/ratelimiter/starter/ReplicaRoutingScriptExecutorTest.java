@@ -0,0 +1,43 @@
+package com.project.ratelimiter.starter;
+
+import io.lettuce.core.ReadFrom;
+import org.junit.jupiter.api.Test;
+import redis.embedded.RedisServer;
+
+import java.net.ServerSocket;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReplicaRoutingScriptExecutorTest {
+
+    @Test
+    void buildsFromDefaultProperties() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        RedisServer redis = new RedisServer(port);
+        redis.start();
+        try {
+            ReadReplicaProperties properties = new ReadReplicaProperties();
+            properties.setNodes(List.of("redis://localhost:" + port));
+
+            ReplicaRoutingScriptExecutor executor = new ReplicaRoutingScriptExecutor(
+                    (script, keys, args) -> List.of(), properties);
+            executor.destroy();
+        } finally {
+            redis.stop();
+        }
+    }
+
+    @Test
+    void acceptsLettuceAndEnumStyleNames() {
+        assertEquals(ReadFrom.REPLICA_PREFERRED, ReplicaRoutingScriptExecutor.readFrom("replicaPreferred"));
+        assertEquals(ReadFrom.REPLICA_PREFERRED, ReplicaRoutingScriptExecutor.readFrom("REPLICA_PREFERRED"));
+        assertEquals(ReadFrom.ANY_REPLICA, ReplicaRoutingScriptExecutor.readFrom("ANY_REPLICA"));
+        assertEquals(ReadFrom.LOWEST_LATENCY, ReplicaRoutingScriptExecutor.readFrom("lowestLatency"));
+        assertThrows(IllegalArgumentException.class, () -> ReplicaRoutingScriptExecutor.readFrom("fastest"));
+    }
+}
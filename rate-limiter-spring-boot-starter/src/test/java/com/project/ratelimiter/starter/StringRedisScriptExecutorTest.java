@@ -0,0 +1,81 @@
+package com.project.ratelimiter.starter;
+
+import com.project.ratelimiter.core.LuaScript;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.net.ServerSocket;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StringRedisScriptExecutorTest {
+
+    private static final LuaScript INCR_THEN_FAIL = LuaScript.fromClasspath("redis/test-incr-then-fail.lua");
+
+    private static RedisServer redis;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate template;
+
+    @BeforeAll
+    static void startRedis() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redis = new RedisServer(port);
+        redis.start();
+        connectionFactory = new LettuceConnectionFactory("localhost", port);
+        connectionFactory.afterPropertiesSet();
+        template = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws Exception {
+        connectionFactory.destroy();
+        redis.stop();
+    }
+
+    @Test
+    void loadsScriptInsidePipeline() {
+        StringRedisScriptExecutor executor = new StringRedisScriptExecutor(template);
+        flush();
+
+        // Script cache empty: SCRIPT LOAD at the head of the pipeline avoids NOSCRIPT
+        List<List<Object>> replies = executeAll(executor, "ok");
+        assertEquals(3, replies.size());
+        assertEquals("1", template.opsForValue().get("b"));
+    }
+
+    @Test
+    void failedCallIsNotRetried() {
+        StringRedisScriptExecutor executor = new StringRedisScriptExecutor(template);
+        flush();
+
+        // The middle script writes before failing: the batch fails and nothing runs twice
+        assertThrows(RuntimeException.class, () -> executeAll(executor, "fail"));
+        assertEquals("1", template.opsForValue().get("a"));
+        assertEquals("1", template.opsForValue().get("b"));
+        assertEquals("1", template.opsForValue().get("c"));
+    }
+
+    private static void flush() {
+        template.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            connection.scriptingCommands().scriptFlush();
+            return null;
+        });
+    }
+
+    private static List<List<Object>> executeAll(StringRedisScriptExecutor executor, String middle) {
+        return executor.executeAll(INCR_THEN_FAIL,
+                List.of(List.of("a"), List.of("b"), List.of("c")),
+                List.of(List.of("ok"), List.of(middle), List.of("ok")));
+    }
+}
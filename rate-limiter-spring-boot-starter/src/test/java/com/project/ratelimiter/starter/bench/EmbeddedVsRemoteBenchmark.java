@@ -0,0 +1,178 @@
+package com.project.ratelimiter.starter.bench;
+
+import com.project.ratelimiter.core.LimitSpec;
+import com.project.ratelimiter.core.TokenBucketEngine;
+import com.project.ratelimiter.starter.StringRedisScriptExecutor;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput comparison: in-process check (starter) vs HTTP call to the microservice.
+ *
+ * Not a unit test - run manually:
+ * <pre>
+ * mvn -pl rate-limiter-spring-boot-starter -am test-compile
+ * mvn -pl rate-limiter-spring-boot-starter exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.project.ratelimiter.starter.bench.EmbeddedVsRemoteBenchmark \
+ *     -Dbench.remote=http://localhost:8080/api/check-limit -Dbench.redis=localhost:6379
+ * </pre>
+ * Without -Dbench.redis an embedded redis-server is started; without -Dbench.remote the
+ * remote half is skipped. Both sides hit the same bucket keys with a limit high enough
+ * that every check takes the "allowed" path.
+ */
+public class EmbeddedVsRemoteBenchmark {
+
+    private static final int THREADS = Integer.getInteger("bench.threads", 16);
+    private static final int SECONDS = Integer.getInteger("bench.seconds", 10);
+    private static final int USERS = Integer.getInteger("bench.users", 1000);
+    private static final String RESOURCE = "api/bench";
+
+    public static void main(String[] args) throws Exception {
+        String redis = System.getProperty("bench.redis");
+        String remote = System.getProperty("bench.remote");
+
+        RedisServer embedded = null;
+        String host = "localhost";
+        int port = 6390;
+        if (redis == null) {
+            embedded = new RedisServer(port);
+            embedded.start();
+        } else {
+            host = redis.split(":")[0];
+            port = Integer.parseInt(redis.split(":")[1]);
+        }
+
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port));
+        connectionFactory.afterPropertiesSet();
+        try {
+            StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
+            TokenBucketEngine engine = new TokenBucketEngine(new StringRedisScriptExecutor(template));
+
+            Result inProcess = run("in-process (starter)", i -> {
+                engine.tryConsume(LimitSpec.builder()
+                        .userId("bench-user-" + (i % USERS))
+                        .resource(RESOURCE)
+                        .tier("bench")
+                        .requestsPerMinute(1_000_000)
+                        .burstCapacity(1_000_000)
+                        .build());
+            });
+            System.out.println(inProcess);
+
+            if (remote != null) {
+                HttpClient client = HttpClient.newBuilder()
+                        .connectTimeout(Duration.ofSeconds(2))
+                        .build();
+                Result http = run("remote (HTTP)", i -> {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(remote))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                    "{\"userId\":\"bench-user-" + (i % USERS) + "\",\"resource\":\"" + RESOURCE + "\"}"))
+                            .build();
+                    client.send(request, HttpResponse.BodyHandlers.discarding());
+                });
+                System.out.println(http);
+                System.out.printf("speedup: %.1fx throughput, p50 %.1fx lower%n",
+                        inProcess.opsPerSecond() / http.opsPerSecond(),
+                        (double) http.percentileMicros(50) / Math.max(1, inProcess.percentileMicros(50)));
+            } else {
+                System.out.println("remote (HTTP): skipped, pass -Dbench.remote=<check-limit URL>");
+            }
+        } finally {
+            connectionFactory.destroy();
+            if (embedded != null) {
+                embedded.stop();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Check {
+        void run(long i) throws Exception;
+    }
+
+    private static Result run(String name, Check check) throws InterruptedException {
+        // Warm-up: JIT, connection pools, EVALSHA cache
+        for (int i = 0; i < 2000; i++) {
+            try {
+                check.run(i);
+            } catch (Exception ignored) {
+            }
+        }
+
+        long deadline = System.nanoTime() + SECONDS * 1_000_000_000L;
+        AtomicLong errors = new AtomicLong();
+        long[][] latencies = new long[THREADS][];
+        int[] counts = new int[THREADS];
+        CountDownLatch done = new CountDownLatch(THREADS);
+
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            new Thread(() -> {
+                long[] samples = new long[1 << 20];
+                int n = 0;
+                long i = thread;
+                while (System.nanoTime() < deadline) {
+                    long begin = System.nanoTime();
+                    try {
+                        check.run(i);
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    samples[n & (samples.length - 1)] = System.nanoTime() - begin;
+                    n++;
+                    i += THREADS;
+                }
+                latencies[thread] = samples;
+                counts[thread] = n;
+                done.countDown();
+            }, "bench-" + t).start();
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+
+        long total = Arrays.stream(counts).asLongStream().sum();
+        long[] all = new long[(int) Math.min(total, (long) THREADS << 20)];
+        int offset = 0;
+        for (int t = 0; t < THREADS; t++) {
+            int n = Math.min(counts[t], latencies[t].length);
+            System.arraycopy(latencies[t], 0, all, offset, n);
+            offset += n;
+        }
+        Arrays.sort(all, 0, offset);
+        return new Result(name, total, errors.get(), elapsed, Arrays.copyOf(all, offset));
+    }
+
+    private record Result(String name, long ops, long errors, long elapsedNanos, long[] sortedLatencies) {
+
+        double opsPerSecond() {
+            return ops * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        long percentileMicros(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sortedLatencies.length - 1, Math.ceil(percentile / 100 * sortedLatencies.length) - 1);
+            return sortedLatencies[Math.max(0, index)] / 1000;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-22s %,10.0f ops/s  p50=%,6dus  p99=%,7dus  errors=%d  (%d threads, %ds)",
+                    name, opsPerSecond(), percentileMicros(50), percentileMicros(99), errors, THREADS, SECONDS);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+-- Writes, then fails when ARGV[1] == 'fail' (a script error after a partial write)
+redis.call('incr', KEYS[1])
+if ARGV[1] == 'fail' then
+    return redis.error_reply('failed after writing')
+end
+return {1}